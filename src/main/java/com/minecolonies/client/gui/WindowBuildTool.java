@@ -7,6 +7,7 @@ import com.minecolonies.lib.Constants;
 import com.minecolonies.network.messages.BuildToolPlaceMessage;
 import com.minecolonies.util.BlockPosUtil;
 import com.minecolonies.util.LanguageHandler;
+import com.minecolonies.util.SchematicCache;
 import com.minecolonies.util.SchematicWrapper;
 import com.schematica.Settings;
 import com.schematica.client.renderer.RenderSchematic;
@@ -326,7 +327,8 @@ public class WindowBuildTool extends AbstractWindowSkeleton
 
         SchematicWrapper schematic = new SchematicWrapper(this.mc.theWorld, labelHutStyle + '/' + labelHutDec + (Settings.instance.isInHutMode() ? (level + 1) : ""));
 
-        Settings.instance.setActiveSchematic(schematic.getSchematic());
+        //The preview is rotated in place, so it needs its own copy of the shared schematic
+        Settings.instance.setActiveSchematic(SchematicCache.copy(schematic.getSchematic()));
 
         Settings.instance.moveTo(this.pos);
 
@@ -4,6 +4,7 @@ import com.minecolonies.colony.buildings.AbstractBuilding;
 import com.minecolonies.colony.buildings.AbstractBuildingWorker;
 import com.minecolonies.colony.buildings.BuildingHome;
 import com.minecolonies.colony.jobs.AbstractJob;
+import com.minecolonies.colony.jobs.JobBuilder;
 import com.minecolonies.configuration.Configurations;
 import com.minecolonies.entity.EntityCitizen;
 import com.minecolonies.util.BlockPosUtil;
@@ -12,6 +13,7 @@ import io.netty.buffer.ByteBuf;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraftforge.fml.common.network.ByteBufUtils;
 
+import java.util.Objects;
 import java.util.Random;
 
 /**
@@ -43,6 +45,14 @@ public class CitizenData
 
     private boolean dirty;
 
+    /**
+     * View synchronisation: version of the view, the version at which each field group last changed,
+     * and the values the last version was computed from.
+     */
+    private       int          viewVersion       = 0;
+    private final int[]        viewFieldVersions = new int[VIEW_FIELD_COUNT];
+    private final ViewSnapshot publishedView     = new ViewSnapshot();
+
     //Citizen
     private EntityCitizen entity;
 
@@ -59,6 +69,24 @@ public class CitizenData
     private double health;
     private double maxHealth;
 
+    /**
+     * Field groups of the view, a change to any field of a group resends the group.
+     */
+    static final int VIEW_NAME       = 1;
+    static final int VIEW_ENTITY     = 1 << 1;
+    static final int VIEW_HOME       = 1 << 2;
+    static final int VIEW_WORK       = 1 << 3;
+    static final int VIEW_EXPERIENCE = 1 << 4;
+    static final int VIEW_HEALTH     = 1 << 5;
+    static final int VIEW_SKILLS     = 1 << 6;
+    static final int VIEW_JOB        = 1 << 7;
+    static final int VIEW_ALL        = (1 << 8) - 1;
+
+    private static final int VIEW_FIELD_COUNT = 8;
+
+    //  Largest number of bytes of a var int
+    private static final int VAR_INT_SIZE = 5;
+
     /**
      * Tags
      */
@@ -150,6 +178,17 @@ public class CitizenData
     }
 
 
+    /**
+     * Returns the ID of a saved citizen without loading it
+     *
+     * @param compound  NBT compound of the citizen
+     * @return          ID of the citizen
+     */
+    static int readIdFromNBT(NBTTagCompound compound)
+    {
+        return compound.getInteger(TAG_ID);
+    }
+
     /**
      * Returns the id of the citizen.
      *
@@ -458,6 +497,22 @@ public class CitizenData
      * @param compound NBT-Tag compound
      */
     public void writeToNBT(NBTTagCompound compound)
+    {
+        writeToNBT(compound, false);
+    }
+
+    /**
+     * Writes the citizen data to an NBT-compound for the colony journal.
+     * Parts of the job which are journaled as changes are left out, see {@link #writeJobJournalChanges(NBTTagCompound)}.
+     *
+     * @param compound NBT-Tag compound
+     */
+    void writeToJournal(NBTTagCompound compound)
+    {
+        writeToNBT(compound, true);
+    }
+
+    private void writeToNBT(NBTTagCompound compound, boolean isJournal)
     {
         compound.setInteger(TAG_ID, id);
         compound.setString(TAG_NAME, name);
@@ -482,11 +537,68 @@ public class CitizenData
         if(job != null)
         {
             NBTTagCompound jobCompound = new NBTTagCompound();
-            job.writeToNBT(jobCompound);
+            if (isJournal)
+            {
+                job.writeToJournal(jobCompound);
+            }
+            else
+            {
+                job.writeToNBT(jobCompound);
+            }
             compound.setTag("job", jobCompound);
         }
     }
 
+    /**
+     * Writes the changes to the parts of the job which are journaled as changes, and forgets them.
+     *
+     * @param compound NBT-Tag compound
+     * @return true if there were changes
+     */
+    boolean writeJobJournalChanges(NBTTagCompound compound)
+    {
+        return job != null && job.writeJournalChanges(compound);
+    }
+
+    /**
+     * Forgets the changes to the parts of the job which are journaled as changes, the job was saved whole.
+     */
+    void clearJobJournalChanges()
+    {
+        if (job != null)
+        {
+            job.clearJournalChanges();
+        }
+    }
+
+    /**
+     * Keeps what a journaled citizen leaves out from the saved citizen it replaces.
+     *
+     * @param saved  NBT compound of the saved citizen
+     * @param record NBT compound of the journaled citizen
+     */
+    static void keepJournaledJob(NBTTagCompound saved, NBTTagCompound record)
+    {
+        if (saved.hasKey("job") && record.hasKey("job"))
+        {
+            JobBuilder.keepJournaledPlan(saved.getCompoundTag("job"), record.getCompoundTag("job"));
+        }
+    }
+
+    /**
+     * Applies journaled changes of the job to a saved citizen.
+     *
+     * @param compound NBT compound of the saved citizen
+     * @param changes  the changes written by {@link #writeJobJournalChanges(NBTTagCompound)}
+     */
+    static void applyJobJournalChanges(NBTTagCompound compound, NBTTagCompound changes)
+    {
+        if (compound.hasKey("job"))
+        {
+            JobBuilder.applyJournalChanges(compound.getCompoundTag("job"), changes);
+        }
+    }
+
     /**
      * Reads data from NBT-tag compound
      *
@@ -612,56 +724,246 @@ public class CitizenData
     }
 
     /**
-     * Writes the citizen data to a byte buf for transition.
+     * Compares the view fields with the values of the last view version, and starts a new version if any changed.
+     * Called for dirty citizens before their views are sent.
+     *
+     * @return the current view version
+     */
+    public int updateViewVersion()
+    {
+        int changed = publishedView.update(this);
+        if (changed != 0)
+        {
+            ++viewVersion;
+            for (int i = 0; i < VIEW_FIELD_COUNT; ++i)
+            {
+                if ((changed & (1 << i)) != 0)
+                {
+                    viewFieldVersions[i] = viewVersion;
+                }
+            }
+        }
+        return viewVersion;
+    }
+
+    /**
+     * Returns the current view version, see {@link #updateViewVersion()}.
+     *
+     * @return the view version
+     */
+    public int getViewVersion()
+    {
+        return viewVersion;
+    }
+
+    /**
+     * Returns the field groups a subscriber which has seen the given version is missing.
+     *
+     * @param version last version the subscriber received, or a negative value if it has none.
+     * @return mask of VIEW_* field groups
+     */
+    public int getViewChangesSince(int version)
+    {
+        if (version < 0)
+        {
+            return VIEW_ALL;
+        }
+
+        int mask = 0;
+        for (int i = 0; i < VIEW_FIELD_COUNT; ++i)
+        {
+            if (viewFieldVersions[i] > version)
+            {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Writes the given field groups of the citizen data to a byte buf for transition.
+     * Numbers are written as var ints, so small values take a single byte.
      *
-     * @param buf Buffer to write to
+     * @param buf  Buffer to write to
+     * @param mask VIEW_* field groups to write
      */
-    public void serializeViewNetworkData(ByteBuf buf)
+    public void serializeViewNetworkData(ByteBuf buf, int mask)
     {
-        ByteBufUtils.writeUTF8String(buf, name);
-        buf.writeBoolean(female);
+        ByteBufUtils.writeVarInt(buf, mask, VAR_INT_SIZE);
+
+        if ((mask & VIEW_NAME) != 0)
+        {
+            ByteBufUtils.writeUTF8String(buf, name);
+            buf.writeBoolean(female);
+        }
 
-        buf.writeInt(entity != null ? entity.getEntityId() : -1);
+        if ((mask & VIEW_ENTITY) != 0)
+        {
+            //  Shifted by one, so no entity (-1) stays a single byte
+            ByteBufUtils.writeVarInt(buf, getViewEntityId() + 1, VAR_INT_SIZE);
+        }
 
-        buf.writeBoolean(homeBuilding != null);
-        if(homeBuilding != null)
+        if ((mask & VIEW_HOME) != 0)
         {
-            BlockPosUtil.writeToByteBuf(buf, homeBuilding.getID());
+            writeOptionalPos(buf, homeBuilding);
         }
 
-        buf.writeBoolean(workBuilding != null);
-        if(workBuilding != null)
+        if ((mask & VIEW_WORK) != 0)
         {
-            BlockPosUtil.writeToByteBuf(buf, workBuilding.getID());
+            writeOptionalPos(buf, workBuilding);
         }
 
         //  Attributes
-        buf.writeInt(getLevel());
-        buf.writeDouble(getExperience());
+        if ((mask & VIEW_EXPERIENCE) != 0)
+        {
+            ByteBufUtils.writeVarInt(buf, getLevel(), VAR_INT_SIZE);
+            buf.writeDouble(getExperience());
+        }
 
-        //If entity is null assume the standard values as health
-        if(entity == null)
+        if ((mask & VIEW_HEALTH) != 0)
         {
-            buf.writeFloat(MAX_HEALTH);
-            buf.writeFloat(MAX_HEALTH);
+            buf.writeFloat(getViewHealth());
+            buf.writeFloat(getViewMaxHealth());
         }
-        else
+
+        if ((mask & VIEW_SKILLS) != 0)
         {
-            buf.writeFloat(entity.getHealth());
-            buf.writeFloat(entity.getMaxHealth());
+            ByteBufUtils.writeVarInt(buf, getStrength(), VAR_INT_SIZE);
+            ByteBufUtils.writeVarInt(buf, getEndurance(), VAR_INT_SIZE);
+            ByteBufUtils.writeVarInt(buf, getCharisma(), VAR_INT_SIZE);
+            ByteBufUtils.writeVarInt(buf, getIntelligence(), VAR_INT_SIZE);
+            ByteBufUtils.writeVarInt(buf, getDexterity(), VAR_INT_SIZE);
         }
 
-        buf.writeInt(getStrength());
-        buf.writeInt(getEndurance());
-        buf.writeInt(getCharisma());
-        buf.writeInt(getIntelligence());
-        buf.writeInt(getDexterity());
+        if ((mask & VIEW_JOB) != 0)
+        {
+            ByteBufUtils.writeUTF8String(buf, getViewJobName());
+        }
+    }
+
+    private static void writeOptionalPos(ByteBuf buf, AbstractBuilding building)
+    {
+        buf.writeBoolean(building != null);
+        if (building != null)
+        {
+            BlockPosUtil.writeToByteBuf(buf, building.getID());
+        }
+    }
 
-        ByteBufUtils.writeUTF8String(buf, (job != null) ? job.getName() : "");
+    private int getViewEntityId()
+    {
+        return entity != null ? entity.getEntityId() : -1;
+    }
+
+    //  If entity is null assume the standard values as health
+    private float getViewHealth()
+    {
+        return entity != null ? entity.getHealth() : MAX_HEALTH;
+    }
+
+    private float getViewMaxHealth()
+    {
+        return entity != null ? entity.getMaxHealth() : MAX_HEALTH;
+    }
+
+    private String getViewJobName()
+    {
+        return job != null ? job.getName() : "";
     }
 
     /**
-     * Create a CitizenData View given it's saved NBTTagCompound
+     * Values of the view fields at the last view version.
+     */
+    private static final class ViewSnapshot
+    {
+        private String                 name;
+        private boolean                female;
+        private int                    entityId;
+        private BuildingHome           home;
+        private AbstractBuildingWorker work;
+        private int                    level;
+        private double                 experience;
+        private float                  health;
+        private float                  maxHealth;
+        private int                    strength;
+        private int                    endurance;
+        private int                    charisma;
+        private int                    intelligence;
+        private int                    dexterity;
+        private String                 job;
+
+        /**
+         * Take over the current values of a citizen.
+         *
+         * @param citizen the citizen.
+         * @return mask of the VIEW_* field groups which changed.
+         */
+        int update(CitizenData citizen)
+        {
+            int changed = 0;
+
+            if (!Objects.equals(name, citizen.name) || female != citizen.female)
+            {
+                name = citizen.name;
+                female = citizen.female;
+                changed |= VIEW_NAME;
+            }
+
+            if (entityId != citizen.getViewEntityId())
+            {
+                entityId = citizen.getViewEntityId();
+                changed |= VIEW_ENTITY;
+            }
+
+            if (home != citizen.homeBuilding)
+            {
+                home = citizen.homeBuilding;
+                changed |= VIEW_HOME;
+            }
+
+            if (work != citizen.workBuilding)
+            {
+                work = citizen.workBuilding;
+                changed |= VIEW_WORK;
+            }
+
+            if (level != citizen.level || Double.compare(experience, citizen.experience) != 0)
+            {
+                level = citizen.level;
+                experience = citizen.experience;
+                changed |= VIEW_EXPERIENCE;
+            }
+
+            if (Float.compare(health, citizen.getViewHealth()) != 0 || Float.compare(maxHealth, citizen.getViewMaxHealth()) != 0)
+            {
+                health = citizen.getViewHealth();
+                maxHealth = citizen.getViewMaxHealth();
+                changed |= VIEW_HEALTH;
+            }
+
+            if (strength != citizen.strength || endurance != citizen.endurance || charisma != citizen.charisma
+                    || intelligence != citizen.intelligence || dexterity != citizen.dexterity)
+            {
+                strength = citizen.strength;
+                endurance = citizen.endurance;
+                charisma = citizen.charisma;
+                intelligence = citizen.intelligence;
+                dexterity = citizen.dexterity;
+                changed |= VIEW_SKILLS;
+            }
+
+            if (!citizen.getViewJobName().equals(job))
+            {
+                job = citizen.getViewJobName();
+                changed |= VIEW_JOB;
+            }
+
+            return changed;
+        }
+    }
+
+    /**
+     * Create a CitizenData View given its network data
      *
      * @param id  The citizen's id
      * @param buf The network data
@@ -669,8 +971,18 @@ public class CitizenData
      */
     public static CitizenDataView createCitizenDataView(int id, ByteBuf buf)
     {
-        CitizenDataView citizenDataView = new CitizenDataView(id);
+        return updateCitizenDataView(new CitizenDataView(id), buf);
+    }
 
+    /**
+     * Apply network data to a CitizenData View
+     *
+     * @param citizenDataView The view to update
+     * @param buf             The network data, containing the changed fields only
+     * @return The view, or null if it could not be updated
+     */
+    public static CitizenDataView updateCitizenDataView(CitizenDataView citizenDataView, ByteBuf buf)
+    {
         try
         {
             citizenDataView.deserialize(buf);
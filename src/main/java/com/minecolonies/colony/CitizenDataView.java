@@ -12,6 +12,9 @@ import net.minecraftforge.fml.common.network.ByteBufUtils;
  */
 public class CitizenDataView
 {
+    //  Largest number of bytes of a var int
+    private static final int VAR_INT_SIZE = 5;
+
     /**
      * Attributes
      */
@@ -213,31 +216,61 @@ public class CitizenDataView
     }
 
     /**
-     * Deserialize the attributes and variables from transition
+     * Deserialize the changed attributes and variables from transition
+     * Field groups which are not in the received mask keep their value
      *
      * @param buf Byte buffer to deserialize
      */
     public void deserialize(ByteBuf buf)
     {
-        name = ByteBufUtils.readUTF8String(buf);
-        female = buf.readBoolean();
-        entityId = buf.readInt();
+        int mask = ByteBufUtils.readVarInt(buf, VAR_INT_SIZE);
+
+        if ((mask & CitizenData.VIEW_NAME) != 0)
+        {
+            name = ByteBufUtils.readUTF8String(buf);
+            female = buf.readBoolean();
+        }
+
+        if ((mask & CitizenData.VIEW_ENTITY) != 0)
+        {
+            entityId = ByteBufUtils.readVarInt(buf, VAR_INT_SIZE) - 1;
+        }
+
+        if ((mask & CitizenData.VIEW_HOME) != 0)
+        {
+            homeBuilding = buf.readBoolean() ? BlockPosUtil.readFromByteBuf(buf) : null;
+        }
 
-        homeBuilding = buf.readBoolean() ? BlockPosUtil.readFromByteBuf(buf) : null;
-        workBuilding = buf.readBoolean() ? BlockPosUtil.readFromByteBuf(buf) : null;
+        if ((mask & CitizenData.VIEW_WORK) != 0)
+        {
+            workBuilding = buf.readBoolean() ? BlockPosUtil.readFromByteBuf(buf) : null;
+        }
 
         //  Attributes
-        level = buf.readInt();
-        experience = buf.readDouble();
-        health = buf.readFloat();
-        maxHealth = buf.readFloat();
-
-        strength = buf.readInt();
-        endurance = buf.readInt();
-        charisma = buf.readInt();
-        intelligence = buf.readInt();
-        dexterity = buf.readInt();
-
-        job = ByteBufUtils.readUTF8String(buf);
+        if ((mask & CitizenData.VIEW_EXPERIENCE) != 0)
+        {
+            level = ByteBufUtils.readVarInt(buf, VAR_INT_SIZE);
+            experience = buf.readDouble();
+        }
+
+        if ((mask & CitizenData.VIEW_HEALTH) != 0)
+        {
+            health = buf.readFloat();
+            maxHealth = buf.readFloat();
+        }
+
+        if ((mask & CitizenData.VIEW_SKILLS) != 0)
+        {
+            strength = ByteBufUtils.readVarInt(buf, VAR_INT_SIZE);
+            endurance = ByteBufUtils.readVarInt(buf, VAR_INT_SIZE);
+            charisma = ByteBufUtils.readVarInt(buf, VAR_INT_SIZE);
+            intelligence = ByteBufUtils.readVarInt(buf, VAR_INT_SIZE);
+            dexterity = ByteBufUtils.readVarInt(buf, VAR_INT_SIZE);
+        }
+
+        if ((mask & CitizenData.VIEW_JOB) != 0)
+        {
+            job = ByteBufUtils.readUTF8String(buf);
+        }
     }
 }
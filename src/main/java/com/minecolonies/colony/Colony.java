@@ -1,28 +1,31 @@
 package com.minecolonies.colony;
 
-import com.minecolonies.MineColonies;
 import com.minecolonies.colony.buildings.AbstractBuilding;
 import com.minecolonies.colony.buildings.BuildingHome;
 import com.minecolonies.colony.buildings.BuildingTownHall;
+import com.minecolonies.colony.jobs.JobBuilder;
 import com.minecolonies.colony.materials.MaterialSystem;
 import com.minecolonies.colony.permissions.Permissions;
 import com.minecolonies.configuration.Configurations;
 import com.minecolonies.entity.EntityCitizen;
+import com.minecolonies.entity.pathfinding.RegionGraph;
+import com.minecolonies.network.FanOutSender;
+import com.minecolonies.network.IPooledMessage;
 import com.minecolonies.network.messages.*;
 import com.minecolonies.tileentities.TileEntityColonyBuilding;
 import com.minecolonies.util.*;
-import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.init.Blocks;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
-import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.BlockPos;
 import net.minecraft.world.World;
 import net.minecraftforge.common.util.Constants.NBT;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -37,11 +40,35 @@ public class Colony implements IColony
 
     //  Updates and Subscriptions
     private Set<EntityPlayerMP> subscribers = new HashSet<>();
+    private Set<EntityPlayerMP> newSubscribers = new HashSet<>();
+    private Map<EntityPlayerMP, ViewSubscription> subscriptions = new HashMap<>();
     private boolean isDirty = false;
     private boolean isCitizensDirty = false;
     private boolean isBuildingsDirty = false;
     private boolean manualHiring = false;
 
+    //  Whether a subscriber is close enough to see the citizens work
+    private boolean hasPlayersNearby = false;
+
+    //  View updates of the current tick, sent together by updateSubscribers
+    private final Map<EntityPlayerMP, List<IMessage>> pendingUpdates  = new LinkedHashMap<>();
+    private final List<IMessage>                      pendingMessages = new ArrayList<>();
+
+    //  Bandwidth used by view updates
+    private long bytesSent = 0;
+    private long messagesSent = 0;
+
+    //  Persistence
+    private boolean isSaveUrgent = false;
+    private ColonyJournal journal = null;
+    private long journalTicks = 0;
+
+    //  What was last journaled of the parts of the colony which are compared instead of marked dirty
+    private final Map<Integer, NBTTagCompound> journaledCitizens = new HashMap<>();
+    private final Map<BlockPos, NBTTagCompound> journaledBuildings = new HashMap<>();
+    private NBTTagCompound journaledWork = null;
+    private long lastActiveTick = 0;
+
     //  General Attributes
     private String name = "ERROR(Wasn't placed by player)";
     private final int dimensionId;
@@ -62,12 +89,35 @@ public class Colony implements IColony
 
     //  Settings
     private static final int CITIZEN_CLEANUP_TICK_INCREMENT = 5 * 20;
+    private static final int BUILDING_CLEANUP_TICK_INCREMENT = 20;
+    private static final int ITEM_TRACKER_TICK_INCREMENT = 10;
+    private static final int TREE_SCAN_TICK_INCREMENT = 10;
+    private static final int JOURNAL_COMPARE_TICK_INCREMENT = 20;
+
+    //  Periodic maintenance, staggered so colonies don't all do it on the same tick
+    private final StaggeredTimer citizenCleanupTimer;
+    private final StaggeredTimer buildingCleanupTimer;
+    private final StaggeredTimer respawnTimer;
+    private final StaggeredTimer itemTrackerTimer;
+    private final StaggeredTimer treeScanTimer;
+    private final StaggeredTimer journalCompareTimer;
+
+    private final TickProfiler.Section profilerSection;
 
     //  Workload and Jobs
     private final WorkManager workManager = new WorkManager(this);
 
     private final MaterialSystem materialSystem = new MaterialSystem();
 
+    //  Coarse navigation graph of the colony area, shared by the path jobs of all citizens
+    private final RegionGraph regionGraph = new RegionGraph(this);
+
+    //  Dropped items in the colony, for the citizens to pick up
+    private final ColonyItemTracker itemTracker = new ColonyItemTracker();
+
+    //  Trees in the colony, shared by the lumberjacks
+    private final TreeRegistry treeRegistry = new TreeRegistry(this);
+
     private static final String TAG_ID = "id";
     private static final String TAG_NAME = "name";
     private static final String TAG_DIMENSION = "dimension";
@@ -77,6 +127,19 @@ public class Colony implements IColony
     private static final String TAG_CITIZENS = "citizens";
     private static final String TAG_WORK = "work";
     private static final String TAG_MANUAL_HIRING = "manualHiring";
+    private static final String TAG_JOURNAL = "journal";
+
+    //  Journal records
+    private static final String TAG_RECORD_TYPE = "type";
+    private static final String TAG_RECORD_DATA = "data";
+    private static final String TAG_RECORD_KEY = "key";
+    private static final byte RECORD_ATTRIBUTES = 0;
+    private static final byte RECORD_PERMISSIONS = 1;
+    private static final byte RECORD_WORK = 2;
+    private static final byte RECORD_CITIZEN = 3;
+    private static final byte RECORD_CITIZEN_REMOVED = 4;
+    private static final byte RECORD_BUILDING = 5;
+    private static final byte RECORD_JOB_CHANGES = 6;
 
     /**
      * Constructor for a newly created Colony.
@@ -102,6 +165,15 @@ public class Colony implements IColony
     {
         this.id = id;
         this.dimensionId = dim;
+
+        //  Different offsets, so the tasks of one colony don't line up either
+        citizenCleanupTimer = new StaggeredTimer(id);
+        buildingCleanupTimer = new StaggeredTimer(id + 7);
+        respawnTimer = new StaggeredTimer(id + 13);
+        itemTrackerTimer = new StaggeredTimer(id + 17);
+        treeScanTimer = new StaggeredTimer(id + 19);
+        journalCompareTimer = new StaggeredTimer(id + 23);
+        profilerSection = TickProfiler.getSection(TickProfiler.COLONY, "Colony " + id);
     }
 
     /**
@@ -173,12 +245,9 @@ public class Colony implements IColony
         compound.setInteger(TAG_DIMENSION, dimensionId);
 
         //  Basic data
-        compound.setString(TAG_NAME, name);
+        writeAttributesToNBT(compound);
         BlockPosUtil.writeToNBT(compound, TAG_CENTER, center);
 
-        compound.setBoolean(TAG_MANUAL_HIRING,manualHiring);
-        compound.setInteger(TAG_MAX_CITIZENS, maxCitizens);
-
         // Permissions
         permissions.savePermissions(compound);
 
@@ -208,6 +277,18 @@ public class Colony implements IColony
         compound.setTag(TAG_WORK, workManagerCompound);
     }
 
+    /**
+     * Write the attributes of the colony which can change after its creation
+     *
+     * @param compound  compound to write to
+     */
+    private void writeAttributesToNBT(NBTTagCompound compound)
+    {
+        compound.setString(TAG_NAME, name);
+        compound.setBoolean(TAG_MANUAL_HIRING, manualHiring);
+        compound.setInteger(TAG_MAX_CITIZENS, maxCitizens);
+    }
+
     /**
      * Returns the ID of the colony
      *
@@ -274,6 +355,318 @@ public class Colony implements IColony
         isDirty = true;
     }
 
+    /**
+     * Request the colony to be saved at the end of this tick.
+     * Used for structural changes (new colony, buildings added or removed) which should not wait for the next save.
+     */
+    public void requestSave()
+    {
+        isSaveUrgent = true;
+    }
+
+    /**
+     * Returns if the colony should be saved without waiting for the next save interval
+     *
+     * @return      True if {@link #requestSave()} was called since the last snapshot.
+     */
+    boolean isSaveUrgent()
+    {
+        return isSaveUrgent;
+    }
+
+    /**
+     * Writes the colony into a new compound and clears the save request.
+     * The compound is not referenced by the colony afterwards, so it can be written out on another thread.
+     *
+     * @param journalGeneration first journal generation which is not contained in the snapshot
+     * @return      snapshot of the colony.
+     */
+    NBTTagCompound createSaveSnapshot(int journalGeneration)
+    {
+        NBTTagCompound compound = new NBTTagCompound();
+        writeToNBT(compound);
+        compound.setInteger(TAG_JOURNAL, journalGeneration);
+        isSaveUrgent = false;
+        rememberJournaledState();
+        return compound;
+    }
+
+    /**
+     * Returns the first journal generation to replay on top of a snapshot
+     *
+     * @param compound  the snapshot
+     * @return          journal generation
+     */
+    static int getJournalGeneration(NBTTagCompound compound)
+    {
+        return compound.getInteger(TAG_JOURNAL);
+    }
+
+    /**
+     * Returns the journal changes of the colony are appended to
+     *
+     * @return      the journal, or null before the colony was registered with the ColonyManager
+     */
+    ColonyJournal getJournal()
+    {
+        return journal;
+    }
+
+    /**
+     * Sets the journal changes of the colony are appended to
+     *
+     * @param journal   the journal
+     */
+    void setJournal(ColonyJournal journal)
+    {
+        this.journal = journal;
+        rememberJournaledState();
+    }
+
+    /**
+     * Start comparing against the current state, called when the whole colony was saved or loaded.
+     */
+    private void rememberJournaledState()
+    {
+        journaledCitizens.clear();
+        for (CitizenData citizen : citizens.values())
+        {
+            NBTTagCompound data = new NBTTagCompound();
+            citizen.writeToJournal(data);
+            journaledCitizens.put(citizen.getId(), data);
+            citizen.clearJobJournalChanges();
+        }
+
+        journaledBuildings.clear();
+        for (AbstractBuilding building : buildings.values())
+        {
+            NBTTagCompound data = new NBTTagCompound();
+            building.writeToNBT(data);
+            journaledBuildings.put(building.getID(), data);
+        }
+
+        journaledWork = new NBTTagCompound();
+        workManager.writeToNBT(journaledWork);
+    }
+
+    /**
+     * Append every change which has not been journaled yet, called before the journal is synced on a world save.
+     */
+    void writeAllChangesToJournal()
+    {
+        writeJournal(true);
+    }
+
+    /**
+     * Append the changes of this tick to the journal.
+     * Uses the same dirty flags which decide which views are sent to subscribers. Jobs, work order progress and the
+     * state of some buildings change without marking anything dirty, so citizens, buildings and the work manager are
+     * also compared to what was last journaled every {@link #JOURNAL_COMPARE_TICK_INCREMENT} ticks.
+     *
+     * @param compareAll true to compare every citizen, building and the work manager
+     */
+    private void writeJournal(boolean compareAll)
+    {
+        if (journal == null)
+        {
+            return;
+        }
+
+        if (isDirty)
+        {
+            NBTTagCompound data = new NBTTagCompound();
+            writeAttributesToNBT(data);
+            journal.append(createJournalRecord(RECORD_ATTRIBUTES, data));
+        }
+
+        if (permissions.isDirty())
+        {
+            NBTTagCompound data = new NBTTagCompound();
+            permissions.savePermissions(data);
+            journal.append(createJournalRecord(RECORD_PERMISSIONS, data));
+        }
+
+        if (workManager.isDirty() || compareAll)
+        {
+            NBTTagCompound data = new NBTTagCompound();
+            workManager.writeToNBT(data);
+            if (!data.equals(journaledWork))
+            {
+                journaledWork = data;
+                journal.append(createJournalRecord(RECORD_WORK, data));
+            }
+            workManager.clearDirty();
+        }
+
+        if (isCitizensDirty || compareAll)
+        {
+            for (CitizenData citizen : citizens.values())
+            {
+                if (citizen.isDirty() || compareAll)
+                {
+                    writeCitizenToJournal(citizen);
+                }
+            }
+        }
+
+        if (isBuildingsDirty || compareAll)
+        {
+            for (AbstractBuilding building : buildings.values())
+            {
+                if (building.isDirty() || compareAll)
+                {
+                    NBTTagCompound data = new NBTTagCompound();
+                    building.writeToNBT(data);
+                    if (!data.equals(journaledBuildings.get(building.getID())))
+                    {
+                        journaledBuildings.put(building.getID(), data);
+                        journal.append(createJournalRecord(RECORD_BUILDING, data));
+                    }
+                }
+            }
+        }
+
+        journal.flush();
+    }
+
+    /**
+     * Append a citizen to the journal if it changed, followed by the changes of its job which are journaled apart.
+     */
+    private void writeCitizenToJournal(CitizenData citizen)
+    {
+        NBTTagCompound data = new NBTTagCompound();
+        citizen.writeToJournal(data);
+        if (!data.equals(journaledCitizens.get(citizen.getId())))
+        {
+            journaledCitizens.put(citizen.getId(), data);
+            journal.append(createJournalRecord(RECORD_CITIZEN, data));
+        }
+
+        NBTTagCompound changes = new NBTTagCompound();
+        if (citizen.writeJobJournalChanges(changes))
+        {
+            NBTTagCompound record = createJournalRecord(RECORD_JOB_CHANGES, changes);
+            record.setInteger(TAG_RECORD_KEY, citizen.getId());
+            journal.append(record);
+        }
+    }
+
+    private static NBTTagCompound createJournalRecord(byte type, NBTTagCompound data)
+    {
+        NBTTagCompound record = new NBTTagCompound();
+        record.setByte(TAG_RECORD_TYPE, type);
+        record.setTag(TAG_RECORD_DATA, data);
+        return record;
+    }
+
+    /**
+     * Apply a journal record to a saved colony, before the colony is loaded from it
+     *
+     * @param compound  the saved colony
+     * @param record    the journal record
+     */
+    static void applyJournalRecord(NBTTagCompound compound, NBTTagCompound record)
+    {
+        NBTTagCompound data = record.getCompoundTag(TAG_RECORD_DATA);
+        switch (record.getByte(TAG_RECORD_TYPE))
+        {
+            case RECORD_ATTRIBUTES:
+            case RECORD_PERMISSIONS:
+                //  Both are written to the top level of the colony compound
+                for (String key : data.getKeySet())
+                {
+                    compound.setTag(key, data.getTag(key));
+                }
+                break;
+            case RECORD_WORK:
+                compound.setTag(TAG_WORK, data);
+                break;
+            case RECORD_CITIZEN:
+                NBTTagCompound savedCitizen = findInList(compound, TAG_CITIZENS,
+                        entry -> CitizenData.readIdFromNBT(entry) == CitizenData.readIdFromNBT(data));
+                if (savedCitizen != null)
+                {
+                    CitizenData.keepJournaledJob(savedCitizen, data);
+                }
+                replaceInList(compound, TAG_CITIZENS, data,
+                        entry -> CitizenData.readIdFromNBT(entry) == CitizenData.readIdFromNBT(data));
+                break;
+            case RECORD_JOB_CHANGES:
+                NBTTagCompound changedCitizen = findInList(compound, TAG_CITIZENS,
+                        entry -> CitizenData.readIdFromNBT(entry) == record.getInteger(TAG_RECORD_KEY));
+                if (changedCitizen != null)
+                {
+                    CitizenData.applyJobJournalChanges(changedCitizen, data);
+                }
+                break;
+            case RECORD_CITIZEN_REMOVED:
+                NBTTagList citizenTagList = compound.getTagList(TAG_CITIZENS, NBT.TAG_COMPOUND);
+                for (int i = citizenTagList.tagCount() - 1; i >= 0; --i)
+                {
+                    if (CitizenData.readIdFromNBT(citizenTagList.getCompoundTagAt(i)) == record.getInteger(TAG_RECORD_KEY))
+                    {
+                        citizenTagList.removeTag(i);
+                    }
+                }
+                compound.setTag(TAG_CITIZENS, citizenTagList);
+                break;
+            case RECORD_BUILDING:
+                replaceInList(compound, TAG_BUILDINGS, data,
+                        entry -> AbstractBuilding.readLocationFromNBT(entry).equals(AbstractBuilding.readLocationFromNBT(data)));
+                break;
+            default:
+                Log.logger.warn(String.format("Colony %d - unknown journal record %d", compound.getInteger(TAG_ID), record.getByte(TAG_RECORD_TYPE)));
+                break;
+        }
+    }
+
+    /**
+     * Finds the entry of a list which matches
+     *
+     * @param compound  the saved colony
+     * @param tag       tag of the list inside the saved colony
+     * @param matches   identifies the entry
+     * @return          the entry, or null if none matches
+     */
+    private static NBTTagCompound findInList(NBTTagCompound compound, String tag, Predicate<NBTTagCompound> matches)
+    {
+        NBTTagList list = compound.getTagList(tag, NBT.TAG_COMPOUND);
+        for (int i = 0; i < list.tagCount(); ++i)
+        {
+            if (matches.test(list.getCompoundTagAt(i)))
+            {
+                return list.getCompoundTagAt(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replaces the entry of a list which matches, or appends the new entry.
+     * Citizens and buildings are only journaled while they exist in the colony, which is then saved with the new
+     * entry, so appending is correct when the snapshot does not have them yet.
+     *
+     * @param compound  the saved colony
+     * @param tag       tag of the list inside the saved colony
+     * @param entry     the new entry
+     * @param matches   identifies the entry to replace
+     */
+    private static void replaceInList(NBTTagCompound compound, String tag, NBTTagCompound entry, Predicate<NBTTagCompound> matches)
+    {
+        NBTTagList list = compound.getTagList(tag, NBT.TAG_COMPOUND);
+        compound.setTag(tag, list);
+
+        for (int i = 0; i < list.tagCount(); ++i)
+        {
+            if (matches.test(list.getCompoundTagAt(i)))
+            {
+                list.set(i, entry);
+                return;
+            }
+        }
+        list.appendTag(entry);
+    }
+
     /**
      * Marks citizen data dirty
      */
@@ -321,6 +714,7 @@ public class Colony implements IColony
         if (w.provider.getDimensionId() == dimensionId)
         {
             world = w;
+            itemTracker.addAll(this, w);
         }
     }
 
@@ -337,6 +731,7 @@ public class Colony implements IColony
         }
 
         world = null;
+        itemTracker.clear();
     }
 
     /**
@@ -383,7 +778,8 @@ public class Colony implements IColony
             //  Cleanup disappeared citizens
             //  It would be really nice if we didn't have to do this... but Citizens can disappear without dying!
             //  Every CITIZEN_CLEANUP_TICK_INCREMENT, cleanup any 'lost' citizens
-            if ((event.world.getWorldTime() % CITIZEN_CLEANUP_TICK_INCREMENT) == 0 && areAllColonyChunksLoaded(event))
+            long worldTime = event.world.getWorldTime();
+            if (citizenCleanupTimer.isDue(worldTime, CITIZEN_CLEANUP_TICK_INCREMENT) && areAllColonyChunksLoaded(event))
             {
                 //  All chunks within a good range of the colony should be loaded, so all citizens should be loaded
                 //  If we don't have any references to them, destroy the citizen
@@ -395,25 +791,49 @@ public class Colony implements IColony
             }
 
             //  Cleanup Buildings whose Blocks have gone AWOL
-            cleanUpBuildings(event);
+            if (buildingCleanupTimer.isDue(worldTime, BUILDING_CLEANUP_TICK_INCREMENT))
+            {
+                cleanUpBuildings(event);
+            }
 
             //  Spawn Citizens
-            if (townHall != null && citizens.size() < maxCitizens)
+            int respawnInterval = Configurations.citizenRespawnInterval * 20;
+            if (townHall != null)
             {
-                int respawnInterval = Configurations.citizenRespawnInterval * 20;
                 respawnInterval -= (60 * townHall.getBuildingLevel());
+            }
 
-                if (event.world.getWorldTime() % respawnInterval == 0)
-                {
-                    spawnCitizen();
-                }
+            if (respawnTimer.isDue(worldTime, respawnInterval) && townHall != null && citizens.size() < maxCitizens)
+            {
+                spawnCitizen();
+            }
+
+            //  Sort the dropped items which moved into their new sections
+            if (itemTrackerTimer.isDue(worldTime, ITEM_TRACKER_TICK_INCREMENT))
+            {
+                itemTracker.update(event.world);
+            }
+
+            //  Look for trees in the next part of the colony
+            if (treeScanTimer.isDue(worldTime, TREE_SCAN_TICK_INCREMENT))
+            {
+                treeRegistry.update(event.world);
             }
         }
 
         //  Tick Buildings
         for (AbstractBuilding building : buildings.values())
         {
-            building.onWorldTick(event);
+            TickProfiler.Section section = building.getProfilerSection();
+            long start = section.begin();
+            try
+            {
+                building.onWorldTick(event);
+            }
+            finally
+            {
+                section.end(start);
+            }
         }
 
         workManager.onWorldTick(event);
@@ -424,67 +844,42 @@ public class Colony implements IColony
      */
     public void updateSubscribers()
     {
-        //  Recompute subscribers every frame (for now)
+        //  Subscribers are kept up to date by the ColonyManager as players move, only permission changes are reported
         //  Subscribers = Owners + Players within (double working town hall range)
-        Set<EntityPlayerMP> oldSubscribers = subscribers;
-        subscribers = new HashSet<>();
-
-        // Add owners
-        subscribers.addAll(
-                MinecraftServer.getServer().getConfigurationManager().playerEntityList
-                        .stream()
-                        .filter(permissions::isSubscriber)
-                        .collect(Collectors.toList()));
-
-        //  Add nearby players
-        if (world != null)
+        if (permissions.isDirty())
         {
-            for (EntityPlayer o : world.playerEntities)
-            {
-                if (o instanceof EntityPlayerMP)
-                {
-                    EntityPlayerMP player = (EntityPlayerMP)o;
-
-                    if (subscribers.contains(player))
-                    {
-                        //  Already a subscriber
-                        continue;
-                    }
-
-                    double distance = player.getDistanceSq(center);
-                    if (distance < MathUtils.square(Configurations.workingRangeTownHall + 16D) ||
-                            (oldSubscribers.contains(player) && distance < MathUtils.square(Configurations.workingRangeTownHall * 2D)))
-                    {
-                        // Players become subscribers if they come within 16 blocks of the edge of the colony
-                        // Players remain subscribers while they remain within double the colony's radius
-                        subscribers.add(player);
-                    }
-                }
-            }
+            ColonyManager.onColonyPermissionsChanged(this);
         }
 
+        hasPlayersNearby = subscribers.stream().anyMatch(this::isPlayerNearby);
+
         if (!subscribers.isEmpty())
         {
-            //  Determine if any new subscribers were added this pass
-            boolean hasNewSubscribers = hasNewSubscribers(oldSubscribers, subscribers);
+            //  Determine if any new subscribers were added since the last pass
+            boolean hasNewSubscribers = !newSubscribers.isEmpty();
 
             //  Send each type of update packet as appropriate:
             //      - To Subscribers if the data changes
             //      - To New Subscribers even if it hasn't changed
 
             //  ColonyView
-            sendColonyViewPackets(oldSubscribers, hasNewSubscribers);
+            sendColonyViewPackets(hasNewSubscribers);
 
             // Permissions
-            sendPermissionsPackets(oldSubscribers, hasNewSubscribers);
+            sendPermissionsPackets(hasNewSubscribers);
 
             //  Citizens
-            sendCitizenPackets(oldSubscribers, hasNewSubscribers);
+            sendCitizenPackets(hasNewSubscribers);
 
             //  Buildings
-            sendBuildingPackets(oldSubscribers, hasNewSubscribers);
+            sendBuildingPackets(hasNewSubscribers);
         }
 
+        flushSubscriberUpdates();
+        newSubscribers.clear();
+
+        writeJournal(journalCompareTimer.isDue(journalTicks++, JOURNAL_COMPARE_TICK_INCREMENT));
+
         isDirty = false;
         isCitizensDirty = false;
         isBuildingsDirty = false;
@@ -494,80 +889,248 @@ public class Colony implements IColony
         citizens.values().forEach(CitizenData::clearDirty);
     }
 
-    private void sendBuildingPackets(Set<EntityPlayerMP> oldSubscribers, boolean hasNewSubscribers)
+    private void sendBuildingPackets(boolean hasNewSubscribers)
     {
         if (isBuildingsDirty || hasNewSubscribers)
         {
+            List<EntityPlayerMP> recipients = new ArrayList<>();
             for (AbstractBuilding building : buildings.values())
             {
                 if (building.isDirty() || hasNewSubscribers)
                 {
-                    ColonyViewBuildingViewMessage msg = new ColonyViewBuildingViewMessage(building);
+                    //  Only a view which differs from the one sent before gets a new version
+                    int version = building.updateViewVersion();
+                    recipients.clear();
 
-                    subscribers.stream()
-                               .filter(player -> building.isDirty() || !oldSubscribers.contains(player))
-                               .forEach(player -> MineColonies.getNetwork().sendTo(msg, player));
+                    for (Map.Entry<EntityPlayerMP, ViewSubscription> entry : subscriptions.entrySet())
+                    {
+                        ViewSubscription subscription = entry.getValue();
+                        if (subscription.getBuildingVersion(building.getID()) != version)
+                        {
+                            subscription.setBuildingVersion(building.getID(), version);
+                            recipients.add(entry.getKey());
+                        }
+                    }
+
+                    if (!recipients.isEmpty())
+                    {
+                        sendToSubscribers(new ColonyViewBuildingViewMessage(building), recipients);
+                    }
                 }
             }
         }
     }
 
-    private void sendCitizenPackets(Set<EntityPlayerMP> oldSubscribers, boolean hasNewSubscribers)
+    private void sendCitizenPackets(boolean hasNewSubscribers)
     {
         if (isCitizensDirty || hasNewSubscribers)
         {
+            Map<Integer, List<EntityPlayerMP>> recipientsBySentVersion = new HashMap<>();
             for (CitizenData citizen : citizens.values())
             {
                 if (citizen.isDirty() || hasNewSubscribers)
                 {
-                    ColonyViewCitizenViewMessage msg = new ColonyViewCitizenViewMessage(this, citizen);
+                    //  Dirty does not mean changed, only the changed fields are sent
+                    int version = citizen.updateViewVersion();
+                    recipientsBySentVersion.clear();
 
-                    subscribers.stream()
-                               .filter(player -> citizen.isDirty() || !oldSubscribers.contains(player))
-                               .forEach(player -> MineColonies.getNetwork().sendTo(msg, player));
+                    for (Map.Entry<EntityPlayerMP, ViewSubscription> entry : subscriptions.entrySet())
+                    {
+                        ViewSubscription subscription = entry.getValue();
+                        int sentVersion = subscription.getCitizenVersion(citizen.getId());
+                        if (sentVersion != version)
+                        {
+                            subscription.setCitizenVersion(citizen.getId(), version);
+                            recipientsBySentVersion.computeIfAbsent(sentVersion, v -> new ArrayList<>()).add(entry.getKey());
+                        }
+                    }
+
+                    //  Subscribers which were sent the same version get the same message
+                    for (Map.Entry<Integer, List<EntityPlayerMP>> entry : recipientsBySentVersion.entrySet())
+                    {
+                        int mask = citizen.getViewChangesSince(entry.getKey());
+                        if (mask != 0)
+                        {
+                            sendToSubscribers(new ColonyViewCitizenViewMessage(this, citizen, mask), entry.getValue());
+                        }
+                    }
                 }
             }
         }
     }
 
-    private void sendPermissionsPackets(Set<EntityPlayerMP> oldSubscribers, boolean hasNewSubscribers)
+    private void sendPermissionsPackets(boolean hasNewSubscribers)
     {
         if(permissions.isDirty() || hasNewSubscribers)
         {
+            //  The view depends on the rank of the player, subscribers of the same rank get the same message
+            Map<Permissions.Rank, List<EntityPlayerMP>> recipientsByRank = new EnumMap<>(Permissions.Rank.class);
             subscribers
                     .stream()
-                    .filter(player -> permissions.isDirty() || !oldSubscribers.contains(player)).forEach(player -> {
-                Permissions.Rank rank = getPermissions().getRank(player);
-                MineColonies.getNetwork().sendTo(new PermissionsMessage.View(this, rank), player);
-            });
+                    .filter(player -> permissions.isDirty() || newSubscribers.contains(player))
+                    .forEach(player -> recipientsByRank.computeIfAbsent(getPermissions().getRank(player), rank -> new ArrayList<>()).add(player));
+
+            for (Map.Entry<Permissions.Rank, List<EntityPlayerMP>> entry : recipientsByRank.entrySet())
+            {
+                sendToSubscribers(new PermissionsMessage.View(this, entry.getKey()), entry.getValue());
+            }
         }
     }
 
-    private void sendColonyViewPackets(Set<EntityPlayerMP> oldSubscribers, boolean hasNewSubscribers)
+    private void sendColonyViewPackets(boolean hasNewSubscribers)
     {
         if (isDirty || hasNewSubscribers)
         {
-            for (EntityPlayerMP player : subscribers)
+            List<EntityPlayerMP> existingSubscribers = new ArrayList<>();
+            if (isDirty)
             {
-                boolean isNewSubscriber = !oldSubscribers.contains(player);
-                if (isDirty || isNewSubscriber)
-                {
-                    MineColonies.getNetwork().sendTo(new ColonyViewMessage(this, isNewSubscriber), player);
-                }
+                subscribers.stream().filter(player -> !newSubscribers.contains(player)).forEach(existingSubscribers::add);
+            }
+
+            if (!newSubscribers.isEmpty())
+            {
+                sendToSubscribers(new ColonyViewMessage(this, true), newSubscribers);
+            }
+            if (!existingSubscribers.isEmpty())
+            {
+                sendToSubscribers(new ColonyViewMessage(this, false), existingSubscribers);
             }
         }
     }
 
-    private static boolean hasNewSubscribers(Set<EntityPlayerMP> oldSubscribers, Set<EntityPlayerMP> subscribers)
+    /**
+     * Queue a view message for subscribers, it is sent with the other updates of the tick
+     *
+     * @param message   message to send
+     * @param players   subscribers to send to
+     */
+    private void sendToSubscribers(IMessage message, Collection<EntityPlayerMP> players)
     {
-        for (EntityPlayerMP player : subscribers)
+        for (EntityPlayerMP player : players)
         {
-            if (!oldSubscribers.contains(player))
+            pendingUpdates.computeIfAbsent(player, p -> new ArrayList<>()).add(message);
+        }
+        pendingMessages.add(message);
+    }
+
+    /**
+     * Send the view messages queued this tick, bundled in one packet per subscriber
+     * Subscribers with the same updates share the same packet
+     */
+    private void flushSubscriberUpdates()
+    {
+        Map<List<IMessage>, List<EntityPlayerMP>> playersByUpdates = new LinkedHashMap<>();
+        for (Map.Entry<EntityPlayerMP, List<IMessage>> entry : pendingUpdates.entrySet())
+        {
+            if (subscribers.contains(entry.getKey()))
             {
-                return true;
+                playersByUpdates.computeIfAbsent(entry.getValue(), updates -> new ArrayList<>()).add(entry.getKey());
             }
         }
-        return false;
+
+        try
+        {
+            //  Encode every bundle before sending, sending releases the pooled messages which are not bundled
+            Map<IMessage, List<EntityPlayerMP>> packets = new LinkedHashMap<>();
+            for (Map.Entry<List<IMessage>, List<EntityPlayerMP>> entry : playersByUpdates.entrySet())
+            {
+                List<IMessage> updates = entry.getKey();
+                IMessage packet = updates.size() == 1 ? updates.get(0) : new ColonyViewBundleMessage(updates);
+                packets.put(packet, entry.getValue());
+            }
+
+            for (Map.Entry<IMessage, List<EntityPlayerMP>> entry : packets.entrySet())
+            {
+                int size = FanOutSender.send(entry.getKey(), entry.getValue());
+                bytesSent += (long) size * entry.getValue().size();
+                messagesSent += entry.getValue().size();
+            }
+        }
+        finally
+        {
+            pendingMessages.stream()
+                    .filter(message -> message instanceof IPooledMessage)
+                    .forEach(message -> ((IPooledMessage) message).release());
+            pendingMessages.clear();
+            pendingUpdates.clear();
+        }
+    }
+
+    /**
+     * Returns whether the jobs of the colony are simulated coarsely, without running their AI
+     * That is the case when no player is close enough to see the citizens work
+     *
+     * @return          True if jobs are simulated coarsely
+     */
+    public boolean isSimulatedCoarsely()
+    {
+        return Configurations.coarseSimulation && !hasPlayersNearby;
+    }
+
+    private boolean isPlayerNearby(EntityPlayerMP player)
+    {
+        return world != null && player.worldObj == world
+               && player.getDistanceSq(center) < MathUtils.square(Configurations.workingRangeTownHall * 2D);
+    }
+
+    /**
+     * Returns whether a player receives the views of the colony
+     *
+     * @param player    the player
+     * @return          True if the player is a subscriber
+     */
+    public boolean isSubscriber(EntityPlayerMP player)
+    {
+        return subscribers.contains(player);
+    }
+
+    /**
+     * Add a subscriber, the whole colony view is sent at the next update
+     * Subscribers are managed by the {@link ColonyManager}
+     *
+     * @param player    the player
+     */
+    void addSubscriber(EntityPlayerMP player)
+    {
+        if (subscribers.add(player))
+        {
+            subscriptions.put(player, new ViewSubscription());
+            newSubscribers.add(player);
+        }
+    }
+
+    /**
+     * Remove a subscriber, and forget what was sent to them
+     * Subscribers are managed by the {@link ColonyManager}
+     *
+     * @param player    the player
+     */
+    void removeSubscriber(EntityPlayerMP player)
+    {
+        subscribers.remove(player);
+        subscriptions.remove(player);
+        newSubscribers.remove(player);
+        pendingUpdates.remove(player);
+    }
+
+    /**
+     * Returns the number of bytes of view updates sent to subscribers since the colony was loaded
+     *
+     * @return          number of bytes
+     */
+    public long getBytesSent()
+    {
+        return bytesSent;
+    }
+
+    /**
+     * Returns the number of view update messages sent to subscribers since the colony was loaded
+     *
+     * @return          number of messages
+     */
+    public long getMessagesSent()
+    {
+        return messagesSent;
     }
 
     private static boolean isCitizenMissingFromWorld(CitizenData citizen)
@@ -577,9 +1140,78 @@ public class Colony implements IColony
         return entity != null && entity.worldObj.getEntityByID(entity.getEntityId()) != entity;
     }
 
+    /**
+     * Returns the distance from the center within which citizens and buildings of the colony can be loaded
+     *
+     * @return          range in blocks
+     */
+    static int getActiveRange()
+    {
+        return Configurations.workingRangeTownHall + 48 /* 3 chunks */;
+    }
+
+    /**
+     * Checks if anything keeps the colony in use: subscribed players, citizen entities or loaded chunks
+     *
+     * @return          True if the colony must stay loaded
+     */
+    boolean isActive()
+    {
+        if (!subscribers.isEmpty() || citizens.values().stream().anyMatch(citizen -> citizen.getCitizenEntity() != null))
+        {
+            return true;
+        }
+
+        if (world == null)
+        {
+            return false;
+        }
+
+        int range = getActiveRange() + 15 /* round up a chunk */;
+        for (int x = -range; x <= range; x += 16)
+        {
+            for (int z = -range; z <= range; z += 16)
+            {
+                if (world.getChunkProvider().chunkExists((center.getX() + x) >> 4, (center.getZ() + z) >> 4))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the server tick at which the colony was last found active
+     *
+     * @return          server tick
+     */
+    long getLastActiveTick()
+    {
+        return lastActiveTick;
+    }
+
+    /**
+     * Sets the server tick at which the colony was last found active
+     *
+     * @param tick      server tick
+     */
+    void setLastActiveTick(long tick)
+    {
+        lastActiveTick = tick;
+    }
+
+    /**
+     * @return the profiler section measuring the world ticks of this colony.
+     */
+    TickProfiler.Section getProfilerSection()
+    {
+        return profilerSection;
+    }
+
     private boolean areAllColonyChunksLoaded(TickEvent.WorldTickEvent event)
     {
-        int distanceFromCenter = Configurations.workingRangeTownHall + 48 /* 3 chunks */ + 15 /* round up a chunk */;
+        int distanceFromCenter = getActiveRange() + 15 /* round up a chunk */;
         for (int x = -distanceFromCenter; x <= distanceFromCenter; x += 16)
         {
             for (int z = -distanceFromCenter; z <= distanceFromCenter; z += 16)
@@ -763,6 +1395,7 @@ public class Colony implements IColony
         {
             addBuilding(building);
             tileEntity.setBuilding(building);
+            ColonyManager.onBuildingAdded(this, building);
 
             Log.logger.info(String.format("Colony %d - new AbstractBuilding for %s at %s",
                                           getID(),
@@ -779,7 +1412,7 @@ public class Colony implements IColony
 
         calculateMaxCitizens();
 
-        ColonyManager.markDirty();
+        requestSave();
 
         return building;
     }
@@ -793,11 +1426,11 @@ public class Colony implements IColony
     {
         if (buildings.remove(building.getID()) != null)
         {
+            ColonyManager.onBuildingRemoved(this, building);
+
             ColonyViewRemoveBuildingMessage msg = new ColonyViewRemoveBuildingMessage(this, building.getID());
-            for (EntityPlayerMP player : subscribers)
-            {
-                MineColonies.getNetwork().sendTo(msg, player);
-            }
+            subscriptions.values().forEach(subscription -> subscription.removeBuilding(building.getID()));
+            sendToSubscribers(msg, subscriptions.keySet());
 
             Log.logger.info(String.format("Colony %d - removed AbstractBuilding %s of type %s",
                                           getID(),
@@ -818,7 +1451,7 @@ public class Colony implements IColony
 
         calculateMaxCitizens();
 
-        ColonyManager.markDirty();
+        requestSave();
     }
 
     /**
@@ -901,12 +1534,18 @@ public class Colony implements IColony
 
         workManager.clearWorkForCitizen(citizen);
 
-        //  Inform Subscribers of removed citizen
-        ColonyViewRemoveCitizenMessage msg = new ColonyViewRemoveCitizenMessage(this, citizen.getId());
-        for (EntityPlayerMP player : subscribers)
+        journaledCitizens.remove(citizen.getId());
+        if (journal != null)
         {
-            MineColonies.getNetwork().sendTo(msg, player);
+            NBTTagCompound record = createJournalRecord(RECORD_CITIZEN_REMOVED, new NBTTagCompound());
+            record.setInteger(TAG_RECORD_KEY, citizen.getId());
+            journal.append(record);
         }
+
+        //  Inform Subscribers of removed citizen
+        ColonyViewRemoveCitizenMessage msg = new ColonyViewRemoveCitizenMessage(this, citizen.getId());
+        subscriptions.values().forEach(subscription -> subscription.removeCitizen(citizen.getId()));
+        sendToSubscribers(msg, subscriptions.keySet());
     }
 
     /**
@@ -962,4 +1601,52 @@ public class Colony implements IColony
     {
         return materialSystem;
     }
+
+    /**
+     * Get the coarse navigation graph of the colony area
+     *
+     * @return          RegionGraph of the Colony
+     */
+    public RegionGraph getRegionGraph()
+    {
+        return regionGraph;
+    }
+
+    /**
+     * Get the dropped items in the colony
+     *
+     * @return          ColonyItemTracker of the Colony
+     */
+    public ColonyItemTracker getItemTracker()
+    {
+        return itemTracker;
+    }
+
+    /**
+     * Get the trees in the colony
+     *
+     * @return          TreeRegistry of the Colony
+     */
+    public TreeRegistry getTreeRegistry()
+    {
+        return treeRegistry;
+    }
+
+    /**
+     * Called when a block inside the colony changed
+     *
+     * @param pos       position of the changed block
+     */
+    public void onBlockChanged(BlockPos pos)
+    {
+        regionGraph.onBlockChanged(pos);
+
+        for (CitizenData citizen : citizens.values())
+        {
+            if (citizen.getJob() instanceof JobBuilder)
+            {
+                ((JobBuilder) citizen.getJob()).onBlockChanged(pos);
+            }
+        }
+    }
 }
@@ -0,0 +1,244 @@
+package com.minecolonies.colony;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.item.EntityItem;
+import net.minecraft.util.AxisAlignedBB;
+import net.minecraft.util.BlockPos;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.World;
+
+import java.util.*;
+
+/**
+ * The dropped items inside a colony, so citizens don't have to search the world for items to pick up every tick.
+ * <p>
+ * Items are added when they join the world inside the colony, and kept in buckets by the chunk section they are in.
+ * Every bucket has a version which changes when an item enters it, or moves inside it. A citizen only has to look at
+ * the items again when the version of the buckets around them changed, or when they moved.
+ * Items are moved between buckets, and dead or unloaded items dropped, by {@link #update(World)}, which the colony
+ * calls every few ticks.
+ */
+public final class ColonyItemTracker
+{
+    //  Stamp of a query without any items
+    public static final long NO_ITEMS = 0;
+
+    private static final int SECTION_SHIFT = 4;
+
+    //  Items are bucketed by their position, but picked up by their bounding box, which may reach into the next section
+    private static final double ITEM_MARGIN = 0.5D;
+
+    //  Items closer than this to where they were on the last update did not move
+    private static final double MOVED_DISTANCE_SQUARED = 0.01D;
+
+    private final Map<Long, Bucket>     buckets = new HashMap<>();
+    private final Map<EntityItem, Slot> slots   = new HashMap<>();
+    private long lastVersion = NO_ITEMS;
+
+    /**
+     * Items of one chunk section.
+     */
+    private static final class Bucket
+    {
+        private final Set<EntityItem> items = new HashSet<>();
+        private long version;
+    }
+
+    /**
+     * Bucket of an item, and where it was on the last update.
+     */
+    private static final class Slot
+    {
+        private long   key;
+        private double x;
+        private double y;
+        private double z;
+    }
+
+    /**
+     * Start tracking an item which joined the world inside the colony.
+     *
+     * @param item the item.
+     */
+    public void add(EntityItem item)
+    {
+        if (item.isDead || slots.containsKey(item))
+        {
+            return;
+        }
+
+        Slot slot = new Slot();
+        slot.key = getKey(item);
+        remember(slot, item);
+        slots.put(item, slot);
+        getOrCreateBucket(slot.key).items.add(item);
+    }
+
+    /**
+     * Start tracking the items of a world which are inside the colony, when the colony comes back to a loaded world.
+     *
+     * @param colony the colony.
+     * @param world  the world of the colony.
+     */
+    public void addAll(Colony colony, World world)
+    {
+        for (Entity entity : world.loadedEntityList)
+        {
+            if (entity instanceof EntityItem && colony.isCoordInColony(world, new BlockPos(entity)))
+            {
+                add((EntityItem) entity);
+            }
+        }
+    }
+
+    /**
+     * Move the items which changed section to their new bucket, mark the buckets whose items moved as changed,
+     * and drop the items which are dead or no longer loaded.
+     *
+     * @param world the world of the colony.
+     */
+    public void update(World world)
+    {
+        for (Iterator<Map.Entry<EntityItem, Slot>> it = slots.entrySet().iterator(); it.hasNext(); )
+        {
+            Map.Entry<EntityItem, Slot> entry = it.next();
+            EntityItem item = entry.getKey();
+            Slot slot = entry.getValue();
+
+            //  Items which never made it into a chunk were cancelled by another mod
+            if (item.isDead || !item.addedToChunk || item.worldObj != world || !world.isBlockLoaded(new BlockPos(item)))
+            {
+                removeFromBucket(slot.key, item);
+                it.remove();
+                continue;
+            }
+
+            if (item.getDistanceSq(slot.x, slot.y, slot.z) < MOVED_DISTANCE_SQUARED)
+            {
+                continue;
+            }
+            remember(slot, item);
+
+            long key = getKey(item);
+            if (key == slot.key)
+            {
+                buckets.get(key).version = ++lastVersion;
+            }
+            else
+            {
+                removeFromBucket(slot.key, item);
+                slot.key = key;
+                getOrCreateBucket(key).items.add(item);
+            }
+        }
+    }
+
+    /**
+     * Stamp of the items around an area: it is {@link #NO_ITEMS} when there are no items in the sections the area
+     * touches, and changes whenever an item enters or moves in one of them.
+     *
+     * @param box the area.
+     * @return the stamp.
+     */
+    public long getStamp(AxisAlignedBB box)
+    {
+        long stamp = NO_ITEMS;
+        for (int x = toSection(box.minX - ITEM_MARGIN); x <= toSection(box.maxX + ITEM_MARGIN); ++x)
+        {
+            for (int y = toSection(box.minY - ITEM_MARGIN); y <= toSection(box.maxY + ITEM_MARGIN); ++y)
+            {
+                for (int z = toSection(box.minZ - ITEM_MARGIN); z <= toSection(box.maxZ + ITEM_MARGIN); ++z)
+                {
+                    Bucket bucket = buckets.get(getKey(x, y, z));
+                    if (bucket != null)
+                    {
+                        stamp = Math.max(stamp, bucket.version);
+                    }
+                }
+            }
+        }
+        return stamp;
+    }
+
+    /**
+     * The living items touching an area.
+     *
+     * @param box the area.
+     * @return the items.
+     */
+    public List<EntityItem> getItems(AxisAlignedBB box)
+    {
+        List<EntityItem> items = new ArrayList<>();
+        for (int x = toSection(box.minX - ITEM_MARGIN); x <= toSection(box.maxX + ITEM_MARGIN); ++x)
+        {
+            for (int y = toSection(box.minY - ITEM_MARGIN); y <= toSection(box.maxY + ITEM_MARGIN); ++y)
+            {
+                for (int z = toSection(box.minZ - ITEM_MARGIN); z <= toSection(box.maxZ + ITEM_MARGIN); ++z)
+                {
+                    Bucket bucket = buckets.get(getKey(x, y, z));
+                    if (bucket == null)
+                    {
+                        continue;
+                    }
+
+                    for (EntityItem item : bucket.items)
+                    {
+                        if (!item.isDead && item.getEntityBoundingBox().intersectsWith(box))
+                        {
+                            items.add(item);
+                        }
+                    }
+                }
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Forget all items, when the world of the colony unloads.
+     */
+    public void clear()
+    {
+        buckets.clear();
+        slots.clear();
+    }
+
+    private Bucket getOrCreateBucket(long key)
+    {
+        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket());
+        bucket.version = ++lastVersion;
+        return bucket;
+    }
+
+    private void removeFromBucket(long key, EntityItem item)
+    {
+        Bucket bucket = buckets.get(key);
+        if (bucket != null && bucket.items.remove(item) && bucket.items.isEmpty())
+        {
+            buckets.remove(key);
+        }
+    }
+
+    private static void remember(Slot slot, EntityItem item)
+    {
+        slot.x = item.posX;
+        slot.y = item.posY;
+        slot.z = item.posZ;
+    }
+
+    private static int toSection(double coordinate)
+    {
+        return MathHelper.floor_double(coordinate) >> SECTION_SHIFT;
+    }
+
+    private static long getKey(EntityItem item)
+    {
+        return getKey(toSection(item.posX), toSection(item.posY), toSection(item.posZ));
+    }
+
+    private static long getKey(int x, int y, int z)
+    {
+        //  Same layout as BlockPos.toLong, 26 bits for x and z and 12 for y
+        return ((long) x & 0x3FFFFFFL) << 38 | ((long) y & 0xFFFL) << 26 | (long) z & 0x3FFFFFFL;
+    }
+}
@@ -0,0 +1,349 @@
+package com.minecolonies.colony;
+
+import com.minecolonies.util.Log;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of changes to one colony, written between snapshots of the colony.
+ * <p>
+ * Each record is an NBT compound describing the new state of one part of the colony, or the changes to a builder's
+ * plan (see {@link Colony#applyJournalRecord(NBTTagCompound, NBTTagCompound)}). Records are collected in a buffer
+ * during the tick and written with a single channel write at the end of it.
+ * <p>
+ * Journals are split into generations. Taking a snapshot starts a new generation and stores its number in the
+ * snapshot, so on load only the generations from the snapshot onwards are replayed. Older generations are deleted
+ * once the snapshot has been written.
+ */
+final class ColonyJournal
+{
+    private static final String  FILENAME_JOURNAL         = "colony%d.%d.journal";
+    private static final Pattern FILENAME_JOURNAL_PATTERN = Pattern.compile("colony(\\d+)\\.(\\d+)\\.journal");
+
+    //  Record header: payload length and CRC of the payload
+    private static final int HEADER_SIZE         = 8;
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+
+    private final File directory;
+    private final int  colonyId;
+    private       int  generation;
+    private       long size;
+    private       long generationStart = System.nanoTime();
+
+    private       FileChannel           channel = null;
+    private       ByteBuffer            buffer  = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private final ByteArrayOutputStream bytes   = new ByteArrayOutputStream();
+    private final CRC32                 crc     = new CRC32();
+
+    /**
+     * Create the journal of a colony.
+     *
+     * @param directory  directory of the colony save files.
+     * @param colonyId   ID of the colony.
+     * @param generation generation to append to.
+     */
+    ColonyJournal(File directory, int colonyId, int generation)
+    {
+        this.directory = directory;
+        this.colonyId = colonyId;
+        this.generation = generation;
+    }
+
+    /**
+     * Add a record to the journal. It is written to disk by the next {@link #flush()}.
+     *
+     * @param record the record to add.
+     */
+    void append(NBTTagCompound record)
+    {
+        bytes.reset();
+        try
+        {
+            CompressedStreamTools.write(record, new DataOutputStream(bytes));
+        }
+        catch (IOException exception)
+        {
+            Log.logger.error(String.format("Colony %d - unable to serialize journal record", colonyId), exception);
+            return;
+        }
+
+        crc.reset();
+        byte[] payload = bytes.toByteArray();
+        crc.update(payload, 0, payload.length);
+
+        ensureCapacity(HEADER_SIZE + payload.length);
+        buffer.putInt(payload.length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(payload);
+    }
+
+    private void ensureCapacity(int required)
+    {
+        if (buffer.remaining() < required)
+        {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + required));
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+    }
+
+    /**
+     * Write the buffered records to the journal file.
+     */
+    void flush()
+    {
+        if (buffer.position() == 0)
+        {
+            return;
+        }
+
+        buffer.flip();
+        try
+        {
+            if (channel == null)
+            {
+                directory.mkdirs();
+                channel = FileChannel.open(getFile(generation).toPath(),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+
+            while (buffer.hasRemaining())
+            {
+                size += channel.write(buffer);
+            }
+        }
+        catch (IOException exception)
+        {
+            Log.logger.error(String.format("Colony %d - unable to write journal", colonyId), exception);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Force the written records to the storage device.
+     */
+    void sync()
+    {
+        flush();
+        if (channel != null)
+        {
+            try
+            {
+                channel.force(false);
+            }
+            catch (IOException exception)
+            {
+                Log.logger.error(String.format("Colony %d - unable to sync journal", colonyId), exception);
+            }
+        }
+    }
+
+    /**
+     * Close the current generation and start a new one. Called when a snapshot of the colony is taken.
+     *
+     * @return the new generation, which is to be stored in the snapshot.
+     */
+    int roll()
+    {
+        flush();
+        close();
+
+        ++generation;
+        size = 0;
+        generationStart = System.nanoTime();
+        return generation;
+    }
+
+    /**
+     * Close the journal file.
+     */
+    void close()
+    {
+        if (channel != null)
+        {
+            try
+            {
+                channel.close();
+            }
+            catch (IOException exception)
+            {
+                Log.logger.error(String.format("Colony %d - unable to close journal", colonyId), exception);
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * @return number of bytes written to the current generation.
+     */
+    long getSize()
+    {
+        return size;
+    }
+
+    /**
+     * @return milliseconds since the current generation was started.
+     */
+    long getAgeMillis()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - generationStart);
+    }
+
+    private File getFile(int gen)
+    {
+        return new File(directory, String.format(FILENAME_JOURNAL, colonyId, gen));
+    }
+
+    /**
+     * Delete the journal generations before the given one, they are covered by a written snapshot.
+     * Only touches files, so it may be called from the save writer thread.
+     *
+     * @param directory  directory of the colony save files.
+     * @param colonyId   ID of the colony.
+     * @param generation first generation to keep.
+     */
+    static void deleteBefore(File directory, int colonyId, int generation)
+    {
+        for (JournalFile journalFile : list(directory, colonyId))
+        {
+            if (journalFile.generation < generation && !journalFile.file.delete())
+            {
+                Log.logger.warn("Unable to delete " + journalFile.file);
+            }
+        }
+    }
+
+    /**
+     * Read the records of all generations starting at the given one, in the order they were written.
+     * Reading a generation stops at the first incomplete or corrupt record, which is what an interrupted write leaves.
+     *
+     * @param directory  directory of the colony save files.
+     * @param colonyId   ID of the colony.
+     * @param generation first generation to read.
+     * @return the records.
+     */
+    static List<NBTTagCompound> read(File directory, int colonyId, int generation)
+    {
+        List<NBTTagCompound> records = new ArrayList<>();
+        for (JournalFile journalFile : list(directory, colonyId))
+        {
+            if (journalFile.generation >= generation)
+            {
+                readFile(journalFile.file, colonyId, records);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Returns the highest journal generation on disk.
+     *
+     * @param directory directory of the colony save files.
+     * @param colonyId  ID of the colony.
+     * @return highest generation, or -1 if the colony has no journal.
+     */
+    static int getLastGeneration(File directory, int colonyId)
+    {
+        int last = -1;
+        for (JournalFile journalFile : list(directory, colonyId))
+        {
+            last = Math.max(last, journalFile.generation);
+        }
+        return last;
+    }
+
+    private static void readFile(File file, int colonyId, List<NBTTagCompound> records)
+    {
+        ByteBuffer data;
+        try
+        {
+            data = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        }
+        catch (IOException exception)
+        {
+            Log.logger.error("Exception when reading " + file, exception);
+            return;
+        }
+
+        CRC32 crc = new CRC32();
+        while (data.remaining() >= HEADER_SIZE)
+        {
+            int length = data.getInt();
+            int checksum = data.getInt();
+            if (length < 0 || length > data.remaining())
+            {
+                Log.logger.warn(String.format("Colony %d - journal %s ends with an incomplete record", colonyId, file.getName()));
+                return;
+            }
+
+            crc.reset();
+            crc.update(data.array(), data.position(), length);
+            if ((int) crc.getValue() != checksum)
+            {
+                Log.logger.warn(String.format("Colony %d - journal %s contains a corrupt record", colonyId, file.getName()));
+                return;
+            }
+
+            try
+            {
+                records.add(CompressedStreamTools.read(new DataInputStream(new ByteArrayInputStream(data.array(), data.position(), length))));
+            }
+            catch (IOException exception)
+            {
+                Log.logger.error("Exception when reading " + file, exception);
+                return;
+            }
+            data.position(data.position() + length);
+        }
+    }
+
+    private static List<JournalFile> list(File directory, int colonyId)
+    {
+        List<JournalFile> journalFiles = new ArrayList<>();
+        File[] files = directory.listFiles();
+        if (files == null)
+        {
+            return journalFiles;
+        }
+
+        for (File file : files)
+        {
+            Matcher matcher = FILENAME_JOURNAL_PATTERN.matcher(file.getName());
+            if (matcher.matches() && Integer.parseInt(matcher.group(1)) == colonyId)
+            {
+                journalFiles.add(new JournalFile(file, Integer.parseInt(matcher.group(2))));
+            }
+        }
+
+        journalFiles.sort((a, b) -> Integer.compare(a.generation, b.generation));
+        return journalFiles;
+    }
+
+    /**
+     * A journal file and its generation.
+     */
+    private static final class JournalFile
+    {
+        private final File file;
+        private final int  generation;
+
+        JournalFile(File file, int generation)
+        {
+            this.file = file;
+            this.generation = generation;
+        }
+    }
+}
@@ -3,14 +3,18 @@ package com.minecolonies.colony;
 import com.minecolonies.colony.buildings.AbstractBuilding;
 import com.minecolonies.colony.permissions.Permissions;
 import com.minecolonies.configuration.Configurations;
+import com.minecolonies.entity.pathfinding.PathCache;
 import com.minecolonies.util.LanguageHandler;
 import com.minecolonies.util.Log;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.client.Minecraft;
+import net.minecraft.entity.item.EntityItem;
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.BlockPos;
 import net.minecraft.world.World;
 import net.minecraftforge.common.DimensionManager;
@@ -21,7 +25,8 @@ import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Singleton class that links colonies to minecraft.
@@ -34,12 +39,39 @@ public final class ColonyManager
 
     private static          Map<Integer, ColonyView>   colonyViews                  = new HashMap<>();
 
+    //  Spatial lookups by dimension and position
+    private static final    ColonySpatialIndex<Colony>        colonyIndex           = new ColonySpatialIndex<>();
+    private static final    ColonySpatialIndex<DormantColony> dormantColonyIndex    = new ColonySpatialIndex<>();
+    private static final    ColonySpatialIndex<ColonyView>    colonyViewIndex       = new ColonySpatialIndex<>();
+    private static final    SubscriberTracker                 subscriberTracker     = new SubscriberTracker(colonyIndex);
+    private static          Map<Integer, Map<BlockPos, AbstractBuilding>> buildingsByWorld = new HashMap<>();
+
+    //  Colonies which are only on disk, loaded on demand
+    private static          Map<Integer, DormantColony> dormantColonies             = new HashMap<>();
+    private static          Set<Integer>               pendingWakeUps               = new HashSet<>();
+    private static          boolean                    indexNeedsSave               = false;
+    private static          long                       serverTicks                  = 0;
+
     // Used to trigger loading/unloading colonies
     private static          int                         numWorldsLoaded;
-    private static          boolean                     saveNeeded;
+
+    private static final    ColonySaveWriter            saveWriter                  = new ColonySaveWriter();
+    private static final    ColonyTickScheduler         tickScheduler               = new ColonyTickScheduler();
 
     private static final    String                      FILENAME_MINECOLONIES_PATH  = "minecolonies";
     private static final    String                      FILENAME_MINECOLONIES       = "colonies.dat";
+    private static final    String                      FILENAME_COLONY             = "colony%d.dat";
+    private static final    String                      FILENAME_INDEX              = "index.dat";
+    private static final    Pattern                     FILENAME_COLONY_PATTERN     = Pattern.compile("colony(\\d+)\\.dat");
+
+    //  Snapshot a colony when its journal grows past 1 MiB, or on a world save after 10 minutes
+    private static final    long                        JOURNAL_COMPACT_SIZE        = 1L << 20;
+    private static final    long                        SNAPSHOT_MAX_AGE_MILLIS     = 10L * 60 * 1000;
+
+    //  Look for inactive colonies to page out once a minute
+    private static final    int                         DORMANCY_CHECK_INTERVAL     = 60 * 20;
+    private static final    int                         TICKS_PER_MINUTE            = 60 * 20;
+
     private static final    String                      TAG_COLONIES                = "colonies";
 
     private ColonyManager()
@@ -59,20 +91,15 @@ public final class ColonyManager
     {
         ++topColonyId;
         Colony colony = new Colony(topColonyId, w, pos);
-        colonies.put(colony.getID(), colony);
-
-        if (!coloniesByWorld.containsKey(colony.getDimensionId()))
-        {
-            coloniesByWorld.put(colony.getDimensionId(), new ArrayList<>());
-        }
-
-        coloniesByWorld.get(colony.getDimensionId()).add(colony);
+        registerColony(colony);
 
         String colonyName = LanguageHandler.format("com.minecolonies.gui.townHall.defaultName", player.getDisplayNameString());
         colony.setName(colonyName);
         colony.getPermissions().setPlayerRank(player.getGameProfile().getId(), Permissions.Rank.OWNER);
 
-        markDirty();
+        colony.setJournal(new ColonyJournal(getSaveDirectory(), colony.getID(), 0));
+        colony.setLastActiveTick(serverTicks);
+        colony.requestSave();
 
         Log.logger.info(String.format("New Colony %d", colony.getID()));
 
@@ -81,17 +108,35 @@ public final class ColonyManager
 
     /**
      * Get Colony by UUID
+     * A dormant colony is queued to load at the start of the next tick, until then null is returned.
      *
      * @param id    ID of colony
      * @return Colony with given ID
      */
     public static Colony getColony(int id)
     {
-        return colonies.get(id);
+        Colony colony = colonies.get(id);
+        if (colony == null && dormantColonies.containsKey(id))
+        {
+            pendingWakeUps.add(id);
+        }
+        return colony;
+    }
+
+    /**
+     * Check if a colony is dormant. Dormant colonies asked for are loaded at the start of the next tick
+     *
+     * @param id    ID of colony
+     * @return      true if the colony is only on disk
+     */
+    public static boolean isColonyDormant(int id)
+    {
+        return dormantColonies.containsKey(id);
     }
 
     /**
      * Get colony that contains a given coordinate
+     * A dormant colony is queued to load at the start of the next tick, until then null is returned.
      *
      * @param w     World
      * @param pos   coordinates
@@ -99,25 +144,24 @@ public final class ColonyManager
      */
     public static Colony getColony(World w, BlockPos pos)
     {
-        List<Colony> coloniesInWorld = coloniesByWorld.get(w.provider.getDimensionId());
-        if (coloniesInWorld == null)
+        Colony colony = colonyIndex.getAt(w.provider.getDimensionId(), pos);
+        if (colony != null)
         {
-            return null;
+            return colony.isCoordInColony(w, pos) ? colony : null;
         }
 
-        for (Colony c : coloniesInWorld)
+        DormantColony dormant = dormantColonyIndex.getAt(w.provider.getDimensionId(), pos);
+        if (dormant != null)
         {
-            if (c.isCoordInColony(w, pos))
-            {
-                return c;
-            }
+            pendingWakeUps.add(dormant.getID());
         }
 
         return null;
     }
 
     /**
-     * Get closest colony by x,y,z
+     * Get closest loaded colony by x,y,z
+     * If a dormant colony is closer it is queued to load at the start of the next tick.
      *
      * @param w     World
      * @param pos   coordinates
@@ -125,44 +169,69 @@ public final class ColonyManager
      */
     private static Colony getClosestColony(World w, BlockPos pos)
     {
-        List<Colony> coloniesInWorld = coloniesByWorld.get(w.provider.getDimensionId());
-        if (coloniesInWorld == null)
-        {
-            return null;
-        }
-
-        Colony closestColony = null;
-        float closestDist = Float.MAX_VALUE;
+        int dimension = w.provider.getDimensionId();
 
-        for (Colony c : coloniesInWorld)
+        //  Only load a dormant colony if it is the closest one
+        if (dormantColonyIndex.getClosestDistanceSquared(dimension, pos) < colonyIndex.getClosestDistanceSquared(dimension, pos))
         {
-            if (c.getDimensionId() == w.provider.getDimensionId())
-            {
-                float dist = c.getDistanceSquared(pos);
-                if (dist < closestDist)
-                {
-                    closestColony = c;
-                    closestDist = dist;
-                }
-            }
+            pendingWakeUps.add(dormantColonyIndex.getClosest(dimension, pos).getID());
         }
 
-        return closestColony;
+        return colonyIndex.getClosest(dimension, pos);
+    }
+
+    /**
+     * Check if a dormant colony, which {@link #getClosestIColony(World, BlockPos)} does not return until it is loaded,
+     * is within a distance of a position
+     *
+     * @param w         World
+     * @param pos       coordinates
+     * @param distance  distance from the position
+     * @return          true if a dormant colony center is within the distance
+     */
+    public static boolean isDormantColonyWithin(World w, BlockPos pos, double distance)
+    {
+        return !w.isRemote && dormantColonyIndex.getClosestDistanceSquared(w.provider.getDimensionId(), pos) <= distance * distance;
     }
 
     /**
      * Returns a Colony that has the given owner.
      *
+     * A dormant colony is queued to load at the start of the next tick, until then null is returned.
+     *
      * @param owner     UUID of the owner
      * @return          Colony that belong to given owner UUID
      */
     private static IColony getColonyByOwner(UUID owner)
     {
-        return colonies.values()
+        IColony colony = colonies.values()
                 .stream()
-                .filter(c -> c.getPermissions().getOwner().equals(owner))
+                .filter(c -> owner.equals(c.getPermissions().getOwner()))
                 .findFirst()
                 .orElse(null);
+
+        if (colony == null)
+        {
+            dormantColonies.values()
+                    .stream()
+                    .filter(d -> owner.equals(d.getOwner()))
+                    .forEach(d -> pendingWakeUps.add(d.getID()));
+        }
+        return colony;
+    }
+
+    /**
+     * Check if a player owns a dormant colony, which {@link #getIColonyByOwner(World, EntityPlayer)} does not return
+     * until it is loaded
+     *
+     * @param w         World
+     * @param owner     Entity Player
+     * @return          true if a colony of the player is only on disk
+     */
+    public static boolean isDormantColonyOwner(World w, EntityPlayer owner)
+    {
+        UUID id = owner.getGameProfile().getId();
+        return !w.isRemote && dormantColonies.values().stream().anyMatch(d -> id.equals(d.getOwner()));
     }
 
     /**
@@ -174,30 +243,56 @@ public final class ColonyManager
      */
     public static AbstractBuilding getBuilding(World w, BlockPos pos)
     {
-        Colony colony = getColony(w, pos);
-        if (colony != null)
+        //  Buildings of all colonies in the world, including those outside of their owning colony's radius
+        Map<BlockPos, AbstractBuilding> buildingsInWorld = buildingsByWorld.get(w.provider.getDimensionId());
+        AbstractBuilding building = buildingsInWorld == null ? null : buildingsInWorld.get(pos);
+
+        if (building == null && dormantColonyIndex.getAt(w.provider.getDimensionId(), pos) != null)
         {
-            AbstractBuilding building = colony.getBuilding(pos);
-            if (building != null)
-            {
-                return building;
-            }
+            //  Buildings of a dormant colony are indexed once it is loaded
+            Colony colony = getColony(w, pos);
+            building = colony == null ? null : colony.getBuilding(pos);
         }
 
-        //  Fallback - there might be a AbstractBuilding for this block, but it's outside of it's owning colony's radius
-        if (coloniesByWorld.containsKey(w.provider.getDimensionId()))
+        return building;
+    }
+
+    /**
+     * Add a building to the building index, called by the colony owning it
+     *
+     * @param colony    colony of the building
+     * @param building  the new building
+     */
+    static void onBuildingAdded(Colony colony, AbstractBuilding building)
+    {
+        if (colonies.get(colony.getID()) != colony)
         {
-            for (Colony otherColony : coloniesByWorld.get(w.provider.getDimensionId()))
-            {
-                AbstractBuilding building = otherColony.getBuilding(pos);
-                if (building != null)
-                {
-                    return building;
-                }
-            }
+            //  Colony is being loaded, its buildings are indexed when it is registered
+            return;
         }
 
-        return null;
+        Map<BlockPos, AbstractBuilding> buildingsInWorld = buildingsByWorld.get(colony.getDimensionId());
+        if (buildingsInWorld == null)
+        {
+            buildingsInWorld = new HashMap<>();
+            buildingsByWorld.put(colony.getDimensionId(), buildingsInWorld);
+        }
+        buildingsInWorld.put(building.getID(), building);
+    }
+
+    /**
+     * Remove a building from the building index, called by the colony owning it
+     *
+     * @param colony    colony of the building
+     * @param building  the removed building
+     */
+    static void onBuildingRemoved(Colony colony, AbstractBuilding building)
+    {
+        Map<BlockPos, AbstractBuilding> buildingsInWorld = buildingsByWorld.get(colony.getDimensionId());
+        if (buildingsInWorld != null && buildingsInWorld.get(building.getID()) == building)
+        {
+            buildingsInWorld.remove(building.getID());
+        }
     }
 
     /**
@@ -242,15 +337,7 @@ public final class ColonyManager
      */
     private static ColonyView getColonyView(World w, BlockPos pos)
     {
-        for (ColonyView c : colonyViews.values())
-        {
-            if (c.isCoordInColony(w, pos))
-            {
-                return c;
-            }
-        }
-
-        return null;
+        return colonyViewIndex.getAt(w.provider.getDimensionId(), pos);
     }
 
     /**
@@ -263,23 +350,7 @@ public final class ColonyManager
      */
     public static ColonyView getClosestColonyView(World w, BlockPos pos)
     {
-        ColonyView closestColony = null;
-        float closestDist = Float.MAX_VALUE;
-
-        for (ColonyView c : colonyViews.values())
-        {
-            if (c.getDimensionId() == w.provider.getDimensionId())
-            {
-                float dist = c.getDistanceSquared(pos);
-                if (dist < closestDist)
-                {
-                    closestColony = c;
-                    closestDist = dist;
-                }
-            }
-        }
-
-        return closestColony;
+        return colonyViewIndex.getClosest(w.provider.getDimensionId(), pos);
     }
 
     /**
@@ -383,15 +454,299 @@ public final class ColonyManager
      */
     public static void onServerTick(TickEvent.ServerTickEvent event)
     {
+        if (event.phase == TickEvent.Phase.START)
+        {
+            ++serverTicks;
+            wakePendingColonies();
+        }
+
         for (Colony c : colonies.values())
         {
             c.onServerTick(event);
         }
 
-        if (saveNeeded)
+        if (event.phase == TickEvent.Phase.END && serverTicks % DORMANCY_CHECK_INTERVAL == 0)
+        {
+            pageOutInactiveColonies();
+        }
+
+        saveColonies(false);
+    }
+
+    /**
+     * Load the dormant colonies whose area got a chunk loaded
+     */
+    private static void wakePendingColonies()
+    {
+        if (pendingWakeUps.isEmpty())
+        {
+            return;
+        }
+
+        //  Loading a colony may ask for another dormant one, which is then loaded on the next tick
+        List<Integer> ids = new ArrayList<>(pendingWakeUps);
+        pendingWakeUps.clear();
+        for (int id : ids)
+        {
+            if (dormantColonies.containsKey(id))
+            {
+                wakeColony(id);
+            }
+        }
+    }
+
+    /**
+     * Save and unload colonies which have had no players, citizens or loaded chunks for the configured time
+     */
+    private static void pageOutInactiveColonies()
+    {
+        long delay = (long) Configurations.colonyDormancyDelay * TICKS_PER_MINUTE;
+
+        List<Colony> inactive = new ArrayList<>();
+        for (Colony colony : colonies.values())
+        {
+            if (colony.isActive())
+            {
+                colony.setLastActiveTick(serverTicks);
+            }
+            else if (delay > 0 && serverTicks - colony.getLastActiveTick() >= delay)
+            {
+                inactive.add(colony);
+            }
+        }
+
+        inactive.forEach(ColonyManager::pageOutColony);
+    }
+
+    /**
+     * Snapshot a colony, and replace it by its index entry
+     *
+     * @param colony    Colony to page out
+     */
+    private static void pageOutColony(Colony colony)
+    {
+        saveColony(colony);
+        colony.getJournal().close();
+
+        if (colony.getWorld() != null)
+        {
+            colony.onWorldUnload(colony.getWorld());
+        }
+
+        unregisterColony(colony);
+        addDormantColony(DormantColony.of(colony));
+
+        Log.logger.info(String.format("Colony %d - inactive, unloaded", colony.getID()));
+    }
+
+    /**
+     * Load a dormant colony
+     *
+     * @param id    ID of the colony
+     * @return      the loaded colony, or null if it could not be read
+     */
+    private static Colony wakeColony(int id)
+    {
+        dormantColonies.remove(id);
+        dormantColonyIndex.remove(id);
+
+        //  The snapshot written when the colony was paged out may still be queued
+        saveWriter.flush();
+
+        NBTTagCompound data = loadNBTFromPath(getColonySaveLocation(id));
+        if (data == null)
+        {
+            Log.logger.error(String.format("Colony %d - unable to load dormant colony", id));
+            return null;
+        }
+
+        Colony colony = loadColonyWithJournal(getSaveDirectory(), id, data);
+        colony.setLastActiveTick(serverTicks);
+
+        World world = DimensionManager.getWorld(colony.getDimensionId());
+        if (world != null)
+        {
+            colony.onWorldLoad(world);
+        }
+
+        Log.logger.info(String.format("Colony %d - loaded", id));
+        return colony;
+    }
+
+    /**
+     * Load dormant colonies close to a loaded chunk. The colonies are loaded at the start of the next tick, as
+     * chunks may load while the colonies are being ticked.
+     * Loaded colonies the chunk is in check it for trees.
+     *
+     * @param world     World the chunk is in
+     * @param chunkX    chunk x coordinate
+     * @param chunkZ    chunk z coordinate
+     */
+    public static void onChunkLoad(World world, int chunkX, int chunkZ)
+    {
+        if (world.isRemote)
+        {
+            return;
+        }
+
+        int dimension = world.provider.getDimensionId();
+        BlockPos chunkCenter = new BlockPos((chunkX << 4) + 8, 0, (chunkZ << 4) + 8);
+        for (Colony colony : colonyIndex.getWithin(dimension, chunkCenter, Configurations.workingRangeTownHall + 16))
+        {
+            colony.getTreeRegistry().onChunkLoad(chunkX, chunkZ);
+        }
+
+        for (DormantColony dormant : dormantColonies.values())
+        {
+            if (dormant.isChunkInRange(dimension, chunkX, chunkZ))
+            {
+                pendingWakeUps.add(dormant.getID());
+            }
+        }
+    }
+
+    /**
+     * Load the dormant colony of a player logging in, at the start of the next tick.
+     * The player is subscribed to it once it is loaded.
+     *
+     * @param player    the player
+     */
+    public static void onPlayerLogin(EntityPlayer player)
+    {
+        UUID id = player.getGameProfile().getId();
+        dormantColonies.values()
+                .stream()
+                .filter(d -> id.equals(d.getOwner()))
+                .forEach(d -> pendingWakeUps.add(d.getID()));
+
+        if (player instanceof EntityPlayerMP)
+        {
+            subscriberTracker.onPlayerJoined((EntityPlayerMP) player, colonies.values());
+        }
+    }
+
+    /**
+     * Check the subscriptions of a player who respawned, the new player entity replaces the one which died
+     *
+     * @param player    the player
+     */
+    public static void onPlayerRespawn(EntityPlayerMP player)
+    {
+        subscriberTracker.onPlayerJoined(player, colonies.values());
+    }
+
+    /**
+     * Unsubscribe a player who logs out from every colony
+     *
+     * @param player    the player
+     */
+    public static void onPlayerLogout(EntityPlayerMP player)
+    {
+        subscriberTracker.onPlayerLeft(player);
+    }
+
+    /**
+     * Check the subscriptions of a player who entered another chunk or dimension
+     *
+     * @param player    the player
+     */
+    public static void onPlayerMoved(EntityPlayerMP player)
+    {
+        subscriberTracker.onPlayerMoved(player);
+    }
+
+    /**
+     * Track an item which joined the world, if it is inside a loaded colony
+     * Dormant colonies are not woken for it, they pick up their items when they load
+     *
+     * @param item      the item
+     */
+    public static void onItemJoinWorld(EntityItem item)
+    {
+        BlockPos pos = new BlockPos(item);
+        Colony colony = colonyIndex.getAt(item.worldObj.provider.getDimensionId(), pos);
+        if (colony != null && colony.isCoordInColony(item.worldObj, pos))
+        {
+            colony.getItemTracker().add(item);
+        }
+    }
+
+    /**
+     * Drop the cached paths through a changed block, and inform the colony the block is in
+     *
+     * @param world     World the block is in
+     * @param pos       position of the block
+     */
+    public static void onBlockChanged(World world, BlockPos pos)
+    {
+        PathCache.onBlockChanged(world, pos);
+
+        Colony colony = getColony(world, pos);
+        if (colony != null)
+        {
+            colony.onBlockChanged(pos);
+        }
+    }
+
+    /**
+     * Check a sapling which is growing into a tree for the lumberjacks, if it is inside a loaded colony
+     *
+     * @param world     World the sapling is in
+     * @param pos       position of the sapling
+     */
+    public static void onSaplingGrow(World world, BlockPos pos)
+    {
+        Colony colony = colonyIndex.getAt(world.provider.getDimensionId(), pos);
+        if (colony != null && colony.isCoordInColony(world, pos))
+        {
+            colony.getTreeRegistry().onSaplingGrow(pos);
+        }
+    }
+
+    /**
+     * Check the subscriptions of all online players to a colony whose permissions changed
+     *
+     * @param colony    the colony
+     */
+    static void onColonyPermissionsChanged(Colony colony)
+    {
+        subscriberTracker.onColonyChanged(colony, getOnlinePlayers());
+    }
+
+    private static List<EntityPlayerMP> getOnlinePlayers()
+    {
+        MinecraftServer server = MinecraftServer.getServer();
+        if (server == null || server.getConfigurationManager() == null)
         {
-            saveColonies();
+            return Collections.emptyList();
         }
+        return server.getConfigurationManager().playerEntityList;
+    }
+
+    /**
+     * Returns the number of loaded and dormant colonies
+     *
+     * @return      human readable summary
+     */
+    public static String getResidencyReport()
+    {
+        return String.format("Colonies: %d loaded, %d dormant, %d waiting to load", colonies.size(), dormantColonies.size(), pendingWakeUps.size());
+    }
+
+    /**
+     * Returns the view update traffic of the loaded colonies, busiest first
+     *
+     * @return      list of report lines
+     */
+    public static List<String> getBandwidthReport()
+    {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("View updates sent by %d loaded colonies:", colonies.size()));
+        colonies.values().stream()
+                .sorted((a, b) -> Long.compare(b.getBytesSent(), a.getBytesSent()))
+                .forEach(c -> lines.add(String.format("  Colony %d (%s): %.1f KiB in %d messages",
+                        c.getID(), c.getName(), c.getBytesSent() / 1024D, c.getMessagesSent())));
+        return lines;
     }
 
     /**
@@ -405,21 +760,20 @@ public final class ColonyManager
         {
             //  Player has left the game, clear the Colony View cache
             colonyViews.clear();
+            colonyViewIndex.clear();
         }
     }
 
     /**
-     * On world tick, tick every Colony in that world
-     * NOTE: Review this for performance
+     * On world tick, tick the Colonies in that world
+     * Colonies are spread over several ticks if ticking all of them takes longer than the configured budget
      *
      * @param event     {@link net.minecraftforge.fml.common.gameevent.TickEvent.WorldTickEvent}
      */
     public static void onWorldTick(
             TickEvent.WorldTickEvent event)
     {
-        colonies.values().stream()
-                .filter(c -> c.getDimensionId() == event.world.provider.getDimensionId())
-                .forEach(c -> c.onWorldTick(event));
+        tickScheduler.onWorldTick(event, coloniesByWorld.get(event.world.provider.getDimensionId()));
     }
 
     /**
@@ -432,19 +786,72 @@ public final class ColonyManager
         NBTTagList colonyTags = compound.getTagList(TAG_COLONIES, NBT.TAG_COMPOUND);
         for (int i = 0; i < colonyTags.tagCount(); ++i)
         {
-            Colony colony = Colony.loadColony(colonyTags.getCompoundTagAt(i));
-            colonies.put(colony.getID(), colony);
+            addLoadedColony(Colony.loadColony(colonyTags.getCompoundTagAt(i)));
+        }
+    }
 
-            if (!coloniesByWorld.containsKey(colony.getDimensionId()))
-            {
-                coloniesByWorld.put(colony.getDimensionId(), new ArrayList<>());
-            }
-            coloniesByWorld.get(colony.getDimensionId()).add(colony);
+    /**
+     * Register a colony which was read from disk
+     *
+     * @param colony    the loaded colony
+     */
+    private static void addLoadedColony(Colony colony)
+    {
+        registerColony(colony);
+        topColonyId = Math.max(topColonyId, colony.getID());
+    }
 
-            topColonyId = Math.max(topColonyId, colony.getID());
+    /**
+     * Add a colony and its buildings to the lookup maps
+     *
+     * @param colony    the colony
+     */
+    private static void registerColony(Colony colony)
+    {
+        colonies.put(colony.getID(), colony);
+
+        if (!coloniesByWorld.containsKey(colony.getDimensionId()))
+        {
+            coloniesByWorld.put(colony.getDimensionId(), new ArrayList<>());
+        }
+        coloniesByWorld.get(colony.getDimensionId()).add(colony);
+
+        colonyIndex.add(colony.getID(), colony.getDimensionId(), colony.getCenter(), colony);
+        for (AbstractBuilding building : colony.getBuildings().values())
+        {
+            onBuildingAdded(colony, building);
+        }
+
+        subscriberTracker.onColonyChanged(colony, getOnlinePlayers());
+    }
+
+    /**
+     * Remove a colony and its buildings from the lookup maps
+     *
+     * @param colony    the colony
+     */
+    private static void unregisterColony(Colony colony)
+    {
+        for (AbstractBuilding building : colony.getBuildings().values())
+        {
+            onBuildingRemoved(colony, building);
         }
+        colonyIndex.remove(colony.getID());
+        subscriberTracker.onColonyRemoved(colony);
+
+        colonies.remove(colony.getID());
+        coloniesByWorld.get(colony.getDimensionId()).remove(colony);
+    }
 
-        Log.logger.info(String.format("Loaded %d colonies", colonies.size()));
+    /**
+     * Add a colony which is only on disk
+     *
+     * @param dormant   index entry of the colony
+     */
+    private static void addDormantColony(DormantColony dormant)
+    {
+        dormantColonies.put(dormant.getID(), dormant);
+        dormantColonyIndex.add(dormant.getID(), dormant.getDimensionId(), dormant.getCenter(), dormant);
     }
 
     /**
@@ -465,14 +872,34 @@ public final class ColonyManager
     }
 
     /**
-     * Get save location for Minecolonies data, from the world/save directory
+     * Get save directory for Minecolonies data, from the world/save directory
+     *
+     * @return      Save directory for minecolonies
+     */
+    private static File getSaveDirectory()
+    {
+        return new File(DimensionManager.getWorld(0).getSaveHandler().getWorldDirectory(), FILENAME_MINECOLONIES_PATH);
+    }
+
+    /**
+     * Get the legacy save location, which held all colonies in one file
      *
      * @return      Save file for minecolonies
      */
     private static File getSaveLocation()
     {
-        File saveDir = new File(DimensionManager.getWorld(0).getSaveHandler().getWorldDirectory(), FILENAME_MINECOLONIES_PATH);
-        return new File(saveDir, FILENAME_MINECOLONIES);
+        return new File(getSaveDirectory(), FILENAME_MINECOLONIES);
+    }
+
+    /**
+     * Get save location for a single colony
+     *
+     * @param id    ID of the colony
+     * @return      Save file for the colony
+     */
+    private static File getColonySaveLocation(int id)
+    {
+        return new File(getSaveDirectory(), String.format(FILENAME_COLONY, id));
     }
 
     /**
@@ -499,47 +926,208 @@ public final class ColonyManager
     }
 
     /**
-     * Save an NBTTagCompound to a file.  Does so in a safe manner using an intermediate tmp file
-     *
-     * @param file      The destination file to write the data to
-     * @param compound  The NBTTagCompound to write to the file
+     * Find all Colonies, one file per colony.
+     * Colonies listed in the index stay dormant until they are needed, others are loaded and their journals replayed.
+     * Falls back to the legacy colonies.dat, whose colonies are then written to their own files.
      */
-    private static void saveNBTToPath(File file, NBTTagCompound compound)
+    private static void loadColonies()
     {
-        try
+        File saveDir = getSaveDirectory();
+        File[] files = saveDir.listFiles((dir, name) -> FILENAME_COLONY_PATTERN.matcher(name).matches());
+        if (files != null && files.length > 0)
+        {
+            Map<Integer, DormantColony> index = loadIndex();
+            for (File file : files)
+            {
+                Matcher matcher = FILENAME_COLONY_PATTERN.matcher(file.getName());
+                if (!matcher.matches())
+                {
+                    continue;
+                }
+
+                int id = Integer.parseInt(matcher.group(1));
+                DormantColony dormant = index.get(id);
+                if (dormant != null)
+                {
+                    addDormantColony(dormant);
+                    topColonyId = Math.max(topColonyId, id);
+                    continue;
+                }
+
+                NBTTagCompound data = loadNBTFromPath(file);
+                if (data != null)
+                {
+                    loadColonyWithJournal(saveDir, id, data);
+                    indexNeedsSave = true;
+                }
+            }
+        }
+        else
         {
-            if (file != null)
+            NBTTagCompound data = loadNBTFromPath(getSaveLocation());
+            if (data != null)
             {
-                file.getParentFile().mkdir();
-                CompressedStreamTools.safeWrite(compound, file);
+                readFromNBT(data);
+                for (Colony colony : colonies.values())
+                {
+                    colony.setJournal(new ColonyJournal(saveDir, colony.getID(), 0));
+                    colony.requestSave();
+                }
             }
         }
-        catch (IOException exception)
+
+        Log.logger.info(String.format("Loaded %d colonies, %d dormant", colonies.size(), dormantColonies.size()));
+    }
+
+    /**
+     * Read the index of all colonies
+     *
+     * @return      index entries by colony ID, empty if there is no index
+     */
+    private static Map<Integer, DormantColony> loadIndex()
+    {
+        Map<Integer, DormantColony> index = new HashMap<>();
+        NBTTagCompound data = loadNBTFromPath(new File(getSaveDirectory(), FILENAME_INDEX));
+        if (data != null)
         {
-            Log.logger.error("Exception when saving ColonyManager", exception);
+            NBTTagList entries = data.getTagList(TAG_COLONIES, NBT.TAG_COMPOUND);
+            for (int i = 0; i < entries.tagCount(); ++i)
+            {
+                DormantColony entry = DormantColony.readFromNBT(entries.getCompoundTagAt(i));
+                index.put(entry.getID(), entry);
+            }
         }
+        return index;
     }
 
     /**
-     * Save all the Colonies
+     * Hand the index of all colonies, loaded or dormant, to the save writer
      */
-    private static void saveColonies()
+    private static void saveIndex()
     {
+        NBTTagList entries = new NBTTagList();
+        for (Colony colony : colonies.values())
+        {
+            NBTTagCompound entry = new NBTTagCompound();
+            DormantColony.of(colony).writeToNBT(entry);
+            entries.appendTag(entry);
+        }
+        for (DormantColony dormant : dormantColonies.values())
+        {
+            NBTTagCompound entry = new NBTTagCompound();
+            dormant.writeToNBT(entry);
+            entries.appendTag(entry);
+        }
+
         NBTTagCompound compound = new NBTTagCompound();
-        writeToNBT(compound);
+        compound.setTag(TAG_COLONIES, entries);
+        saveWriter.submit(new File(getSaveDirectory(), FILENAME_INDEX), compound, () -> {});
+        indexNeedsSave = false;
+    }
+
+    /**
+     * Load a Colony from its snapshot and the journal written after it.
+     * A replayed journal is compacted by saving the colony again, which happens in the background.
+     *
+     * @param saveDir   directory of the save files
+     * @param id        ID of the colony
+     * @param data      the colony snapshot
+     * @return          the loaded colony
+     */
+    private static Colony loadColonyWithJournal(File saveDir, int id, NBTTagCompound data)
+    {
+        int generation = Colony.getJournalGeneration(data);
+        int lastGeneration = ColonyJournal.getLastGeneration(saveDir, id);
+
+        boolean hasJournal = lastGeneration >= generation;
+        if (hasJournal)
+        {
+            List<NBTTagCompound> records = ColonyJournal.read(saveDir, id, generation);
+            for (NBTTagCompound record : records)
+            {
+                Colony.applyJournalRecord(data, record);
+            }
+            Log.logger.info(String.format("Colony %d - replayed %d journal records", id, records.size()));
+        }
+
+        Colony colony = Colony.loadColony(data);
+        if (hasJournal)
+        {
+            colony.requestSave();
+        }
+
+        //  Never append to a file which may end with an interrupted record
+        colony.setJournal(new ColonyJournal(saveDir, id, Math.max(generation, lastGeneration + 1)));
+        addLoadedColony(colony);
+        return colony;
+    }
+
+    /**
+     * Hand a snapshot of a Colony to the save writer, and start a new journal generation.
+     * The journal generations the snapshot replaces are deleted once it is written.
+     *
+     * @param colony    Colony to save
+     */
+    private static void saveColony(Colony colony)
+    {
+        File saveDir = getSaveDirectory();
+        int id = colony.getID();
+        int generation = colony.getJournal().roll();
 
-        File file = getSaveLocation();
-        saveNBTToPath(file, compound);
+        saveWriter.submit(getColonySaveLocation(id), colony.createSaveSnapshot(generation),
+                () -> ColonyJournal.deleteBefore(saveDir, id, generation));
 
-        saveNeeded = false;
+        //  Keeps the owner in the index up to date
+        indexNeedsSave = true;
     }
 
     /**
-     * Specify that colonies should be saved.
+     * Hand snapshots of Colonies to the save writer.
+     * Only the snapshot is taken on the calling thread, compressing and writing happens in the background.
+     * Changes between snapshots are in the journal, so snapshots are only taken for structural changes, when the
+     * journal grows large, or on a world save when the last snapshot is old.
+     *
+     * @param isWorldSave   true when called for a world save, which also syncs the journals to disk
+     */
+    private static void saveColonies(boolean isWorldSave)
+    {
+        for (Colony colony : colonies.values())
+        {
+            ColonyJournal journal = colony.getJournal();
+            if (isWorldSave)
+            {
+                colony.writeAllChangesToJournal();
+            }
+
+            if (colony.isSaveUrgent() || journal.getSize() > JOURNAL_COMPACT_SIZE
+                  || (isWorldSave && journal.getSize() > 0 && journal.getAgeMillis() > SNAPSHOT_MAX_AGE_MILLIS))
+            {
+                saveColony(colony);
+            }
+            else if (isWorldSave)
+            {
+                journal.sync();
+            }
+        }
+
+        if (indexNeedsSave)
+        {
+            saveIndex();
+        }
+    }
+
+    /**
+     * Save every Colony and wait until all files are written.
      */
-    public static void markDirty()
+    private static void saveAllColoniesAndWait()
     {
-        saveNeeded = true;
+        for (Colony colony : colonies.values())
+        {
+            saveColony(colony);
+            colony.getJournal().close();
+        }
+        saveIndex();
+        saveWriter.flush();
     }
 
     /**
@@ -554,12 +1142,7 @@ public final class ColonyManager
         {
             if (numWorldsLoaded == 0)
             {
-                File file = getSaveLocation();
-                NBTTagCompound data = loadNBTFromPath(file);
-                if (data != null)
-                {
-                    readFromNBT(data);
-                }
+                loadColonies();
             }
             ++numWorldsLoaded;
 
@@ -572,7 +1155,7 @@ public final class ColonyManager
                 }
             }
 
-            world.addWorldAccess(new ColonyManagerWorldAccess());
+            world.addWorldAccess(new ColonyManagerWorldAccess(world));
         }
     }
 
@@ -586,7 +1169,7 @@ public final class ColonyManager
         //We save when the first dimension is saved.
         if (!world.isRemote && world.provider.getDimensionId() == 0)
         {
-            saveColonies();
+            saveColonies(true);
         }
     }
 
@@ -612,8 +1195,17 @@ public final class ColonyManager
             --numWorldsLoaded;
             if (numWorldsLoaded == 0)
             {
+                saveAllColoniesAndWait();
+                PathCache.clear();
                 colonies.clear();
                 coloniesByWorld.clear();
+                tickScheduler.clear();
+                dormantColonies.clear();
+                colonyIndex.clear();
+                subscriberTracker.clear();
+                dormantColonyIndex.clear();
+                buildingsByWorld.clear();
+                pendingWakeUps.clear();
             }
         }
     }
@@ -635,7 +1227,9 @@ public final class ColonyManager
             colonyViews.put(colonyId, view);
         }
 
-        return view.handleColonyViewMessage(colonyData, isNewSubscription);
+        IMessage response = view.handleColonyViewMessage(colonyData, isNewSubscription);
+        colonyViewIndex.add(colonyId, view.getDimensionId(), view.getCenter(), view);
+        return response;
     }
 
     /**
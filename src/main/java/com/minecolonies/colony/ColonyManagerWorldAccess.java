@@ -5,16 +5,30 @@ import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.BlockPos;
 import net.minecraft.world.IWorldAccess;
+import net.minecraft.world.World;
 
 /**
  * Allows us to respond to entity addition and removal events.
  */
 public class ColonyManagerWorldAccess implements IWorldAccess
 {
+    private final World world;
+
+    /**
+     * Create the world access for a world.
+     *
+     * @param world the world this access is added to
+     */
+    public ColonyManagerWorldAccess(World world)
+    {
+        this.world = world;
+    }
+
     @Override
     public void markBlockForUpdate(BlockPos pos)
     {
-        // We don't care about this.
+        //  Called for every block change which is sent to clients
+        ColonyManager.onBlockChanged(world, pos);
     }
 
     @Override
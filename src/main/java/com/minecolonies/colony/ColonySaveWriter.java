@@ -0,0 +1,144 @@
+package com.minecolonies.colony;
+
+import com.minecolonies.util.Log;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes colony snapshots to disk on a background thread.
+ * <p>
+ * The server thread hands over an NBT snapshot which it does not touch again. Snapshots waiting for the same file are
+ * coalesced, only the most recent one is written.
+ * <p>
+ * A snapshot can carry an action to run once it is on disk, such as dropping the journal it replaces.
+ */
+final class ColonySaveWriter
+{
+    private final ReentrantLock lock    = new ReentrantLock();
+    private final Condition     changed = lock.newCondition();
+
+    //  Guarded by lock
+    private final Map<File, PendingWrite>     pending = new LinkedHashMap<>();
+    private       boolean                   writing = false;
+    private       Thread                    thread  = null;
+
+    /**
+     * Queue a snapshot to be written to a file, replacing a snapshot for the same file which is still waiting.
+     *
+     * @param file         destination file.
+     * @param snapshot     compound which is no longer modified by the caller.
+     * @param afterWritten action run on the writer thread after the snapshot was written successfully.
+     */
+    void submit(File file, NBTTagCompound snapshot, Runnable afterWritten)
+    {
+        lock.lock();
+        try
+        {
+            pending.put(file, new PendingWrite(snapshot, afterWritten));
+
+            if (thread == null)
+            {
+                thread = new Thread(this::writerLoop, "Minecolonies Save Writer");
+                thread.setDaemon(true);
+                thread.start();
+            }
+            changed.signalAll();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Block until every queued snapshot has been written.
+     * Used when the server stops, so no colony data is lost.
+     */
+    void flush()
+    {
+        lock.lock();
+        try
+        {
+            while (writing || !pending.isEmpty())
+            {
+                changed.awaitUninterruptibly();
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private void writerLoop()
+    {
+        while (true)
+        {
+            File file;
+            PendingWrite write;
+
+            lock.lock();
+            try
+            {
+                writing = false;
+                changed.signalAll();
+
+                while (pending.isEmpty())
+                {
+                    changed.awaitUninterruptibly();
+                }
+
+                Iterator<Map.Entry<File, PendingWrite>> it = pending.entrySet().iterator();
+                Map.Entry<File, PendingWrite> next = it.next();
+                it.remove();
+
+                file = next.getKey();
+                write = next.getValue();
+                writing = true;
+            }
+            finally
+            {
+                lock.unlock();
+            }
+
+            write(file, write);
+        }
+    }
+
+    private static void write(File file, PendingWrite write)
+    {
+        try
+        {
+            file.getParentFile().mkdirs();
+            CompressedStreamTools.safeWrite(write.snapshot, file);
+            write.afterWritten.run();
+        }
+        catch (IOException | RuntimeException exception)
+        {
+            Log.logger.error("Exception when saving " + file, exception);
+        }
+    }
+
+    /**
+     * A snapshot waiting to be written.
+     */
+    private static final class PendingWrite
+    {
+        private final NBTTagCompound snapshot;
+        private final Runnable       afterWritten;
+
+        PendingWrite(NBTTagCompound snapshot, Runnable afterWritten)
+        {
+            this.snapshot = snapshot;
+            this.afterWritten = afterWritten;
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.minecolonies.colony;
+
+import com.minecolonies.configuration.Configurations;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.ChunkCoordIntPair;
+
+import java.util.*;
+
+/**
+ * Per-dimension grid of colony areas, replacing the linear scans over all colonies.
+ * <p>
+ * Each colony is listed in every chunk its working range touches, so the colony containing a position is found by
+ * looking up a single chunk. For closest colony queries the colony centers are also bucketed in a coarse grid, which
+ * is searched in rings around the position.
+ *
+ * @param <T> colony type stored in the index.
+ */
+final class ColonySpatialIndex<T>
+{
+    //  Size of a center grid cell, as a shift of the block coordinate
+    private static final int CENTER_CELL_SHIFT = 8;
+    private static final int CENTER_CELL_SIZE  = 1 << CENTER_CELL_SHIFT;
+
+    //  Give up on the ring search and scan the dimension once this many cells per colony have been visited
+    private static final int MAX_CELLS_PER_ENTRY = 16;
+
+    private final Map<Integer, Entry<T>>       entries            = new HashMap<>();
+    private final Map<Long, List<Entry<T>>>    entriesByChunk     = new HashMap<>();
+    private final Map<Long, List<Entry<T>>>    entriesByCell      = new HashMap<>();
+    private final Map<Integer, List<Entry<T>>> entriesByDimension = new HashMap<>();
+
+    /**
+     * Add a colony, replacing an existing entry with the same ID.
+     *
+     * @param id        ID of the colony.
+     * @param dimension dimension of the colony.
+     * @param center    center of the colony.
+     * @param value     the colony.
+     */
+    void add(int id, int dimension, BlockPos center, T value)
+    {
+        remove(id);
+
+        Entry<T> entry = new Entry<>(dimension, center, Configurations.workingRangeTownHall, value);
+        entries.put(id, entry);
+        addTo(entriesByDimension, dimension, entry);
+        addTo(entriesByCell, key(dimension, center.getX() >> CENTER_CELL_SHIFT, center.getZ() >> CENTER_CELL_SHIFT), entry);
+        for (long chunk : entry.getChunks())
+        {
+            addTo(entriesByChunk, chunk, entry);
+        }
+    }
+
+    /**
+     * Remove a colony.
+     *
+     * @param id ID of the colony.
+     */
+    void remove(int id)
+    {
+        Entry<T> entry = entries.remove(id);
+        if (entry == null)
+        {
+            return;
+        }
+
+        removeFrom(entriesByDimension, entry.dimension, entry);
+        removeFrom(entriesByCell, key(entry.dimension, entry.centerX >> CENTER_CELL_SHIFT, entry.centerZ >> CENTER_CELL_SHIFT), entry);
+        for (long chunk : entry.getChunks())
+        {
+            removeFrom(entriesByChunk, chunk, entry);
+        }
+    }
+
+    /**
+     * Remove all colonies.
+     */
+    void clear()
+    {
+        entries.clear();
+        entriesByChunk.clear();
+        entriesByCell.clear();
+        entriesByDimension.clear();
+    }
+
+    /**
+     * Find the colony whose working range contains a position.
+     *
+     * @param dimension dimension of the position.
+     * @param pos       the position.
+     * @return the colony, or null.
+     */
+    T getAt(int dimension, BlockPos pos)
+    {
+        List<Entry<T>> candidates = entriesByChunk.get(key(dimension, pos.getX() >> 4, pos.getZ() >> 4));
+        if (candidates == null)
+        {
+            return null;
+        }
+
+        for (Entry<T> entry : candidates)
+        {
+            if (entry.dimension == dimension && entry.getDistanceSquared(pos.getX(), pos.getZ()) <= (long) entry.range * entry.range)
+            {
+                return entry.value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find the colony whose center is closest to a position.
+     *
+     * @param dimension dimension of the position.
+     * @param pos       the position.
+     * @return the colony, or null if the dimension has none.
+     */
+    T getClosest(int dimension, BlockPos pos)
+    {
+        Entry<T> closest = getClosestEntry(dimension, pos);
+        return closest == null ? null : closest.value;
+    }
+
+    /**
+     * Returns the squared distance from a position to the closest colony center, see {@link #getClosest(int, BlockPos)}.
+     *
+     * @param dimension dimension of the position.
+     * @param pos       the position.
+     * @return squared distance, or Long.MAX_VALUE if the dimension has no colonies.
+     */
+    long getClosestDistanceSquared(int dimension, BlockPos pos)
+    {
+        Entry<T> closest = getClosestEntry(dimension, pos);
+        return closest == null ? Long.MAX_VALUE : closest.getDistanceSquared(pos.getX(), pos.getZ());
+    }
+
+    /**
+     * Find the colonies whose center is within a distance of a position.
+     *
+     * @param dimension dimension of the position.
+     * @param pos       the position.
+     * @param radius    distance from the position, in blocks.
+     * @return the colonies, in no particular order.
+     */
+    List<T> getWithin(int dimension, BlockPos pos, int radius)
+    {
+        List<T> found = new ArrayList<>();
+        int x = pos.getX();
+        int z = pos.getZ();
+        for (int cellX = (x - radius) >> CENTER_CELL_SHIFT; cellX <= (x + radius) >> CENTER_CELL_SHIFT; ++cellX)
+        {
+            for (int cellZ = (z - radius) >> CENTER_CELL_SHIFT; cellZ <= (z + radius) >> CENTER_CELL_SHIFT; ++cellZ)
+            {
+                List<Entry<T>> cell = entriesByCell.get(key(dimension, cellX, cellZ));
+                if (cell == null)
+                {
+                    continue;
+                }
+
+                for (Entry<T> entry : cell)
+                {
+                    if (entry.dimension == dimension && entry.getDistanceSquared(x, z) <= (long) radius * radius)
+                    {
+                        found.add(entry.value);
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private Entry<T> getClosestEntry(int dimension, BlockPos pos)
+    {
+        List<Entry<T>> inDimension = entriesByDimension.get(dimension);
+        if (inDimension == null)
+        {
+            return null;
+        }
+
+        int x = pos.getX();
+        int z = pos.getZ();
+        int cellX = x >> CENTER_CELL_SHIFT;
+        int cellZ = z >> CENTER_CELL_SHIFT;
+        int maxCells = inDimension.size() * MAX_CELLS_PER_ENTRY;
+
+        Entry<T> best = null;
+        long bestDist = Long.MAX_VALUE;
+        int visited = 0;
+
+        for (int ring = 0; visited <= maxCells; ++ring)
+        {
+            //  Every center in this or a later ring is at least this far away
+            long minDist = (long) Math.max(0, ring - 1) * CENTER_CELL_SIZE;
+            if (best != null && bestDist <= minDist * minDist)
+            {
+                return best;
+            }
+
+            for (int dx = -ring; dx <= ring; ++dx)
+            {
+                for (int dz = -ring; dz <= ring; ++dz)
+                {
+                    if (Math.abs(dx) != ring && Math.abs(dz) != ring)
+                    {
+                        continue;
+                    }
+
+                    ++visited;
+                    List<Entry<T>> cell = entriesByCell.get(key(dimension, cellX + dx, cellZ + dz));
+                    if (cell == null)
+                    {
+                        continue;
+                    }
+
+                    for (Entry<T> entry : cell)
+                    {
+                        long dist = entry.getDistanceSquared(x, z);
+                        if (entry.dimension == dimension && dist < bestDist)
+                        {
+                            best = entry;
+                            bestDist = dist;
+                        }
+                    }
+                }
+            }
+        }
+
+        //  Colonies are far apart compared to their number, scanning is cheaper than more rings
+        for (Entry<T> entry : inDimension)
+        {
+            long dist = entry.getDistanceSquared(x, z);
+            if (dist < bestDist)
+            {
+                best = entry;
+                bestDist = dist;
+            }
+        }
+        return best;
+    }
+
+    private static <K, T> void addTo(Map<K, List<Entry<T>>> map, K key, Entry<T> entry)
+    {
+        List<Entry<T>> list = map.get(key);
+        if (list == null)
+        {
+            list = new ArrayList<>();
+            map.put(key, list);
+        }
+        list.add(entry);
+    }
+
+    private static <K, T> void removeFrom(Map<K, List<Entry<T>>> map, K key, Entry<T> entry)
+    {
+        List<Entry<T>> list = map.get(key);
+        if (list != null)
+        {
+            list.remove(entry);
+            if (list.isEmpty())
+            {
+                map.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Grid key of a cell. Keys of different dimensions can collide, so entries found by key are checked for their
+     * dimension.
+     */
+    private static long key(int dimension, int x, int z)
+    {
+        return ChunkCoordIntPair.chunkXZ2Int(x, z) ^ ((long) dimension << 32);
+    }
+
+    /**
+     * A colony in the index. The range is remembered, so removing finds the same chunks even if the configuration
+     * changed in between.
+     */
+    private static final class Entry<T>
+    {
+        private final int dimension;
+        private final int centerX;
+        private final int centerZ;
+        private final int range;
+        private final T   value;
+
+        Entry(int dimension, BlockPos center, int range, T value)
+        {
+            this.dimension = dimension;
+            this.centerX = center.getX();
+            this.centerZ = center.getZ();
+            this.range = range;
+            this.value = value;
+        }
+
+        long getDistanceSquared(int x, int z)
+        {
+            long dx = x - centerX;
+            long dz = z - centerZ;
+            return dx * dx + dz * dz;
+        }
+
+        /**
+         * @return keys of the chunks touched by the working range.
+         */
+        List<Long> getChunks()
+        {
+            List<Long> chunks = new ArrayList<>();
+            int minX = (centerX - range) >> 4;
+            int maxX = (centerX + range) >> 4;
+            int minZ = (centerZ - range) >> 4;
+            int maxZ = (centerZ + range) >> 4;
+            for (int chunkX = minX; chunkX <= maxX; ++chunkX)
+            {
+                for (int chunkZ = minZ; chunkZ <= maxZ; ++chunkZ)
+                {
+                    //  Closest point of the chunk to the center
+                    int nearX = Math.max(chunkX << 4, Math.min(centerX, (chunkX << 4) + 15));
+                    int nearZ = Math.max(chunkZ << 4, Math.min(centerZ, (chunkZ << 4) + 15));
+                    if (getDistanceSquared(nearX, nearZ) <= (long) range * range)
+                    {
+                        chunks.add(key(dimension, chunkX, chunkZ));
+                    }
+                }
+            }
+            return chunks;
+        }
+    }
+}
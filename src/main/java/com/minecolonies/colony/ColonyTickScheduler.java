@@ -0,0 +1,132 @@
+package com.minecolonies.colony;
+
+import com.minecolonies.configuration.Configurations;
+import com.minecolonies.util.TickProfiler;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spreads the world ticks of colonies over several ticks when ticking all of them would take too long.
+ * <p>
+ * At the start of a world tick colonies are ticked in round robin order until the configured time budget is used up,
+ * counting the expected cost of their end phase. The colonies which did not fit are carried over and are the first to
+ * be ticked at the next world tick. The end phase ticks exactly the colonies whose start phase ran.
+ * <p>
+ * Colonies skipped this way do not lose periodic work, see {@link StaggeredTimer}.
+ */
+final class ColonyTickScheduler
+{
+    //  Weight of the latest measurement in the average end phase cost, as a shift
+    private static final int AVERAGE_SHIFT = 3;
+
+    private final Map<Integer, DimensionState> dimensions = new HashMap<>();
+
+    /**
+     * Tick the colonies of the world of the event.
+     *
+     * @param event         {@link TickEvent.WorldTickEvent}
+     * @param worldColonies colonies in the world of the event, may be null.
+     */
+    void onWorldTick(TickEvent.WorldTickEvent event, List<Colony> worldColonies)
+    {
+        DimensionState state = dimensions.get(event.world.provider.getDimensionId());
+        if (state == null)
+        {
+            state = new DimensionState();
+            dimensions.put(event.world.provider.getDimensionId(), state);
+        }
+
+        if (event.phase == TickEvent.Phase.START)
+        {
+            tickStart(event, worldColonies, state);
+        }
+        else
+        {
+            tickEnd(event, state);
+        }
+    }
+
+    private static void tickStart(TickEvent.WorldTickEvent event, List<Colony> worldColonies, DimensionState state)
+    {
+        state.ticked.clear();
+        if (worldColonies == null || worldColonies.isEmpty())
+        {
+            return;
+        }
+
+        long budget = TimeUnit.MICROSECONDS.toNanos(Configurations.colonyTickBudget);
+        long start = System.nanoTime();
+        int count = worldColonies.size();
+
+        for (int i = 0; i < count; ++i)
+        {
+            //  Always tick at least one colony, so a single expensive colony still makes progress
+            if (budget > 0 && i > 0 && System.nanoTime() - start + i * state.averageEndNanos >= budget)
+            {
+                break;
+            }
+
+            state.cursor %= count;
+            Colony colony = worldColonies.get(state.cursor);
+            ++state.cursor;
+
+            tick(colony, event);
+            state.ticked.add(colony);
+        }
+    }
+
+    private static void tickEnd(TickEvent.WorldTickEvent event, DimensionState state)
+    {
+        if (state.ticked.isEmpty())
+        {
+            return;
+        }
+
+        long start = System.nanoTime();
+        for (Colony colony : state.ticked)
+        {
+            tick(colony, event);
+        }
+
+        long perColony = (System.nanoTime() - start) / state.ticked.size();
+        state.averageEndNanos += (perColony - state.averageEndNanos) >> AVERAGE_SHIFT;
+        state.ticked.clear();
+    }
+
+    private static void tick(Colony colony, TickEvent.WorldTickEvent event)
+    {
+        TickProfiler.Section section = colony.getProfilerSection();
+        long start = section.begin();
+        try
+        {
+            colony.onWorldTick(event);
+        }
+        finally
+        {
+            section.end(start);
+        }
+    }
+
+    /**
+     * Forget all colonies, called when the last world is unloaded.
+     */
+    void clear()
+    {
+        dimensions.clear();
+    }
+
+    /**
+     * Scheduling state of the colonies of one dimension.
+     */
+    private static final class DimensionState
+    {
+        private final List<Colony> ticked          = new ArrayList<>();
+        private       int          cursor          = 0;
+        private       long         averageEndNanos = 0;
+    }
+}
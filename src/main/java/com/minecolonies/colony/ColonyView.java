@@ -78,6 +78,16 @@ public final class ColonyView implements IColony
         return id;
     }
 
+    /**
+     * Returns the center of the colony
+     *
+     * @return      Chunk Coordinates of the center of the colony
+     */
+    public BlockPos getCenter()
+    {
+        return center;
+    }
+
     /**
      * Returns the dimension ID of the view
      *
@@ -290,7 +300,7 @@ public final class ColonyView implements IColony
 
     /**
      * Update a ColonyView's citizens given a network data ColonyView update packet
-     * This uses a full-replacement - citizens do not get updated and are instead overwritten
+     * The packet only contains the changed fields, which are applied to the existing view of the citizen
      *
      * @param id        ID of the citizen
      * @param buf       Network data
@@ -298,11 +308,18 @@ public final class ColonyView implements IColony
      */
     public IMessage handleColonyViewCitizensMessage(int id, ByteBuf buf)
     {
-        CitizenDataView citizen = CitizenData.createCitizenDataView(id, buf);
+        CitizenDataView existing = citizens.get(id);
+        CitizenDataView citizen = existing != null
+                                  ? CitizenData.updateCitizenDataView(existing, buf)
+                                  : CitizenData.createCitizenDataView(id, buf);
         if (citizen != null)
         {
             citizens.put(citizen.getID(), citizen);
         }
+        else
+        {
+            citizens.remove(id);
+        }
 
         return null;
     }
@@ -0,0 +1,115 @@
+package com.minecolonies.colony;
+
+import com.minecolonies.util.BlockPosUtil;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.BlockPos;
+
+import java.util.UUID;
+
+/**
+ * A colony which is not loaded. Only the data needed to decide when to load it is kept in memory,
+ * the colony itself stays in its save file and journal.
+ */
+final class DormantColony
+{
+    private static final String TAG_ID        = "id";
+    private static final String TAG_DIMENSION = "dimension";
+    private static final String TAG_CENTER    = "center";
+    private static final String TAG_OWNER     = "owner";
+
+    private final int      id;
+    private final int      dimensionId;
+    private final BlockPos center;
+    private final UUID     owner;
+
+    private DormantColony(int id, int dimensionId, BlockPos center, UUID owner)
+    {
+        this.id = id;
+        this.dimensionId = dimensionId;
+        this.center = center;
+        this.owner = owner;
+    }
+
+    /**
+     * Create the index entry of a loaded colony.
+     *
+     * @param colony the colony.
+     * @return the index entry.
+     */
+    static DormantColony of(Colony colony)
+    {
+        return new DormantColony(colony.getID(), colony.getDimensionId(), colony.getCenter(), colony.getPermissions().getOwner());
+    }
+
+    /**
+     * Read an index entry.
+     *
+     * @param compound the saved entry.
+     * @return the index entry.
+     */
+    static DormantColony readFromNBT(NBTTagCompound compound)
+    {
+        UUID owner = compound.hasKey(TAG_OWNER) ? UUID.fromString(compound.getString(TAG_OWNER)) : null;
+        return new DormantColony(compound.getInteger(TAG_ID),
+                compound.getInteger(TAG_DIMENSION),
+                BlockPosUtil.readFromNBT(compound, TAG_CENTER),
+                owner);
+    }
+
+    /**
+     * Write the index entry.
+     *
+     * @param compound the compound to write to.
+     */
+    void writeToNBT(NBTTagCompound compound)
+    {
+        compound.setInteger(TAG_ID, id);
+        compound.setInteger(TAG_DIMENSION, dimensionId);
+        BlockPosUtil.writeToNBT(compound, TAG_CENTER, center);
+        if (owner != null)
+        {
+            compound.setString(TAG_OWNER, owner.toString());
+        }
+    }
+
+    int getID()
+    {
+        return id;
+    }
+
+    int getDimensionId()
+    {
+        return dimensionId;
+    }
+
+    BlockPos getCenter()
+    {
+        return center;
+    }
+
+    UUID getOwner()
+    {
+        return owner;
+    }
+
+    /**
+     * Checks if a chunk is close enough that citizens or buildings of the colony may be in it.
+     *
+     * @param dimension dimension of the chunk.
+     * @param chunkX    chunk x coordinate.
+     * @param chunkZ    chunk z coordinate.
+     * @return true if the colony has to be loaded with this chunk.
+     */
+    boolean isChunkInRange(int dimension, int chunkX, int chunkZ)
+    {
+        if (dimension != dimensionId)
+        {
+            return false;
+        }
+
+        int range = Colony.getActiveRange() + 8;
+        int dx = (chunkX << 4) + 8 - center.getX();
+        int dz = (chunkZ << 4) + 8 - center.getZ();
+        return (long) dx * dx + (long) dz * dz <= (long) range * range;
+    }
+}
@@ -0,0 +1,61 @@
+package com.minecolonies.colony;
+
+/**
+ * Decides when a periodic colony task runs.
+ * <p>
+ * Instead of every colony running the task on the same {@code worldTime % interval == 0} tick, each timer runs at its
+ * own offset within the interval. A run which is missed because the colony was not ticked at its turn is done on the
+ * next tick the colony gets, instead of waiting for the next interval.
+ */
+final class StaggeredTimer
+{
+    private final int  seed;
+    private       long next = -1;
+
+    /**
+     * Create a timer.
+     *
+     * @param seed value the offset within the interval is derived from, such as the colony ID.
+     */
+    StaggeredTimer(int seed)
+    {
+        this.seed = seed;
+    }
+
+    /**
+     * Checks if the task is due, and if so, schedules the next run.
+     *
+     * @param worldTime current world time.
+     * @param interval  ticks between two runs, may change between calls.
+     * @return true if the task should run now.
+     */
+    boolean isDue(long worldTime, int interval)
+    {
+        if (interval <= 1)
+        {
+            return true;
+        }
+
+        //  Not scheduled yet, or the world time was set back
+        if (next < 0 || next > worldTime + interval)
+        {
+            next = getNextSlot(worldTime, interval);
+        }
+
+        if (worldTime < next)
+        {
+            return false;
+        }
+
+        next = getNextSlot(worldTime + 1, interval);
+        return true;
+    }
+
+    /**
+     * @return the first tick at or after time which is at the timer's offset.
+     */
+    private long getNextSlot(long time, int interval)
+    {
+        return time + Math.floorMod(seed - time, (long) interval);
+    }
+}
@@ -0,0 +1,171 @@
+package com.minecolonies.colony;
+
+import com.minecolonies.configuration.Configurations;
+import com.minecolonies.util.MathUtils;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.util.BlockPos;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the subscribers of the loaded colonies up to date, instead of every colony checking every player each tick.
+ * <p>
+ * A player is a subscriber of a colony if their rank makes them one, or if they are close to it: players subscribe
+ * when they come within 16 blocks of the edge of the colony, and remain subscribers while they stay within double the
+ * colony's radius. Distances only change meaningfully when a player moves to another chunk, so a player is only
+ * checked against the colonies around them when they cross a chunk border or change dimension, and against every
+ * colony when they log in or respawn.
+ * Ranks are checked again for every online player when the permissions of a colony change.
+ */
+final class SubscriberTracker
+{
+    //  Distance from the edge of the colony at which players subscribe
+    private static final int SUBSCRIBE_MARGIN = 16;
+
+    private final ColonySpatialIndex<Colony>       colonyIndex;
+    private final Map<EntityPlayerMP, Set<Colony>> coloniesByPlayer = new HashMap<>();
+
+    /**
+     * @param colonyIndex index of the loaded colonies, used to find the colonies around a player.
+     */
+    SubscriberTracker(ColonySpatialIndex<Colony> colonyIndex)
+    {
+        this.colonyIndex = colonyIndex;
+    }
+
+    /**
+     * Check a player against the colonies around them, and the colonies they are subscribed to.
+     * Called when the player crosses a chunk border or changes dimension.
+     *
+     * @param player the player.
+     */
+    void onPlayerMoved(EntityPlayerMP player)
+    {
+        Set<Colony> candidates = new HashSet<>(colonyIndex.getWithin(player.dimension, new BlockPos(player), Configurations.workingRangeTownHall * 2));
+        Set<Colony> subscribed = coloniesByPlayer.get(player);
+        if (subscribed != null)
+        {
+            candidates.addAll(subscribed);
+        }
+
+        for (Colony colony : candidates)
+        {
+            update(player, colony);
+        }
+    }
+
+    /**
+     * Check a player against every loaded colony, as their rank may subscribe them to colonies anywhere.
+     * Called when the player logs in or respawns, a respawned player replaces the entity which died.
+     *
+     * @param player   the player.
+     * @param colonies loaded colonies.
+     */
+    void onPlayerJoined(EntityPlayerMP player, Collection<Colony> colonies)
+    {
+        UUID id = player.getGameProfile().getId();
+        coloniesByPlayer.keySet()
+                .stream()
+                .filter(other -> other != player && id.equals(other.getGameProfile().getId()))
+                .collect(Collectors.toList())
+                .forEach(this::onPlayerLeft);
+
+        for (Colony colony : colonies)
+        {
+            update(player, colony);
+        }
+    }
+
+    /**
+     * Unsubscribe a player from every colony.
+     * Called when the player logs out.
+     *
+     * @param player the player.
+     */
+    void onPlayerLeft(EntityPlayerMP player)
+    {
+        Set<Colony> subscribed = coloniesByPlayer.remove(player);
+        if (subscribed != null)
+        {
+            subscribed.forEach(colony -> colony.removeSubscriber(player));
+        }
+    }
+
+    /**
+     * Check every online player against a colony.
+     * Called when the colony is loaded, and when its permissions change.
+     *
+     * @param colony  the colony.
+     * @param players online players.
+     */
+    void onColonyChanged(Colony colony, Collection<EntityPlayerMP> players)
+    {
+        for (EntityPlayerMP player : players)
+        {
+            update(player, colony);
+        }
+    }
+
+    /**
+     * Forget a colony which is unloaded.
+     *
+     * @param colony the colony.
+     */
+    void onColonyRemoved(Colony colony)
+    {
+        for (Iterator<Set<Colony>> it = coloniesByPlayer.values().iterator(); it.hasNext(); )
+        {
+            Set<Colony> subscribed = it.next();
+            if (subscribed.remove(colony) && subscribed.isEmpty())
+            {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Forget all players and colonies.
+     */
+    void clear()
+    {
+        coloniesByPlayer.clear();
+    }
+
+    private void update(EntityPlayerMP player, Colony colony)
+    {
+        boolean wasSubscriber = colony.isSubscriber(player);
+        boolean isSubscriber = colony.getPermissions().isSubscriber(player) || isNear(player, colony, wasSubscriber);
+        if (isSubscriber == wasSubscriber)
+        {
+            return;
+        }
+
+        if (isSubscriber)
+        {
+            colony.addSubscriber(player);
+            coloniesByPlayer.computeIfAbsent(player, p -> new HashSet<>()).add(colony);
+        }
+        else
+        {
+            colony.removeSubscriber(player);
+            Set<Colony> subscribed = coloniesByPlayer.get(player);
+            if (subscribed != null && subscribed.remove(colony) && subscribed.isEmpty())
+            {
+                coloniesByPlayer.remove(player);
+            }
+        }
+    }
+
+    private static boolean isNear(EntityPlayerMP player, Colony colony, boolean wasSubscriber)
+    {
+        if (colony.getWorld() == null || player.worldObj != colony.getWorld())
+        {
+            return false;
+        }
+
+        double distance = player.getDistanceSq(colony.getCenter());
+        return distance < MathUtils.square(Configurations.workingRangeTownHall + (double) SUBSCRIBE_MARGIN)
+                || (wasSubscriber && distance < MathUtils.square(Configurations.workingRangeTownHall * 2D));
+    }
+}
@@ -0,0 +1,279 @@
+package com.minecolonies.colony;
+
+import com.minecolonies.colony.jobs.AbstractJob;
+import com.minecolonies.colony.jobs.JobLumberjack;
+import com.minecolonies.configuration.Configurations;
+import com.minecolonies.entity.ai.citizen.lumberjack.Tree;
+import net.minecraft.block.Block;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.World;
+
+import java.util.*;
+
+/**
+ * The trees of a colony, shared by its lumberjacks, so they don't each have to search the area for trees.
+ * <p>
+ * Trees are found by a scanner which looks at a few columns of the colony area on every update, and by checking the
+ * chunks which load and the saplings which grow in the colony. Trees are known by the position of their base log,
+ * and checked again before they are handed out, so trees cut by players are dropped then.
+ * A lumberjack claims the tree it is going to cut, and other lumberjacks are only given unclaimed trees. A claim
+ * ends when the tree is released, or when the lumberjack no longer works on the tree.
+ */
+public class TreeRegistry
+{
+    //  Columns scanned on every update, and how many of them are kept for the colony area so loading chunks can't stall it
+    private static final int COLUMNS_PER_UPDATE      = 256;
+    private static final int AREA_COLUMNS_PER_UPDATE = 64;
+
+    //  Deepest a trunk is looked for below the top of a column
+    private static final int MAX_CANOPY_DEPTH = 32;
+
+    private static final int CHUNK_SHIFT = 4;
+    private static final int CHUNK_SIZE  = 16;
+    private static final int CHUNK_AREA  = CHUNK_SIZE * CHUNK_SIZE;
+
+    private final Colony                 colony;
+    private final Set<BlockPos>          trees         = new HashSet<>();
+    private final Map<BlockPos, Integer> claims        = new HashMap<>();
+    private final Deque<BlockPos>        pendingTrees  = new ArrayDeque<>();
+    private final Set<Long>              pendingChunks = new LinkedHashSet<>();
+
+    //  Next column of the first pending chunk to scan
+    private int chunkColumn = 0;
+
+    //  Next column of the colony area to scan, and whether the whole area has been scanned once
+    private int     scanIndex    = 0;
+    private boolean scanComplete = false;
+
+    /**
+     * @param colony the colony.
+     */
+    TreeRegistry(Colony colony)
+    {
+        this.colony = colony;
+    }
+
+    /**
+     * @return true once the whole colony area has been scanned, before that trees may be missing.
+     */
+    public boolean isScanComplete()
+    {
+        return scanComplete;
+    }
+
+    /**
+     * Scan the next columns of the colony area, and the chunks and saplings which are waiting to be checked.
+     *
+     * @param world the world of the colony.
+     */
+    void update(World world)
+    {
+        while (!pendingTrees.isEmpty())
+        {
+            BlockPos pos = pendingTrees.poll();
+            if (world.isBlockLoaded(pos))
+            {
+                scanColumn(world, pos.getX(), pos.getZ());
+            }
+        }
+
+        //  A chunk may take several updates, it stays pending until all its columns are scanned
+        int columns = 0;
+        for (Iterator<Long> it = pendingChunks.iterator(); it.hasNext() && columns < COLUMNS_PER_UPDATE - AREA_COLUMNS_PER_UPDATE; )
+        {
+            long chunk = it.next();
+            int x = (int) chunk << CHUNK_SHIFT;
+            int z = (int) (chunk >> 32) << CHUNK_SHIFT;
+            for (; chunkColumn < CHUNK_AREA && columns < COLUMNS_PER_UPDATE - AREA_COLUMNS_PER_UPDATE; ++chunkColumn, ++columns)
+            {
+                scanColumnInColony(world, x + chunkColumn % CHUNK_SIZE, z + chunkColumn / CHUNK_SIZE);
+            }
+
+            if (chunkColumn == CHUNK_AREA)
+            {
+                it.remove();
+                chunkColumn = 0;
+            }
+        }
+
+        int range = Configurations.workingRangeTownHall;
+        int side = range * 2 + 1;
+        BlockPos center = colony.getCenter();
+        for (; columns < COLUMNS_PER_UPDATE; ++columns)
+        {
+            scanColumnInColony(world, center.getX() - range + scanIndex % side, center.getZ() - range + scanIndex / side);
+
+            ++scanIndex;
+            if (scanIndex >= side * side)
+            {
+                scanIndex = 0;
+                scanComplete = true;
+            }
+        }
+    }
+
+    /**
+     * Check a chunk which loaded in the colony for trees. A chunk which is already waiting is not queued again.
+     *
+     * @param chunkX chunk x coordinate.
+     * @param chunkZ chunk z coordinate.
+     */
+    void onChunkLoad(int chunkX, int chunkZ)
+    {
+        pendingChunks.add(ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ));
+    }
+
+    /**
+     * Check a sapling which is growing into a tree in the colony.
+     *
+     * @param pos position of the sapling.
+     */
+    void onSaplingGrow(BlockPos pos)
+    {
+        pendingTrees.add(pos);
+    }
+
+    /**
+     * Claim the unclaimed tree closest to a position.
+     *
+     * @param world     the world of the colony.
+     * @param from      the position, usually the hut of the lumberjack.
+     * @param range     the largest distance of the tree.
+     * @param citizenId id of the lumberjack claiming the tree.
+     * @return the base log of the tree, or null if there is no unclaimed tree in range.
+     */
+    public BlockPos claimNearest(World world, BlockPos from, int range, int citizenId)
+    {
+        double maxDistance = (double) range * range;
+        while (true)
+        {
+            BlockPos nearest = null;
+            double nearestDistance = maxDistance;
+            for (BlockPos tree : trees)
+            {
+                double distance = tree.distanceSq(from);
+                if (distance <= nearestDistance && world.isBlockLoaded(tree) && !isClaimedByOther(tree, citizenId))
+                {
+                    nearest = tree;
+                    nearestDistance = distance;
+                }
+            }
+
+            if (nearest == null)
+            {
+                return null;
+            }
+            if (Tree.checkTree(world, nearest))
+            {
+                claims.put(nearest, citizenId);
+                return nearest;
+            }
+            trees.remove(nearest);
+        }
+    }
+
+    /**
+     * Claim a tree a lumberjack found by itself.
+     *
+     * @param pos       the base log of the tree.
+     * @param citizenId id of the lumberjack claiming the tree.
+     * @return false if another lumberjack claimed the tree.
+     */
+    public boolean claim(BlockPos pos, int citizenId)
+    {
+        if (isClaimedByOther(pos, citizenId))
+        {
+            return false;
+        }
+
+        trees.add(pos);
+        claims.put(pos, citizenId);
+        return true;
+    }
+
+    /**
+     * Release a tree which was cut.
+     *
+     * @param pos the base log of the tree.
+     */
+    public void release(BlockPos pos)
+    {
+        claims.remove(pos);
+        trees.remove(pos);
+    }
+
+    private boolean isClaimedByOther(BlockPos pos, int citizenId)
+    {
+        Integer claimant = claims.get(pos);
+        if (claimant == null || claimant == citizenId)
+        {
+            return false;
+        }
+
+        //  The lumberjack may have been fired or died since, or moved on to another tree
+        CitizenData citizen = colony.getCitizen(claimant);
+        AbstractJob job = citizen != null ? citizen.getJob() : null;
+        if (job instanceof JobLumberjack && ((JobLumberjack) job).tree != null && pos.equals(((JobLumberjack) job).tree.getLocation()))
+        {
+            return true;
+        }
+
+        claims.remove(pos);
+        return false;
+    }
+
+    private void scanColumnInColony(World world, int x, int z)
+    {
+        BlockPos column = new BlockPos(x, 0, z);
+        if (world.isBlockLoaded(column) && colony.isCoordInColony(world, column))
+        {
+            scanColumn(world, x, z);
+        }
+    }
+
+    /**
+     * Look for a trunk below the leaves at the top of a column.
+     */
+    private void scanColumn(World world, int x, int z)
+    {
+        BlockPos top = world.getHeight(new BlockPos(x, 0, z));
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int y = top.getY(); y >= 0 && y > top.getY() - MAX_CANOPY_DEPTH; --y)
+        {
+            pos.set(x, y, z);
+            Block block = world.getBlockState(pos).getBlock();
+            if (block.isWood(world, pos))
+            {
+                addTree(world, Tree.getBaseLog(world, pos));
+                return;
+            }
+            if (!block.isAir(world, pos) && !block.isLeaves(world, pos))
+            {
+                return;
+            }
+        }
+    }
+
+    private void addTree(World world, BlockPos base)
+    {
+        if (trees.contains(base) || !Tree.checkTree(world, base))
+        {
+            return;
+        }
+
+        //  Trees grown from 2x2 saplings have several base logs, one of them is enough
+        for (int dx = -1; dx <= 1; ++dx)
+        {
+            for (int dz = -1; dz <= 1; ++dz)
+            {
+                if (trees.contains(base.add(dx, 0, dz)))
+                {
+                    return;
+                }
+            }
+        }
+
+        trees.add(base);
+    }
+}
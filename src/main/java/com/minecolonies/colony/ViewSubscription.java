@@ -0,0 +1,56 @@
+package com.minecolonies.colony;
+
+import net.minecraft.util.BlockPos;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Which versions of the citizen and building views of a colony a subscribed player has been sent, so it only gets
+ * what changed since. Messages to a player arrive in the order they were sent, so a sent version counts as received.
+ */
+final class ViewSubscription
+{
+    private final Map<Integer, Integer>  citizenVersions  = new HashMap<>();
+    private final Map<BlockPos, Integer> buildingVersions = new HashMap<>();
+
+    /**
+     * @param citizenId ID of the citizen.
+     * @return last view version sent of the citizen, or -1 if none was sent.
+     */
+    int getCitizenVersion(int citizenId)
+    {
+        Integer version = citizenVersions.get(citizenId);
+        return version == null ? -1 : version;
+    }
+
+    void setCitizenVersion(int citizenId, int version)
+    {
+        citizenVersions.put(citizenId, version);
+    }
+
+    void removeCitizen(int citizenId)
+    {
+        citizenVersions.remove(citizenId);
+    }
+
+    /**
+     * @param buildingId ID of the building.
+     * @return last view version sent of the building, or -1 if none was sent.
+     */
+    int getBuildingVersion(BlockPos buildingId)
+    {
+        Integer version = buildingVersions.get(buildingId);
+        return version == null ? -1 : version;
+    }
+
+    void setBuildingVersion(BlockPos buildingId, int version)
+    {
+        buildingVersions.put(buildingId, version);
+    }
+
+    void removeBuilding(BlockPos buildingId)
+    {
+        buildingVersions.remove(buildingId);
+    }
+}
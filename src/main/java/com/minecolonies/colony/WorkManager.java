@@ -22,6 +22,8 @@ public class WorkManager
 
     private Map<Integer, AbstractWorkOrder> workOrders      = new HashMap<>();
     private int                     topWorkOrderId = 0;
+    private boolean                 dirty          = false;
+    private StaggeredTimer          fulfillTimer   = null;
 
     private static  final   String                  TAG_WORK_ORDERS                 = "workOrders";
 
@@ -52,6 +54,7 @@ public class WorkManager
         }
 
         workOrders.put(order.getID(), order);
+        dirty = true;
     }
 
     /**
@@ -61,7 +64,10 @@ public class WorkManager
      */
     public void removeWorkOrder(int orderId)
     {
-        workOrders.remove(orderId);
+        if (workOrders.remove(orderId) != null)
+        {
+            dirty = true;
+        }
     }
 
     /**
@@ -143,7 +149,28 @@ public class WorkManager
      */
     public void clearWorkForCitizen(CitizenData citizen)
     {
-        workOrders.values().stream().filter(o -> o.isClaimedBy(citizen)).forEach(AbstractWorkOrder::clearClaimedBy);
+        workOrders.values().stream().filter(o -> o.isClaimedBy(citizen)).forEach(o -> {
+            o.clearClaimedBy();
+            dirty = true;
+        });
+    }
+
+    /**
+     * Returns if work orders were added, removed, claimed or unclaimed since the last {@link #clearDirty()}
+     *
+     * @return      True if dirty, otherwise false.
+     */
+    public boolean isDirty()
+    {
+        return dirty;
+    }
+
+    /**
+     * Marks the instance not dirty
+     */
+    public void clearDirty()
+    {
+        dirty = false;
     }
 
     /**
@@ -192,6 +219,8 @@ public class WorkManager
                 topWorkOrderId = Math.max(topWorkOrderId, o.getID());
             }
         }
+
+        dirty = false;
     }
 
     /**
@@ -211,12 +240,25 @@ public class WorkManager
                 if (!o.isValid(colony))
                 {
                     iter.remove();
+                    dirty = true;
                 }
             }
 
-            if ((event.world.getWorldTime() % WORK_ORDER_FULFILL_INCREMENT) == 0)
+            if (fulfillTimer == null)
+            {
+                //  Created on first use, the colony ID is not set yet when the work manager is constructed
+                fulfillTimer = new StaggeredTimer(colony.getID() + 3);
+            }
+
+            if (fulfillTimer.isDue(event.world.getWorldTime(), WORK_ORDER_FULFILL_INCREMENT))
             {
-                workOrders.values().stream().filter(o -> !o.isClaimed()).forEach(o -> o.attemptToFulfill(colony));
+                workOrders.values().stream().filter(o -> !o.isClaimed()).forEach(o -> {
+                    o.attemptToFulfill(colony);
+                    if (o.isClaimed())
+                    {
+                        dirty = true;
+                    }
+                });
             }
         }
     }
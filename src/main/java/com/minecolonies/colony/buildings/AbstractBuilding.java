@@ -3,7 +3,6 @@ package com.minecolonies.colony.buildings;
 import com.minecolonies.blocks.*;
 import com.minecolonies.colony.CitizenData;
 import com.minecolonies.colony.Colony;
-import com.minecolonies.colony.ColonyManager;
 import com.minecolonies.colony.ColonyView;
 import com.minecolonies.colony.materials.MaterialStore;
 import com.minecolonies.colony.materials.MaterialSystem;
@@ -11,7 +10,10 @@ import com.minecolonies.colony.workorders.WorkOrderBuild;
 import com.minecolonies.tileentities.TileEntityColonyBuilding;
 import com.minecolonies.util.BlockPosUtil;
 import com.minecolonies.util.Log;
+import com.minecolonies.util.TickProfiler;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import net.minecraft.block.Block;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.tileentity.TileEntity;
@@ -42,6 +44,11 @@ public abstract class AbstractBuilding
 
     //  State
     private                     boolean dirty = false;
+    private                     TickProfiler.Section profilerSection = null;
+
+    //  View synchronisation: the last serialized view and its version
+    private                     int                         viewVersion                     = 0;
+    private                     ByteBuf                     viewData                        = null;
 
     // AbstractBuilding and View Class Mapping
     private static              Map<String,      Class<?>>  nameToClassMap                  = new HashMap<>();
@@ -176,7 +183,7 @@ public abstract class AbstractBuilding
 
             if (oclass != null)
             {
-                BlockPos pos = BlockPosUtil.readFromNBT(compound, TAG_LOCATION);
+                BlockPos pos = readLocationFromNBT(compound);
                 Constructor<?> constructor = oclass.getDeclaredConstructor(Colony.class, BlockPos.class);
                 building = (AbstractBuilding)constructor.newInstance(colony, pos);
             }
@@ -207,6 +214,17 @@ public abstract class AbstractBuilding
         return building;
     }
 
+    /**
+     * Returns the location of a saved building without loading it
+     *
+     * @param compound  {@link NBTTagCompound} of the building
+     * @return          location of the building, which is also its ID
+     */
+    public static BlockPos readLocationFromNBT(NBTTagCompound compound)
+    {
+        return BlockPosUtil.readFromNBT(compound, TAG_LOCATION);
+    }
+
     /**
      * Create a Building given it's TileEntity
      *
@@ -351,7 +369,7 @@ public abstract class AbstractBuilding
 
         buildingLevel = level;
         markDirty();
-        ColonyManager.markDirty();
+        colony.requestSave();
     }
 
     /**
@@ -456,6 +474,22 @@ public abstract class AbstractBuilding
         // Can be overridden by other buildings.
     }
 
+    /**
+     * Returns the profiler section measuring {@link #onWorldTick(TickEvent.WorldTickEvent)}, created on first use.
+     *
+     * @return          the profiler section of this building
+     */
+    public TickProfiler.Section getProfilerSection()
+    {
+        if (profilerSection == null)
+        {
+            profilerSection = TickProfiler.getSection(TickProfiler.BUILDING,
+                    String.format("Colony %d %s (%d %d %d)", colony.getID(), getClass().getSimpleName(),
+                            location.getX(), location.getY(), location.getZ()));
+        }
+        return profilerSection;
+    }
+
     /**
      * On tick of the world
      *
@@ -676,6 +710,39 @@ public abstract class AbstractBuilding
         }
     }
 
+    /**
+     * Serializes the view, and starts a new view version if it differs from the last one.
+     * Called for dirty buildings before their views are sent.
+     *
+     * @return          the current view version
+     */
+    public final int updateViewVersion()
+    {
+        ByteBuf data = Unpooled.buffer();
+        serializeToView(data);
+        if (viewData == null || !ByteBufUtil.equals(viewData, data))
+        {
+            viewData = data;
+            ++viewVersion;
+        }
+        return viewVersion;
+    }
+
+    /**
+     * Returns the last serialized view, see {@link #updateViewVersion()}.
+     * The returned buffer must not be modified or read from, use its indices instead.
+     *
+     * @return          serialized view
+     */
+    public final ByteBuf getViewData()
+    {
+        if (viewData == null)
+        {
+            updateViewVersion();
+        }
+        return viewData;
+    }
+
     /**
      * Serializes to view.
      * Sends 3 integers.
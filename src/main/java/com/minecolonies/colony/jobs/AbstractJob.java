@@ -3,7 +3,10 @@ package com.minecolonies.colony.jobs;
 import com.minecolonies.client.render.RenderBipedCitizen;
 import com.minecolonies.colony.CitizenData;
 import com.minecolonies.colony.Colony;
+import com.minecolonies.colony.buildings.AbstractBuildingWorker;
+import com.minecolonies.entity.EntityCitizen;
 import com.minecolonies.entity.ai.basic.AbstractAISkeleton;
+import com.minecolonies.util.InventoryUtils;
 import com.minecolonies.util.Log;
 import net.minecraft.entity.ai.EntityAITasks;
 import net.minecraft.item.ItemStack;
@@ -51,8 +54,12 @@ public abstract class AbstractJob
     }
 
     private final CitizenData citizen;
-    private List<ItemStack> itemsNeeded = new ArrayList<>();
-    private String          nameTag     = "";
+    private List<ItemStack> itemsNeeded     = new ArrayList<>();
+    private String          nameTag         = "";
+    /**
+     * Ticks worked in coarse simulation since the last work cycle was completed.
+     */
+    private int             coarseWorkTicks = 0;
 
     /**
      * Initialize citizen data.
@@ -219,6 +226,35 @@ public abstract class AbstractJob
         }
     }
 
+    /**
+     * Save the Job for the colony journal, without the parts which are journaled as changes
+     * by {@link #writeJournalChanges(NBTTagCompound)}.
+     *
+     * @param compound NBTTagCompound to save the Job to
+     */
+    public void writeToJournal(NBTTagCompound compound)
+    {
+        writeToNBT(compound);
+    }
+
+    /**
+     * Save the changes to the parts of the Job which are too large to journal whole, and forget them.
+     *
+     * @param compound NBTTagCompound to save the changes to
+     * @return true if there were changes
+     */
+    public boolean writeJournalChanges(NBTTagCompound compound)
+    {
+        return false;
+    }
+
+    /**
+     * Forget the changes to the parts of the Job which are journaled as changes, called when the Job was saved whole.
+     */
+    public void clearJournalChanges()
+    {
+    }
+
     /**
      * Does the Job have _all_ the needed items?
      *
@@ -316,6 +352,91 @@ public abstract class AbstractJob
      */
     public abstract AbstractAISkeleton generateAI();
 
+    /**
+     * Advance the job without running its AI, used while no player is near the colony.
+     * Every {@link #getCoarseWorkCycle()} ticks of work the expected output of one work cycle is put into the hut,
+     * which keeps the MaterialStore of the hut up to date, and the tool of the job is used once.
+     *
+     * @return true if the job was advanced, false if the AI has to run.
+     */
+    public final boolean simulateCoarsely()
+    {
+        int cycle = getCoarseWorkCycle();
+        EntityCitizen worker = citizen.getCitizenEntity();
+        AbstractBuildingWorker building = citizen.getWorkBuilding();
+        if (cycle <= 0 || worker == null || building == null || building.getTileEntity() == null || !canWorkCoarsely(worker))
+        {
+            //  The AI knows how to ask for what is missing
+            return false;
+        }
+
+        if (++coarseWorkTicks < cycle)
+        {
+            return true;
+        }
+        coarseWorkTicks = 0;
+
+        for (ItemStack stack : getCoarseYield(worker.getRNG()))
+        {
+            //  Whatever does not fit is lost, like the drops of a worker who can not dump their inventory
+            InventoryUtils.setStack(building.getTileEntity(), stack);
+        }
+
+        String tool = getCoarseTool();
+        if (tool != null)
+        {
+            int slot = InventoryUtils.getFirstSlotContainingTool(worker.getInventoryCitizen(), tool);
+            if (slot != -1)
+            {
+                worker.damageItemInSlot(slot, 1);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Override to support coarse simulation.
+     *
+     * @return average number of ticks of work needed for the output of {@link #getCoarseYield(Random)}, 0 if the
+     *         job is always simulated by its AI.
+     */
+    protected int getCoarseWorkCycle()
+    {
+        return 0;
+    }
+
+    /**
+     * Check whether the worker has what the job needs in coarse simulation, usually a tool.
+     *
+     * @param worker the citizen entity doing the job.
+     * @return true if the worker can work.
+     */
+    protected boolean canWorkCoarsely(EntityCitizen worker)
+    {
+        return true;
+    }
+
+    /**
+     * The tool worn down by coarse simulation.
+     *
+     * @return tool type damaged once per work cycle, null if the job uses no tool.
+     */
+    protected String getCoarseTool()
+    {
+        return null;
+    }
+
+    /**
+     * The expected output of one work cycle.
+     *
+     * @param random random source.
+     * @return items to put into the hut.
+     */
+    protected List<ItemStack> getCoarseYield(Random random)
+    {
+        return Collections.emptyList();
+    }
+
     /**
      * This method can be used to display the current status.
      * That a citizen is having.
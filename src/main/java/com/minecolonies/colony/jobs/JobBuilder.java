@@ -4,6 +4,7 @@ import com.minecolonies.client.render.RenderBipedCitizen;
 import com.minecolonies.colony.CitizenData;
 import com.minecolonies.colony.workorders.WorkOrderBuild;
 import com.minecolonies.entity.ai.basic.AbstractAISkeleton;
+import com.minecolonies.entity.ai.citizen.builder.BuildPlan;
 import com.minecolonies.entity.ai.citizen.builder.EntityAIStructureBuilder;
 import com.minecolonies.util.BlockPosUtil;
 import com.minecolonies.util.SchematicWrapper;
@@ -18,12 +19,15 @@ public class JobBuilder extends AbstractJob
     private static final String TAG_POSITION   = "position";
     private static final String TAG_PROGRESS   = "progress";
     private static final String TAG_STAGE      = "stage";
+    private static final String TAG_PLAN       = "plan";
     protected SchematicWrapper schematic;
+    private   BuildPlan        buildPlan;
     //TODO save some of this in building
     private   int       workOrderId;
     private   String    schematicName;
     private   BlockPos  schematicPos;
     private   BlockPos  schematicProgress;
+    private   BuildPlan savedBuildPlan;
 
     public JobBuilder(CitizenData entity)
     {
@@ -56,11 +60,96 @@ public class JobBuilder extends AbstractJob
                 schematicTag.setString(TAG_NAME, schematic.getName());
                 BlockPosUtil.writeToNBT(schematicTag, TAG_POSITION, schematic.getPosition());
                 BlockPosUtil.writeToNBT(schematicTag, TAG_PROGRESS, schematic.getLocalPosition());
+                if (buildPlan != null)
+                {
+                    NBTTagCompound planTag = new NBTTagCompound();
+                    buildPlan.writeToNBT(planTag);
+                    schematicTag.setTag(TAG_PLAN, planTag);
+                }
                 compound.setTag(TAG_SCHEMATIC, schematicTag);
             }
         }
     }
 
+    @Override
+    public void writeToJournal(NBTTagCompound compound)
+    {
+        writeToNBT(compound);
+        compound.getCompoundTag(TAG_SCHEMATIC).removeTag(TAG_PLAN);
+    }
+
+    @Override
+    public boolean writeJournalChanges(NBTTagCompound compound)
+    {
+        if (buildPlan == null || !hasSchematic())
+        {
+            return false;
+        }
+
+        NBTTagCompound planTag = new NBTTagCompound();
+        if (!buildPlan.writeJournalChanges(planTag))
+        {
+            return false;
+        }
+
+        compound.setString(TAG_NAME, schematic.getName());
+        BlockPosUtil.writeToNBT(compound, TAG_POSITION, schematic.getPosition());
+        compound.setTag(TAG_PLAN, planTag);
+        return true;
+    }
+
+    @Override
+    public void clearJournalChanges()
+    {
+        if (buildPlan != null)
+        {
+            buildPlan.clearJournalChanges();
+        }
+    }
+
+    /**
+     * Apply plan changes written by {@link #writeJournalChanges(NBTTagCompound)} to a saved job.
+     * Changes for another schematic than the saved one are ignored.
+     *
+     * @param compound the saved job
+     * @param changes  the journaled changes
+     */
+    public static void applyJournalChanges(NBTTagCompound compound, NBTTagCompound changes)
+    {
+        NBTTagCompound schematicTag = compound.getCompoundTag(TAG_SCHEMATIC);
+        if (!isSameSchematic(schematicTag, changes))
+        {
+            return;
+        }
+
+        NBTTagCompound planTag = schematicTag.getCompoundTag(TAG_PLAN);
+        BuildPlan.applyJournalChanges(planTag, changes.getCompoundTag(TAG_PLAN));
+        schematicTag.setTag(TAG_PLAN, planTag);
+    }
+
+    /**
+     * A journaled job has no plan, keep the plan of the saved job it replaces if both are for the same schematic.
+     *
+     * @param saved  the saved job
+     * @param record the journaled job
+     */
+    public static void keepJournaledPlan(NBTTagCompound saved, NBTTagCompound record)
+    {
+        NBTTagCompound savedSchematic = saved.getCompoundTag(TAG_SCHEMATIC);
+        NBTTagCompound recordSchematic = record.getCompoundTag(TAG_SCHEMATIC);
+        if (savedSchematic.hasKey(TAG_PLAN) && record.hasKey(TAG_SCHEMATIC) && !recordSchematic.hasKey(TAG_PLAN)
+              && isSameSchematic(savedSchematic, recordSchematic))
+        {
+            recordSchematic.setTag(TAG_PLAN, savedSchematic.getTag(TAG_PLAN));
+        }
+    }
+
+    private static boolean isSameSchematic(NBTTagCompound a, NBTTagCompound b)
+    {
+        return a.hasKey(TAG_NAME) && a.getString(TAG_NAME).equals(b.getString(TAG_NAME))
+                 && BlockPosUtil.readFromNBT(a, TAG_POSITION).equals(BlockPosUtil.readFromNBT(b, TAG_POSITION));
+    }
+
     /**
      * Does this job have a loaded Schematic?
      * <p>
@@ -87,6 +176,10 @@ public class JobBuilder extends AbstractJob
                 schematicName = schematicTag.getString(TAG_NAME);
                 schematicPos = BlockPosUtil.readFromNBT(schematicTag, TAG_POSITION);
                 schematicProgress = BlockPosUtil.readFromNBT(schematicTag, TAG_PROGRESS);
+                if (schematicTag.hasKey(TAG_PLAN))
+                {
+                    savedBuildPlan = BuildPlan.readFromNBT(schematicTag.getCompoundTag(TAG_PLAN));
+                }
             }
         }
     }
@@ -158,6 +251,51 @@ public class JobBuilder extends AbstractJob
         this.schematic = schematic;
     }
 
+    /**
+     * Get the plan of the blocks the builder still has to work on
+     *
+     * @return BuildPlan of the loaded schematic, or null
+     */
+    public BuildPlan getBuildPlan()
+    {
+        return buildPlan;
+    }
+
+    /**
+     * Start the plan of the loaded schematic
+     * The plan saved before a restart is resumed if it was for the same schematic at the same position
+     * The block the builder was working on when the plan was saved had been taken out of it, it is queued again
+     *
+     * @return true if a saved plan was resumed
+     */
+    public boolean startBuildPlan()
+    {
+        boolean resumed = savedBuildPlan != null
+                            && schematic.getName().equals(schematicName)
+                            && schematic.getPosition().equals(schematicPos);
+
+        buildPlan = resumed ? savedBuildPlan : new BuildPlan();
+        if (resumed && schematicProgress != null)
+        {
+            buildPlan.onBlockChanged(schematic, schematicProgress.add(schematic.getOffsetPosition()));
+        }
+        savedBuildPlan = null;
+        return resumed;
+    }
+
+    /**
+     * Queue a block which changed in the world, if the builder has to work on it
+     *
+     * @param pos position of the block
+     */
+    public void onBlockChanged(BlockPos pos)
+    {
+        if (buildPlan != null && hasSchematic())
+        {
+            buildPlan.onBlockChanged(schematic, pos);
+        }
+    }
+
     /**
      * Returns the work interval of the worker //unfinished
      *
@@ -176,6 +314,7 @@ public class JobBuilder extends AbstractJob
         getCitizen().getColony().getWorkManager().removeWorkOrder(workOrderId);
         setWorkOrder(null);
         setSchematic(null);
+        buildPlan = null;
     }
 
 }
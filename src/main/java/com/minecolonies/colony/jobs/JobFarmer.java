@@ -2,17 +2,32 @@ package com.minecolonies.colony.jobs;
 
 import com.minecolonies.client.render.RenderBipedCitizen;
 import com.minecolonies.colony.CitizenData;
+import com.minecolonies.colony.buildings.AbstractBuildingWorker;
+import com.minecolonies.colony.buildings.BuildingFarmer;
+import com.minecolonies.entity.EntityCitizen;
 import com.minecolonies.entity.ai.basic.AbstractAISkeleton;
 import com.minecolonies.entity.ai.citizen.farmer.EntityAIWorkFarmer;
+import com.minecolonies.util.InventoryUtils;
+import com.minecolonies.util.Utils;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Items;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 public class JobFarmer extends AbstractJob
 {
     private static final String TAG_STAGE = "Stage";
 
+    /**
+     * Coarse simulation: ticks to harvest and replant a field block.
+     */
+    private static final int COARSE_WORK_CYCLE = 400;
+
     private EntityAIWorkFarmer.Stage stage = EntityAIWorkFarmer.Stage.WORKING;
 
     public JobFarmer(CitizenData entity)
@@ -92,4 +107,61 @@ public class JobFarmer extends AbstractJob
         }
         addItemNeeded(stack);
     }
+
+    /**
+     * Harvesting and replanting one field block, including the walk.
+     */
+    @Override
+    protected int getCoarseWorkCycle()
+    {
+        return COARSE_WORK_CYCLE;
+    }
+
+    @Override
+    protected boolean canWorkCoarsely(EntityCitizen worker)
+    {
+        return getCitizen().getWorkBuilding() instanceof BuildingFarmer
+               && InventoryUtils.getFirstSlotContainingTool(worker.getInventoryCitizen(), Utils.HOE) != -1;
+    }
+
+    @Override
+    protected String getCoarseTool()
+    {
+        return Utils.HOE;
+    }
+
+    /**
+     * One harvest of a crop, chosen with the crop shares set in the hut.
+     */
+    @Override
+    protected List<ItemStack> getCoarseYield(Random random)
+    {
+        AbstractBuildingWorker building = getCitizen().getWorkBuilding();
+        if (!(building instanceof BuildingFarmer))
+        {
+            return Collections.emptyList();
+        }
+
+        BuildingFarmer farm = (BuildingFarmer) building;
+        int total = farm.wheat + farm.potato + farm.carrot + farm.melon + farm.pumpkin;
+        int pick = total > 0 ? random.nextInt(total) : 0;
+
+        if (total <= 0 || (pick -= farm.wheat) < 0)
+        {
+            return Arrays.asList(new ItemStack(Items.wheat), new ItemStack(Items.wheat_seeds, 1 + random.nextInt(2)));
+        }
+        if ((pick -= farm.potato) < 0)
+        {
+            return Collections.singletonList(new ItemStack(Items.potato, 1 + random.nextInt(3)));
+        }
+        if ((pick -= farm.carrot) < 0)
+        {
+            return Collections.singletonList(new ItemStack(Items.carrot, 1 + random.nextInt(3)));
+        }
+        if (pick - farm.melon < 0)
+        {
+            return Collections.singletonList(new ItemStack(Items.melon, 3 + random.nextInt(5)));
+        }
+        return Collections.singletonList(new ItemStack(Blocks.pumpkin));
+    }
 }
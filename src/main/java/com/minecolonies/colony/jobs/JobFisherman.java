@@ -2,16 +2,23 @@ package com.minecolonies.colony.jobs;
 
 import com.minecolonies.client.render.RenderBipedCitizen;
 import com.minecolonies.colony.CitizenData;
+import com.minecolonies.entity.EntityCitizen;
 import com.minecolonies.entity.ai.basic.AbstractAISkeleton;
 import com.minecolonies.entity.ai.citizen.fisherman.EntityAIWorkFisherman;
 import com.minecolonies.util.BlockPosUtil;
+import com.minecolonies.util.InventoryUtils;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemFishFood;
+import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.BlockPos;
 import net.minecraftforge.common.util.Constants;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 /**
  * The fisherman's job class,
@@ -25,6 +32,13 @@ public class JobFisherman extends AbstractJob
     private static final String TAG_WATER = "Pond";
     private static final String TAG_PONDS = "Ponds";
 
+    /**
+     * Coarse simulation: ticks per catch, the tool a fisherman needs, and the chance in percent of a salmon.
+     */
+    private static final int    COARSE_WORK_CYCLE    = 600;
+    private static final String TOOL_TYPE_ROD        = "rod";
+    private static final int    COARSE_SALMON_CHANCE = 25;
+
     /**
      * The water the fisherman is currently fishing at
      * Contains the location of the water so that the fisherman can path to the fishing spot.
@@ -176,5 +190,38 @@ public class JobFisherman extends AbstractJob
         this.ponds.remove(pond);
     }
 
-}
+    /**
+     * Waiting for a bite, and moving to another pond now and then.
+     */
+    @Override
+    protected int getCoarseWorkCycle()
+    {
+        return COARSE_WORK_CYCLE;
+    }
 
+    /**
+     * The fisherman needs a rod and a pond found before.
+     */
+    @Override
+    protected boolean canWorkCoarsely(EntityCitizen worker)
+    {
+        return !ponds.isEmpty()
+               && InventoryUtils.getFirstSlotContainingTool(worker.getInventoryCitizen(), TOOL_TYPE_ROD) != -1;
+    }
+
+    @Override
+    protected String getCoarseTool()
+    {
+        return TOOL_TYPE_ROD;
+    }
+
+    /**
+     * One raw fish.
+     */
+    @Override
+    protected List<ItemStack> getCoarseYield(Random random)
+    {
+        ItemFishFood.FishType type = random.nextInt(100) < COARSE_SALMON_CHANCE ? ItemFishFood.FishType.SALMON : ItemFishFood.FishType.COD;
+        return Collections.singletonList(new ItemStack(Items.fish, 1, type.getMetadata()));
+    }
+}
@@ -2,17 +2,33 @@ package com.minecolonies.colony.jobs;
 
 import com.minecolonies.client.render.RenderBipedCitizen;
 import com.minecolonies.colony.CitizenData;
+import com.minecolonies.entity.EntityCitizen;
 import com.minecolonies.entity.ai.basic.AbstractAISkeleton;
 import com.minecolonies.entity.ai.citizen.lumberjack.EntityAIWorkLumberjack;
 import com.minecolonies.entity.ai.citizen.lumberjack.Tree;
+import com.minecolonies.util.InventoryUtils;
+import com.minecolonies.util.Utils;
+import net.minecraft.block.BlockPlanks;
+import net.minecraft.init.Blocks;
+import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 /**
  * The Lumberjack job class
  */
 public class JobLumberjack extends AbstractJob
 {
     private static final String TAG_TREE = "Tree";
+    /**
+     * Coarse simulation: ticks per tree, and the logs of a tree.
+     */
+    private static final int COARSE_WORK_CYCLE = 1200;
+    private static final int COARSE_MIN_LOGS   = 4;
+    private static final int COARSE_EXTRA_LOGS = 3;
     /**
      * The tree this lumberjack is currently working on
      */
@@ -60,11 +76,11 @@ public class JobLumberjack extends AbstractJob
     {
         super.writeToNBT(compound);
 
-        NBTTagCompound treeTag = new NBTTagCompound();
-
         if(tree != null)
         {
+            NBTTagCompound treeTag = new NBTTagCompound();
             tree.writeToNBT(treeTag);
+            compound.setTag(TAG_TREE, treeTag);
         }
     }
 
@@ -81,6 +97,9 @@ public class JobLumberjack extends AbstractJob
         if(compound.hasKey(TAG_TREE))
         {
             tree = Tree.readFromNBT(compound.getCompoundTag(TAG_TREE));
+
+            //  Claims are not saved, the tree the lumberjack was cutting is claimed again
+            getColony().getTreeRegistry().claim(tree.getLocation(), getCitizen().getId());
         }
     }
 
@@ -95,4 +114,43 @@ public class JobLumberjack extends AbstractJob
         return new EntityAIWorkLumberjack(this);
     }
 
+    /**
+     * Felling a tree and walking to the next one takes about a minute.
+     */
+    @Override
+    protected int getCoarseWorkCycle()
+    {
+        return COARSE_WORK_CYCLE;
+    }
+
+    @Override
+    protected boolean canWorkCoarsely(EntityCitizen worker)
+    {
+        return InventoryUtils.getFirstSlotContainingTool(worker.getInventoryCitizen(), Utils.AXE) != -1;
+    }
+
+    @Override
+    protected String getCoarseTool()
+    {
+        return Utils.AXE;
+    }
+
+    /**
+     * The logs of an average tree, of the kind the lumberjack was cutting, and a sapling now and then.
+     */
+    @Override
+    protected List<ItemStack> getCoarseYield(Random random)
+    {
+        BlockPlanks.EnumType variant = tree != null && tree.getVariant() != null ? tree.getVariant() : BlockPlanks.EnumType.OAK;
+        int meta = variant.getMetadata();
+        int logs = COARSE_MIN_LOGS + random.nextInt(COARSE_EXTRA_LOGS + 1);
+
+        List<ItemStack> yield = new ArrayList<>();
+        yield.add(meta < 4 ? new ItemStack(Blocks.log, logs, meta) : new ItemStack(Blocks.log2, logs, meta - 4));
+        if (random.nextInt(2) == 0)
+        {
+            yield.add(new ItemStack(Blocks.sapling, 1, meta));
+        }
+        return yield;
+    }
 }
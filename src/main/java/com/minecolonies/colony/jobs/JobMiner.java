@@ -2,18 +2,35 @@ package com.minecolonies.colony.jobs;
 
 import com.minecolonies.client.render.RenderBipedCitizen;
 import com.minecolonies.colony.CitizenData;
+import com.minecolonies.colony.buildings.AbstractBuildingWorker;
+import com.minecolonies.colony.buildings.BuildingMiner;
+import com.minecolonies.entity.EntityCitizen;
 import com.minecolonies.entity.ai.basic.AbstractAISkeleton;
 import com.minecolonies.entity.ai.citizen.miner.EntityAIStructureMiner;
+import com.minecolonies.util.InventoryUtils;
 import com.minecolonies.util.SchematicWrapper;
+import com.minecolonies.util.Utils;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Items;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 public class JobMiner extends AbstractJob
 {
     protected SchematicWrapper schematic;
 
+    /**
+     * Coarse simulation: ticks per work cycle, the stone mined in a cycle, and the chance in percent of finding ores.
+     */
+    private static final int COARSE_WORK_CYCLE  = 600;
+    private static final int COARSE_COBBLESTONE = 12;
+    private static final int COARSE_COAL_CHANCE = 30;
+    private static final int COARSE_IRON_CHANCE = 8;
+
     public JobMiner(CitizenData entity)
     {
         super(entity);
@@ -80,4 +97,51 @@ public class JobMiner extends AbstractJob
     {
         return schematic;
     }
+
+    /**
+     * Mining a few blocks of a branch, including the walk.
+     */
+    @Override
+    protected int getCoarseWorkCycle()
+    {
+        return COARSE_WORK_CYCLE;
+    }
+
+    /**
+     * The miner needs a pickaxe and a mine with at least one level to work in.
+     */
+    @Override
+    protected boolean canWorkCoarsely(EntityCitizen worker)
+    {
+        AbstractBuildingWorker building = getCitizen().getWorkBuilding();
+        return building instanceof BuildingMiner
+               && ((BuildingMiner) building).clearedShaft
+               && ((BuildingMiner) building).getNumberOfLevels() > 0
+               && InventoryUtils.getFirstSlotContainingTool(worker.getInventoryCitizen(), Utils.PICKAXE) != -1;
+    }
+
+    @Override
+    protected String getCoarseTool()
+    {
+        return Utils.PICKAXE;
+    }
+
+    /**
+     * Mostly stone, with the ores a branch usually crosses.
+     */
+    @Override
+    protected List<ItemStack> getCoarseYield(Random random)
+    {
+        List<ItemStack> yield = new ArrayList<>();
+        yield.add(new ItemStack(Blocks.cobblestone, COARSE_COBBLESTONE));
+        if (random.nextInt(100) < COARSE_COAL_CHANCE)
+        {
+            yield.add(new ItemStack(Items.coal));
+        }
+        if (random.nextInt(100) < COARSE_IRON_CHANCE)
+        {
+            yield.add(new ItemStack(Blocks.iron_ore));
+        }
+        return yield;
+    }
 }
@@ -0,0 +1,29 @@
+package com.minecolonies.commands;
+
+import com.minecolonies.colony.ColonyManager;
+import net.minecraft.command.ICommandSender;
+
+/**
+ * Shows how much view update traffic each loaded colony sent to its subscribers.
+ * Usage: /minecolonies bandwidth
+ */
+public class ColonyBandwidthCommand implements ISubCommand
+{
+    @Override
+    public String getName()
+    {
+        return "bandwidth";
+    }
+
+    @Override
+    public String getUsage()
+    {
+        return "bandwidth";
+    }
+
+    @Override
+    public void execute(ICommandSender sender, String[] args)
+    {
+        CommandMinecolonies.sendLines(sender, ColonyManager.getBandwidthReport());
+    }
+}
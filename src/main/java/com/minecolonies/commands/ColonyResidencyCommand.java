@@ -0,0 +1,31 @@
+package com.minecolonies.commands;
+
+import com.minecolonies.colony.ColonyManager;
+import net.minecraft.command.ICommandSender;
+
+import java.util.Collections;
+
+/**
+ * Shows how many colonies are loaded and how many are dormant on disk.
+ * Usage: /minecolonies colonies
+ */
+public class ColonyResidencyCommand implements ISubCommand
+{
+    @Override
+    public String getName()
+    {
+        return "colonies";
+    }
+
+    @Override
+    public String getUsage()
+    {
+        return "colonies";
+    }
+
+    @Override
+    public void execute(ICommandSender sender, String[] args)
+    {
+        CommandMinecolonies.sendLines(sender, Collections.singletonList(ColonyManager.getResidencyReport()));
+    }
+}
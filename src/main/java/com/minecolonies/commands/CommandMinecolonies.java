@@ -0,0 +1,103 @@
+package com.minecolonies.commands;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.util.BlockPos;
+import net.minecraft.util.ChatComponentText;
+
+import java.util.*;
+
+/**
+ * Root server command of Minecolonies, dispatches to the registered {@link ISubCommand}s.
+ * Usage: /minecolonies &lt;subcommand&gt; [arguments]
+ */
+public class CommandMinecolonies extends CommandBase
+{
+    private static final String NAME  = "minecolonies";
+    private static final String ALIAS = "mc";
+
+    private final Map<String, ISubCommand> subCommands = new TreeMap<>();
+
+    /**
+     * Creates the command and registers all sub commands.
+     */
+    public CommandMinecolonies()
+    {
+        register(new PathfindingStatsCommand());
+        register(new ColonyResidencyCommand());
+        register(new ProfileCommand());
+        register(new ColonyBandwidthCommand());
+    }
+
+    private void register(ISubCommand subCommand)
+    {
+        subCommands.put(subCommand.getName(), subCommand);
+    }
+
+    @Override
+    public String getCommandName()
+    {
+        return NAME;
+    }
+
+    @Override
+    public List<String> getCommandAliases()
+    {
+        return Collections.singletonList(ALIAS);
+    }
+
+    @Override
+    public String getCommandUsage(ICommandSender sender)
+    {
+        return "/" + NAME + " <" + String.join("|", subCommands.keySet()) + ">";
+    }
+
+    @Override
+    public int getRequiredPermissionLevel()
+    {
+        return 2;
+    }
+
+    @Override
+    public void processCommand(ICommandSender sender, String[] args) throws CommandException
+    {
+        if (args.length == 0)
+        {
+            throw new WrongUsageException(getCommandUsage(sender));
+        }
+
+        ISubCommand subCommand = subCommands.get(args[0]);
+        if (subCommand == null)
+        {
+            throw new WrongUsageException(getCommandUsage(sender));
+        }
+
+        subCommand.execute(sender, Arrays.copyOfRange(args, 1, args.length));
+    }
+
+    @Override
+    public List<String> addTabCompletionOptions(ICommandSender sender, String[] args, BlockPos pos)
+    {
+        if (args.length == 1)
+        {
+            return getListOfStringsMatchingLastWord(args, subCommands.keySet());
+        }
+        return null;
+    }
+
+    /**
+     * Sends every line as a separate chat message to the sender.
+     *
+     * @param sender    receiver of the lines
+     * @param lines     lines to send
+     */
+    static void sendLines(ICommandSender sender, List<String> lines)
+    {
+        for (String line : lines)
+        {
+            sender.addChatMessage(new ChatComponentText(line));
+        }
+    }
+}
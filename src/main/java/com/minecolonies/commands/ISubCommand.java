@@ -0,0 +1,33 @@
+package com.minecolonies.commands;
+
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+
+/**
+ * A sub command of the /minecolonies command.
+ */
+public interface ISubCommand
+{
+    /**
+     * Returns the name used to call the sub command.
+     *
+     * @return      name of the sub command
+     */
+    String getName();
+
+    /**
+     * Returns the usage of the sub command, without the leading /minecolonies.
+     *
+     * @return      usage string
+     */
+    String getUsage();
+
+    /**
+     * Executes the sub command.
+     *
+     * @param sender    sender of the command
+     * @param args      arguments following the sub command name
+     * @throws CommandException when the arguments are invalid
+     */
+    void execute(ICommandSender sender, String[] args) throws CommandException;
+}
@@ -0,0 +1,31 @@
+package com.minecolonies.commands;
+
+import com.minecolonies.entity.pathfinding.PathCache;
+import com.minecolonies.entity.pathfinding.Pathfinding;
+import net.minecraft.command.ICommandSender;
+
+/**
+ * Shows queue depth and latency counters of the pathfinding workers, and the path cache hit rate.
+ * Usage: /minecolonies pathfinding
+ */
+public class PathfindingStatsCommand implements ISubCommand
+{
+    @Override
+    public String getName()
+    {
+        return "pathfinding";
+    }
+
+    @Override
+    public String getUsage()
+    {
+        return "pathfinding";
+    }
+
+    @Override
+    public void execute(ICommandSender sender, String[] args)
+    {
+        CommandMinecolonies.sendLines(sender, Pathfinding.getStatistics());
+        CommandMinecolonies.sendLines(sender, PathCache.getReport());
+    }
+}
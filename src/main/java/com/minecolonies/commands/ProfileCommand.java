@@ -0,0 +1,108 @@
+package com.minecolonies.commands;
+
+import com.minecolonies.util.Log;
+import com.minecolonies.util.TickProfiler;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
+
+/**
+ * Controls the tick profiler and shows which colonies, buildings and AIs take the most time.
+ * Usage: /minecolonies profile &lt;start|stop|reset|report [category] [count]|dump&gt;
+ */
+public class ProfileCommand implements ISubCommand
+{
+    private static final int DEFAULT_REPORT_SIZE = 10;
+
+    @Override
+    public String getName()
+    {
+        return "profile";
+    }
+
+    @Override
+    public String getUsage()
+    {
+        return "profile <start|stop|reset|report [category] [count]|dump>";
+    }
+
+    @Override
+    public void execute(ICommandSender sender, String[] args) throws CommandException
+    {
+        if (args.length == 0)
+        {
+            throw new WrongUsageException("/minecolonies " + getUsage());
+        }
+
+        switch (args[0])
+        {
+            case "start":
+                TickProfiler.setEnabled(true);
+                send(sender, "Profiler started");
+                break;
+            case "stop":
+                TickProfiler.setEnabled(false);
+                send(sender, "Profiler stopped");
+                break;
+            case "reset":
+                TickProfiler.reset();
+                send(sender, "Profiler reset");
+                break;
+            case "report":
+                report(sender, args);
+                break;
+            case "dump":
+                dump(sender);
+                break;
+            default:
+                throw new WrongUsageException("/minecolonies " + getUsage());
+        }
+    }
+
+    private static void report(ICommandSender sender, String[] args) throws CommandException
+    {
+        String category = null;
+        int count = DEFAULT_REPORT_SIZE;
+        for (int i = 1; i < args.length; ++i)
+        {
+            if (args[i].matches("\\d+"))
+            {
+                count = CommandBase.parseInt(args[i], 1);
+            }
+            else
+            {
+                category = args[i];
+            }
+        }
+        CommandMinecolonies.sendLines(sender, TickProfiler.getReport(category, count));
+    }
+
+    private static void dump(ICommandSender sender)
+    {
+        String name = "profile-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".csv";
+        File file = new File(MinecraftServer.getServer().getFile("minecolonies/"), name);
+        try
+        {
+            TickProfiler.dumpCsv(file);
+            send(sender, "Profile written to " + file.getPath());
+        }
+        catch (IOException e)
+        {
+            Log.logger.error("Unable to write " + file, e);
+            send(sender, "Unable to write " + file.getPath());
+        }
+    }
+
+    private static void send(ICommandSender sender, String line)
+    {
+        CommandMinecolonies.sendLines(sender, Collections.singletonList(line));
+    }
+}
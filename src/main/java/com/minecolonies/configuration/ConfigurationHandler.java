@@ -53,6 +53,16 @@ public final class ConfigurationHandler
             maxBlocksCheckedByBuilder =
                     config.get(CATEGORY_GAMEPLAY, "maxBlocksCheckedByBuilder", maxBlocksCheckedByBuilder, "Limits the number of checked blocks per builder update").getInt();
             chatFrequency = config.get(CATEGORY_GAMEPLAY, "chatFrequency", chatFrequency, "Chat Frequency (seconds)").getInt();
+            colonyDormancyDelay = config.get(CATEGORY_GAMEPLAY, "colonyDormancyDelay", colonyDormancyDelay,
+                    "Minutes a colony without players, citizens or loaded chunks stays in memory (0 = never unload)").getInt();
+            colonyTickBudget = config.get(CATEGORY_GAMEPLAY, "colonyTickBudget", colonyTickBudget,
+                    "Microseconds per world tick spent on ticking colonies, the others wait for the next tick (0 = no limit)").getInt();
+            viewBundleCompressionThreshold = config.get(CATEGORY_GAMEPLAY, "viewBundleCompressionThreshold", viewBundleCompressionThreshold,
+                    "Colony updates sent to a player in one tick are compressed from this many bytes (0 = never)").getInt();
+            coarseSimulation = config.get(CATEGORY_GAMEPLAY, "coarseSimulation", coarseSimulation,
+                    "Workers of colonies without players nearby put their expected output into their hut instead of simulating their work, wearing their tool once per work cycle").getBoolean();
+            maxTreeLogs = config.get(CATEGORY_GAMEPLAY, "maxTreeLogs", maxTreeLogs,
+                    "Most logs of one tree a lumberjack looks for, so huge modded trees do not stall the server").getInt();
 
             enableInDevelopmentFeatures = config.get(CATEGORY_GAMEPLAY, "development", enableInDevelopmentFeatures,
                     "Don't hide in-development features which do not work and may break your game").getBoolean();
@@ -60,7 +70,8 @@ public final class ConfigurationHandler
             pathfindingDebugDraw = config.get(CATEGORY_PATHFINDING, "debugDraw", pathfindingDebugDraw, "Render pathfinding results for debugging purposes (SSP only)").getBoolean();
             pathfindingDebugVerbosity = config.get(CATEGORY_PATHFINDING, "debugVerbosity", pathfindingDebugVerbosity,
                     "Debug output verbosity of pathfinding (0=none, 1=results, 2=live work)").getInt();
-            pathfindingMaxThreadCount = config.get(CATEGORY_PATHFINDING, "maxThreads", pathfindingMaxThreadCount, "Maximum number of threads to use for pathfinding.").getInt();
+            pathfindingMaxThreadCount = config.get(CATEGORY_PATHFINDING, "maxThreads", pathfindingMaxThreadCount, "Maximum number of threads to use for pathfinding (0 = number of cores minus one).").getInt();
+            pathfindingCacheSize = config.get(CATEGORY_PATHFINDING, "cacheSize", pathfindingCacheSize, "Number of computed paths to remember for reuse (0 = disabled)").getInt();
 
             maleFirstNames = config.get(CATEGORY_NAMES, "maleFirstNames", maleFirstNames, "Male First Names").getStringList();
             femaleFirstNames = config.get(CATEGORY_NAMES, "femaleFirstNames", femaleFirstNames, "Female First Names").getStringList();
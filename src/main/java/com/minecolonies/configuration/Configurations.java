@@ -24,12 +24,18 @@ public class Configurations
     //TODO change count to agreed upon value, possibly remove if we think this shouldn't be a problem
     public static int       maxBlocksCheckedByBuilder       = 1000;
     public static int       chatFrequency                   = 30;
+    public static int       colonyDormancyDelay             = 15;
+    public static int       colonyTickBudget                = 10000;
+    public static int       viewBundleCompressionThreshold  = 512;
+    public static boolean   coarseSimulation                = false;
+    public static int       maxTreeLogs                     = 512;
 
     public static boolean   enableInDevelopmentFeatures     = false;
 
     public static boolean   pathfindingDebugDraw            = false;
     public static int       pathfindingDebugVerbosity       = 0;
     public static int       pathfindingMaxThreadCount       = 2;
+    public static int       pathfindingCacheSize            = 256;
 
     public static String[] maleFirstNames = new String[]
             {
@@ -10,6 +10,7 @@ import com.minecolonies.configuration.Configurations;
 import com.minecolonies.entity.ai.basic.AbstractEntityAIInteract;
 import com.minecolonies.entity.ai.minimal.*;
 import com.minecolonies.entity.pathfinding.PathNavigate;
+import com.minecolonies.entity.pathfinding.StuckRecovery;
 import com.minecolonies.inventory.InventoryCitizen;
 import com.minecolonies.lib.Constants;
 import com.minecolonies.network.messages.BlockParticleEffectMessage;
@@ -105,6 +106,11 @@ public class EntityCitizen extends EntityAgeable implements INpc
      */
     private static final double BLOCK_BREAK_PARTICLE_RANGE = 16.0D;
 
+    /**
+     * Profiler section of the item pickup of all citizens.
+     */
+    private static final TickProfiler.Section ITEM_PICKUP_SECTION = TickProfiler.getSection(TickProfiler.CITIZENS, "Item pickup");
+
 
     private RenderBipedCitizen.Model modelId = RenderBipedCitizen.Model.SETTLER;
     private String                   renderMetadata;
@@ -128,7 +134,11 @@ public class EntityCitizen extends EntityAgeable implements INpc
     private CitizenData citizenData;
 
     private Map<String, Integer> statusMessages = new HashMap<>();
+    //  Items around the citizen the last time they looked for items to pick up
+    private long        lastItemStamp    = ColonyItemTracker.NO_ITEMS;
+    private BlockPos    lastItemPosition = null;
     private PathNavigate newNavigator;
+    private StuckRecovery stuckRecovery;
     private static       Field      navigatorField;
 
     /**
@@ -151,6 +161,7 @@ public class EntityCitizen extends EntityAgeable implements INpc
 
         this.newNavigator.setCanSwim(true);
         this.newNavigator.setEnterDoors(true);
+        this.stuckRecovery = new StuckRecovery(this, this.newNavigator);
 
         initTasks();
     }
@@ -471,10 +482,7 @@ public class EntityCitizen extends EntityAgeable implements INpc
             pickupItems();
             cleanupChatMessages();
             updateColonyServer();
-        }
-        if(isEntityInsideOpaqueBlock())
-        {
-            getNavigator().moveAwayFromXYZ(this.getPosition(), MOVE_AWAY_RANGE, MOVE_AWAY_SPEED);
+            stuckRecovery.update(isEntityInsideOpaqueBlock(), MOVE_AWAY_RANGE, MOVE_AWAY_SPEED);
         }
 
         checkHeal();
@@ -570,6 +578,12 @@ public class EntityCitizen extends EntityAgeable implements INpc
 
         if (c == null)
         {
+            if (ColonyManager.isColonyDormant(colonyId))
+            {
+                //  The colony is queued to load, the citizen registers with it on a later tick
+                return;
+            }
+
             Log.logger.warn(String.format("EntityCitizen '%s' unable to find Colony #%d", getUniqueID(), colonyId));
             setDead();
             return;
@@ -674,24 +688,65 @@ public class EntityCitizen extends EntityAgeable implements INpc
 
     /**
      * Pick up all items in a range around the citizen.
+     * Inside the colony the items come from its item tracker, and are only looked at again when the items around
+     * the citizen changed or the citizen moved, unless an item was left behind last time. Outside of it the world is
+     * searched.
      */
     private void pickupItems()
     {
-        List<EntityItem> retList = new ArrayList<>();
-        //I know streams look better but they are flawed in type erasure
-        for (Object o : worldObj.getEntitiesWithinAABB(EntityItem.class, getEntityBoundingBox().expand(2.0F, 0.0F, 2.0F)))
+        if (!canPickUpLoot())
+        {
+            return;
+        }
+
+        long start = ITEM_PICKUP_SECTION.begin();
+        try
         {
-            if(o instanceof EntityItem)
+            AxisAlignedBB range = getEntityBoundingBox().expand(2.0F, 0.0F, 2.0F);
+            BlockPos position = getPosition();
+
+            List<EntityItem> items;
+            long stamp = ColonyItemTracker.NO_ITEMS;
+            if (colony != null && colony.isCoordInColony(worldObj, position))
             {
-                retList.add((EntityItem) o);
+                stamp = colony.getItemTracker().getStamp(range);
+                if (stamp == ColonyItemTracker.NO_ITEMS
+                      || (stamp == lastItemStamp && position.equals(lastItemPosition)))
+                {
+                    return;
+                }
+
+                items = colony.getItemTracker().getItems(range);
+            }
+            else
+            {
+                items = worldObj.getEntitiesWithinAABB(EntityItem.class, range);
             }
-        }
 
-        retList.stream()
-               .filter(item -> item != null)
-               .filter(item -> !item.isDead)
-               .filter(item -> canPickUpLoot())
-               .forEach(this::tryPickupEntityItem);
+            //  Items which could not be picked up, because they are not ready or the inventory is full, are tried again
+            boolean pickedUpAll = true;
+            for (EntityItem item : items)
+            {
+                if (item != null && !item.isDead && !tryPickupEntityItem(item))
+                {
+                    pickedUpAll = false;
+                }
+            }
+
+            if (pickedUpAll && stamp != ColonyItemTracker.NO_ITEMS)
+            {
+                lastItemStamp = stamp;
+                lastItemPosition = position;
+            }
+            else
+            {
+                lastItemPosition = null;
+            }
+        }
+        finally
+        {
+            ITEM_PICKUP_SECTION.end(start);
+        }
     }
 
     /**
@@ -1058,13 +1113,19 @@ public class EntityCitizen extends EntityAgeable implements INpc
         }
     }
 
-    private void tryPickupEntityItem(EntityItem entityItem)
+    /**
+     * Pick up as much of an item as fits in the inventory.
+     *
+     * @param entityItem the item.
+     * @return false if the item, or part of it, was left behind.
+     */
+    private boolean tryPickupEntityItem(EntityItem entityItem)
     {
         if (!this.worldObj.isRemote)
         {
             if (entityItem.cannotPickup())
             {
-                return;
+                return false;
             }
 
             ItemStack itemStack = entityItem.getEntityItem();
@@ -1080,7 +1141,9 @@ public class EntityCitizen extends EntityAgeable implements INpc
                     entityItem.setDead();
                 }
             }
+            return entityItem.isDead;
         }
+        return true;
     }
 
     /**
@@ -1198,6 +1261,32 @@ public class EntityCitizen extends EntityAgeable implements INpc
         }
     }
 
+    /**
+     * Damage an item of the inventory, like a tool used without holding it.
+     *
+     * @param slot   inventory slot of the item
+     * @param damage amount of damage
+     */
+    public void damageItemInSlot(final int slot, final int damage)
+    {
+        final ItemStack item = getInventoryCitizen().getStackInSlot(slot);
+        if (item == null)
+        {
+            return;
+        }
+        item.damageItem(damage, this);
+
+        //check if tool breaks
+        if (item.stackSize < 1)
+        {
+            getInventoryCitizen().setInventorySlotContents(slot, null);
+            if (slot == getInventoryCitizen().getHeldItemSlot())
+            {
+                this.setCurrentItemOrArmor(0, null);
+            }
+        }
+    }
+
     /**
      * Swing entity arm, create sound and particle effects.
      * <p>
@@ -6,12 +6,14 @@ import com.minecolonies.entity.ai.util.AIState;
 import com.minecolonies.entity.ai.util.AITarget;
 import com.minecolonies.entity.ai.util.ChatSpamFilter;
 import com.minecolonies.util.Log;
+import com.minecolonies.util.TickProfiler;
 import net.minecraft.entity.ai.EntityAIBase;
 import net.minecraft.world.World;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
 
 import static com.minecolonies.entity.EntityCitizen.Status.IDLE;
 
@@ -32,11 +34,26 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
     protected final World               world;
     protected final ChatSpamFilter      chatSpamFilter;
     private final   ArrayList<AITarget> targetList;
+    /**
+     * The registered targets which can run in each state, in the order of registration.
+     * Compiled from the target list when it changed, states without own targets use the global targets.
+     */
+    private final   EnumMap<AIState, AITarget[]> targetsByState = new EnumMap<>(AIState.class);
+    private         AITarget[]          globalTargets = null;
     /**
      * The current state the ai is in.
      * Used to compare to state matching targets.
      */
     private         AIState             state;
+    /**
+     * Number of updates, and the update at which the state last changed.
+     * Used to time the recheck delay of targets.
+     */
+    private         long                tick            = 0;
+    private         long                stateChangeTick = 0;
+
+    private final   TickProfiler.Section aiSection;
+    private final   TickProfiler.Section citizensSection;
 
     /**
      * Sets up some important skeleton stuff for every ai.
@@ -52,6 +69,8 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
         this.world = this.worker.worldObj;
         this.chatSpamFilter = new ChatSpamFilter(worker);
         this.state = AIState.INIT;
+        this.aiSection = TickProfiler.getSection(TickProfiler.AI, getClass().getSimpleName());
+        this.citizensSection = TickProfiler.getSection(TickProfiler.CITIZENS, "Colony " + job.getColony().getID());
 
     }
 
@@ -75,7 +94,28 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
      */
     private void registerTarget(AITarget target)
     {
+        target.setProfilerName(String.format("%s #%d %s", getClass().getSimpleName(), targetList.size(), target.getState()));
         targetList.add(target);
+        globalTargets = null;
+    }
+
+    /**
+     * Sort the registered targets by the state they run in, keeping the order of registration.
+     */
+    private void compileTargets()
+    {
+        targetsByState.clear();
+        globalTargets = targetList.stream().filter(target -> target.getState() == null).toArray(AITarget[]::new);
+
+        for (AIState targetState : AIState.values())
+        {
+            if (targetList.stream().anyMatch(target -> target.getState() == targetState))
+            {
+                targetsByState.put(targetState, targetList.stream()
+                        .filter(target -> target.getState() == null || target.getState() == targetState)
+                        .toArray(AITarget[]::new));
+            }
+        }
     }
 
     /**
@@ -135,14 +175,44 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
     @Override
     public final void updateTask()
     {
-        targetList.stream().anyMatch(this::checkOnTarget);
+        long citizensStart = citizensSection.begin();
+        long aiStart = aiSection.begin();
+        try
+        {
+            //  Nobody sees the worker, the job produces its expected output instead
+            if (job.getColony().isSimulatedCoarsely() && job.simulateCoarsely())
+            {
+                return;
+            }
+
+            if (globalTargets == null)
+            {
+                compileTargets();
+            }
+
+            ++tick;
+            AITarget[] targets = targetsByState.get(state);
+            for (AITarget target : targets == null ? globalTargets : targets)
+            {
+                if (checkOnTarget(target))
+                {
+                    break;
+                }
+            }
+        }
+        finally
+        {
+            aiSection.end(aiStart);
+            citizensSection.end(citizensStart);
+        }
     }
 
     /**
      * Checks on one target to see if it has to be executed.
-     * It first checks for the state of the ai.
-     * If that matches it tests the predicate if the ai
-     * wants to run the target.
+     * Only targets matching the state of the ai are checked,
+     * see {@link #compileTargets()}.
+     * It tests the predicate if the ai
+     * wants to run the target, unless it failed too recently.
      * And if that's a yes, runs the target.
      * Tester and target are both error-checked
      * to prevent minecraft from crashing on bad ai.
@@ -152,7 +222,7 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
      */
     private boolean checkOnTarget(AITarget target)
     {
-        if (state != target.getState() && target.getState() != null)
+        if (target.isDeferred(tick, stateChangeTick))
         {
             return false;
         }
@@ -160,6 +230,7 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
         {
             if (!target.test())
             {
+                target.defer(tick);
                 return false;
             }
         }
@@ -194,7 +265,11 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
         }
         if (newState != null)
         {
-            state = newState;
+            if (newState != state)
+            {
+                state = newState;
+                stateChangeTick = tick;
+            }
             return true;
         }
         return false;
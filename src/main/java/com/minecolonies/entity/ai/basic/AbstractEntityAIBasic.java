@@ -40,6 +40,11 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
      */
     private static final int ACTIONS_UNTIL_DUMP = 32;
 
+    /**
+     * Time in ticks to wait until the inventory is checked again for dumping.
+     */
+    private static final int DUMP_RECHECK_DELAY = 5;
+
     /**
      * The block the ai is currently working at or wants to work.
      */
@@ -157,8 +162,9 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
                 new AITarget(INVENTORY_FULL, this::dumpInventory),
                 /**
                  * Check if inventory has to be dumped.
+                 * Scanning the inventory every tick is not needed.
                  */
-                new AITarget(this::inventoryNeedsDump, INVENTORY_FULL)
+                new AITarget(this::inventoryNeedsDump, INVENTORY_FULL).withRecheckDelay(DUMP_RECHECK_DELAY)
                              );
     }
 
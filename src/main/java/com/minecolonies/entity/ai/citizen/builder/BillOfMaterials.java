@@ -0,0 +1,144 @@
+package com.minecolonies.entity.ai.citizen.builder;
+
+import com.minecolonies.blocks.AbstractBlockHut;
+import com.minecolonies.colony.workorders.WorkOrderBuild;
+import com.minecolonies.util.BlockUtils;
+import com.minecolonies.util.Log;
+import com.minecolonies.util.SchematicWrapper;
+import com.minecolonies.util.Utils;
+import com.schematica.world.storage.Schematic;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockDoor;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.item.Item;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.ChunkCache;
+import net.minecraft.world.World;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Computes the materials a build still needs, on a worker thread instead of the server thread.
+ * <p>
+ * The rotated schematic is compared to a snapshot of the world taken when the computation is queued, like path jobs
+ * do. The result counts the items needed for the blocks which differ from the world, blocks which are free to build
+ * are left out.
+ */
+public final class BillOfMaterials
+{
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(runnable ->
+    {
+        Thread worker = new Thread(runnable, "Minecolonies Materials Worker");
+        worker.setDaemon(true);
+        worker.setPriority(Thread.NORM_PRIORITY - 1);
+        return worker;
+    });
+
+    private BillOfMaterials()
+    {
+        //Hides default constructor.
+    }
+
+    /**
+     * Queue the computation of the materials of a work order.
+     *
+     * @param world     the world the work order is in.
+     * @param workOrder the work order.
+     * @return a Future containing the number of each item needed, or null if the schematic does not exist.
+     */
+    public static Future<Map<Item, Integer>> compute(World world, WorkOrderBuild workOrder)
+    {
+        SchematicWrapper schematic;
+        try
+        {
+            schematic = new SchematicWrapper(world, workOrder.getSchematicName());
+        }
+        catch (IllegalStateException e)
+        {
+            Log.logger.warn(String.format("Schematic: (%s) does not exist - can't compute its materials", workOrder.getSchematicName()), e);
+            return null;
+        }
+
+        schematic.rotate(workOrder.getRotation());
+        schematic.setPosition(workOrder.getBuildingLocation());
+        return compute(world, schematic);
+    }
+
+    /**
+     * Queue the computation of the materials of a placed schematic.
+     *
+     * @param world     the world the schematic is in.
+     * @param schematic the schematic, rotated and placed.
+     * @return a Future containing the number of each item needed.
+     */
+    public static Future<Map<Item, Integer>> compute(World world, SchematicWrapper schematic)
+    {
+        Schematic blocks = schematic.getSchematic();
+        BlockPos origin = schematic.getOffsetPosition();
+        BlockPos end = origin.add(blocks.getWidth() - 1, blocks.getHeight() - 1, blocks.getLength() - 1);
+        ChunkCache snapshot = new ChunkCache(world, origin, end, 0);
+
+        return executor.submit(() -> count(snapshot, blocks, origin));
+    }
+
+    private static Map<Item, Integer> count(ChunkCache snapshot, Schematic schematic, BlockPos origin)
+    {
+        Map<Item, Integer> materials = new HashMap<>();
+        BlockPos.MutableBlockPos local = new BlockPos.MutableBlockPos();
+        BlockPos.MutableBlockPos worldPos = new BlockPos.MutableBlockPos();
+        for (int y = 0; y < schematic.getHeight(); ++y)
+        {
+            for (int z = 0; z < schematic.getLength(); ++z)
+            {
+                for (int x = 0; x < schematic.getWidth(); ++x)
+                {
+                    local.set(x, y, z);
+                    worldPos.set(origin.getX() + x, origin.getY() + y, origin.getZ() + z);
+
+                    IBlockState state = schematic.getBlockState(local);
+                    if (SchematicWrapper.isSchematicBlockEqual(snapshot, worldPos, state))
+                    {
+                        continue;
+                    }
+
+                    Block block = state.getBlock();
+                    Block worldBlock = snapshot.getBlockState(worldPos).getBlock();
+                    Item item = Item.getItemFromBlock(block);
+                    if (item != null
+                          && block != Blocks.air
+                          && worldBlock != Blocks.bedrock
+                          && !(worldBlock instanceof AbstractBlockHut)
+                          && !isBlockFree(block, 0))
+                    {
+                        materials.merge(item, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+        return materials;
+    }
+
+    /**
+     * Defines blocks that can be built for free
+     *
+     * @param block    The block to check if it is free
+     * @param metadata The metadata of the block
+     * @return true or false
+     */
+    public static boolean isBlockFree(Block block, int metadata)
+    {
+        return block == null
+                || BlockUtils.isWater(block.getDefaultState())
+                || block.equals(Blocks.leaves)
+                || block.equals(Blocks.leaves2)
+                || block.equals(Blocks.double_plant) && Utils.testFlag(metadata, 0x08)
+                || block instanceof BlockDoor && Utils.testFlag(metadata, 0x08)
+                || block.equals(Blocks.grass)
+                || block.equals(Blocks.dirt);
+    }
+}
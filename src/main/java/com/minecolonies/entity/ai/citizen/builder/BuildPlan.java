@@ -0,0 +1,325 @@
+package com.minecolonies.entity.ai.citizen.builder;
+
+import com.minecolonies.util.SchematicWrapper;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.BlockPos;
+
+import java.util.*;
+
+/**
+ * The blocks a builder still has to work on for one work order, so the builder doesn't scan the schematic for the
+ * next block which differs from the world.
+ * <p>
+ * The blocks of a stage are compared to the world once, when the builder starts the stage, and queued in the order the
+ * builder works on them. After that the queue is kept up to date by {@link #onBlockChanged(SchematicWrapper, BlockPos)}:
+ * blocks which change in the footprint of the schematic are compared again, and queued if they need work.
+ * Queued blocks are checked once more when they are handed out, blocks which no longer need work are skipped.
+ * <p>
+ * The plan is too large to journal whole whenever the builder takes a block out of it, so only the stages which were
+ * planned, dropped or got blocks queued are journaled, see {@link #writeJournalChanges(NBTTagCompound)}. Blocks which
+ * were taken out are not journaled, a replayed plan still has them and skips them when they are handed out.
+ */
+public class BuildPlan
+{
+    /**
+     * Stages of a build, in the order the builder works on them.
+     */
+    public enum Stage
+    {
+        CLEAR,
+        STRUCTURE,
+        DECORATION
+    }
+
+    private static final String TAG_RESET = "reset";
+    private static final String TAG_DROP  = "drop";
+    private static final String TAG_SET   = "set";
+    private static final String TAG_ADD   = "add";
+
+    private final Map<Stage, Set<Integer>> pending = new EnumMap<>(Stage.class);
+
+    //  Changes since the plan was last journaled
+    private       boolean                  journalReset   = true;
+    private       Stage                    journalDrop    = null;
+    private final Set<Stage>               journalPlanned = EnumSet.noneOf(Stage.class);
+    private final Map<Stage, Set<Integer>> journalAdded   = new EnumMap<>(Stage.class);
+
+    /**
+     * Move the schematic to the next block of a stage which needs work.
+     * The stage is planned if it wasn't yet, and the plans of the earlier stages are dropped.
+     *
+     * @param schematic the schematic being built.
+     * @param stage     the stage the builder is in.
+     * @return false if no block of the stage needs work.
+     */
+    public boolean next(SchematicWrapper schematic, Stage stage)
+    {
+        if (pending.keySet().removeIf(planned -> planned.ordinal() < stage.ordinal()))
+        {
+            journalDrop = stage;
+        }
+
+        Set<Integer> blocks = pending.get(stage);
+        if (blocks == null)
+        {
+            blocks = plan(schematic, stage);
+            pending.put(stage, blocks);
+            journalPlanned.add(stage);
+        }
+
+        //A saved plan may be for an older version of the schematic
+        int size = schematic.getWidth() * schematic.getHeight() * schematic.getLength();
+        for (Iterator<Integer> it = blocks.iterator(); it.hasNext(); )
+        {
+            int index = it.next();
+            it.remove();
+            if (index >= size)
+            {
+                continue;
+            }
+
+            schematic.setLocalPosition(getLocalPosition(schematic, index));
+            if (needsWork(schematic, stage))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check if the plan of a stage has been made, so the builder has started it.
+     *
+     * @param stage the stage.
+     * @return true if the stage is planned.
+     */
+    public boolean isPlanned(Stage stage)
+    {
+        return pending.containsKey(stage);
+    }
+
+    /**
+     * Queue a block which changed in the world, if it needs work in one of the planned stages.
+     *
+     * @param schematic the schematic being built.
+     * @param pos       world position of the block.
+     */
+    public void onBlockChanged(SchematicWrapper schematic, BlockPos pos)
+    {
+        if (pending.isEmpty())
+        {
+            return;
+        }
+
+        BlockPos local = pos.subtract(schematic.getOffsetPosition());
+        if (local.getX() < 0 || local.getX() >= schematic.getWidth()
+              || local.getY() < 0 || local.getY() >= schematic.getHeight()
+              || local.getZ() < 0 || local.getZ() >= schematic.getLength())
+        {
+            return;
+        }
+
+        //The builder is working on the block at the current position, it has to be restored
+        BlockPos progress = schematic.getLocalPosition();
+        schematic.setLocalPosition(local);
+        for (Map.Entry<Stage, Set<Integer>> entry : pending.entrySet())
+        {
+            if (needsWork(schematic, entry.getKey()))
+            {
+                int index = getIndex(schematic, local);
+                entry.getValue().add(index);
+                journalAdded.computeIfAbsent(entry.getKey(), stage -> new LinkedHashSet<>()).add(index);
+            }
+        }
+        schematic.setLocalPosition(progress);
+    }
+
+    /**
+     * Compare every block of the schematic to the world, and queue those which need work in a stage.
+     * Clearing starts at the top of the schematic, building at the bottom.
+     */
+    private static Set<Integer> plan(SchematicWrapper schematic, Stage stage)
+    {
+        Set<Integer> blocks = new LinkedHashSet<>();
+        int size = schematic.getWidth() * schematic.getHeight() * schematic.getLength();
+        for (int i = 0; i < size; ++i)
+        {
+            int index = stage == Stage.CLEAR ? size - 1 - i : i;
+            schematic.setLocalPosition(getLocalPosition(schematic, index));
+            if (needsWork(schematic, stage))
+            {
+                blocks.add(index);
+            }
+        }
+        return blocks;
+    }
+
+    private static boolean needsWork(SchematicWrapper schematic, Stage stage)
+    {
+        switch (stage)
+        {
+            case CLEAR:
+                return schematic.needsClearing();
+            case STRUCTURE:
+                return schematic.needsStructure();
+            default:
+                return schematic.needsDecoration();
+        }
+    }
+
+    /**
+     * Index of a local position, in the order {@link SchematicWrapper#incrementBlock()} goes through the schematic.
+     */
+    private static int getIndex(SchematicWrapper schematic, BlockPos local)
+    {
+        return (local.getY() * schematic.getLength() + local.getZ()) * schematic.getWidth() + local.getX();
+    }
+
+    private static BlockPos getLocalPosition(SchematicWrapper schematic, int index)
+    {
+        int width = schematic.getWidth();
+        int length = schematic.getLength();
+        return new BlockPos(index % width, index / width / length, index / width % length);
+    }
+
+    private static int[] toArray(Set<Integer> blocks)
+    {
+        int[] array = new int[blocks.size()];
+        int i = 0;
+        for (int index : blocks)
+        {
+            array[i++] = index;
+        }
+        return array;
+    }
+
+    /**
+     * Save the changes since the plan was last journaled, and forget them.
+     * Stages planned since then are written whole, with the blocks still queued in them.
+     *
+     * @param compound the compound to save to.
+     * @return false if nothing changed.
+     */
+    public boolean writeJournalChanges(NBTTagCompound compound)
+    {
+        if (!journalReset && journalDrop == null && journalPlanned.isEmpty() && journalAdded.isEmpty())
+        {
+            return false;
+        }
+
+        compound.setBoolean(TAG_RESET, journalReset);
+        if (journalDrop != null)
+        {
+            compound.setString(TAG_DROP, journalDrop.name());
+        }
+
+        NBTTagCompound planned = new NBTTagCompound();
+        NBTTagCompound added = new NBTTagCompound();
+        for (Map.Entry<Stage, Set<Integer>> entry : pending.entrySet())
+        {
+            Stage stage = entry.getKey();
+            if (journalPlanned.contains(stage))
+            {
+                planned.setIntArray(stage.name(), toArray(entry.getValue()));
+            }
+            else if (journalAdded.containsKey(stage))
+            {
+                added.setIntArray(stage.name(), toArray(journalAdded.get(stage)));
+            }
+        }
+        compound.setTag(TAG_SET, planned);
+        compound.setTag(TAG_ADD, added);
+
+        clearJournalChanges();
+        return true;
+    }
+
+    /**
+     * Forget the changes since the plan was last journaled, called when the whole plan was saved.
+     */
+    public void clearJournalChanges()
+    {
+        journalReset = false;
+        journalDrop = null;
+        journalPlanned.clear();
+        journalAdded.clear();
+    }
+
+    /**
+     * Apply changes written by {@link #writeJournalChanges(NBTTagCompound)} to a saved plan.
+     *
+     * @param compound the saved plan.
+     * @param changes  the journaled changes.
+     */
+    public static void applyJournalChanges(NBTTagCompound compound, NBTTagCompound changes)
+    {
+        Stage drop = changes.hasKey(TAG_DROP) ? Stage.valueOf(changes.getString(TAG_DROP)) : null;
+        NBTTagCompound planned = changes.getCompoundTag(TAG_SET);
+        NBTTagCompound added = changes.getCompoundTag(TAG_ADD);
+
+        for (Stage stage : Stage.values())
+        {
+            if (changes.getBoolean(TAG_RESET) || (drop != null && stage.ordinal() < drop.ordinal()))
+            {
+                compound.removeTag(stage.name());
+            }
+
+            if (planned.hasKey(stage.name()))
+            {
+                compound.setIntArray(stage.name(), planned.getIntArray(stage.name()));
+            }
+            //  A stage the saved plan doesn't have is planned again when the plan is resumed, it gets no queued blocks
+            else if (added.hasKey(stage.name()) && compound.hasKey(stage.name()))
+            {
+                Set<Integer> blocks = new LinkedHashSet<>();
+                for (int index : compound.getIntArray(stage.name()))
+                {
+                    blocks.add(index);
+                }
+                for (int index : added.getIntArray(stage.name()))
+                {
+                    blocks.add(index);
+                }
+                compound.setIntArray(stage.name(), toArray(blocks));
+            }
+        }
+    }
+
+    /**
+     * Save the queued blocks of the planned stages.
+     *
+     * @param compound the compound to save to.
+     */
+    public void writeToNBT(NBTTagCompound compound)
+    {
+        for (Map.Entry<Stage, Set<Integer>> entry : pending.entrySet())
+        {
+            compound.setIntArray(entry.getKey().name(), toArray(entry.getValue()));
+        }
+    }
+
+    /**
+     * Read a plan which was saved by {@link #writeToNBT(NBTTagCompound)}.
+     *
+     * @param compound the compound to read from.
+     * @return the plan.
+     */
+    public static BuildPlan readFromNBT(NBTTagCompound compound)
+    {
+        BuildPlan plan = new BuildPlan();
+        plan.journalReset = false;
+        for (Stage stage : Stage.values())
+        {
+            if (compound.hasKey(stage.name()))
+            {
+                Set<Integer> blocks = new LinkedHashSet<>();
+                for (int index : compound.getIntArray(stage.name()))
+                {
+                    blocks.add(index);
+                }
+                plan.pending.put(stage, blocks);
+            }
+        }
+        return plan;
+    }
+}
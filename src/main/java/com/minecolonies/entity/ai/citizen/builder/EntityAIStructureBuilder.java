@@ -26,7 +26,11 @@ import net.minecraft.util.EnumFacing;
 import net.minecraft.util.MathHelper;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import static com.minecolonies.entity.ai.util.AIState.*;
 
@@ -68,6 +72,10 @@ public class EntityAIStructureBuilder extends AbstractEntityAIStructure<JobBuild
      * After how many actions should the builder dump his inventory.
      */
     private static final int ACTIONS_UNTIL_DUMP = 1024;
+    /**
+     * The materials of the current build, computed on a worker thread.
+     */
+    private Future<Map<Item, Integer>> requiredMaterials = null;
 
     /**
      * Initialize the builder and add all his tasks.
@@ -122,6 +130,7 @@ public class EntityAIStructureBuilder extends AbstractEntityAIStructure<JobBuild
         if(!job.hasSchematic())//is build in progress
         {
             workFrom = null;
+            requiredMaterials = null;
             loadSchematic();
 
             WorkOrderBuild wo = job.getWorkOrder();
@@ -222,7 +231,9 @@ public class EntityAIStructureBuilder extends AbstractEntityAIStructure<JobBuild
 
         job.getSchematic().rotate(workOrder.getRotation());
         job.getSchematic().setPosition(pos);
-        workOrder.setCleared(false);
+
+        //A builder resuming its plan after a restart may be past clearing, which would tear down what it built
+        workOrder.setCleared(job.startBuildPlan() && !job.getBuildPlan().isPlanned(BuildPlan.Stage.CLEAR));
     }
 
     private AIState startWorkingAtOwnBuilding()
@@ -367,7 +378,7 @@ public class EntityAIStructureBuilder extends AbstractEntityAIStructure<JobBuild
             }
         }
 
-        if(!job.getSchematic().findNextBlockToClear())//method returns false if there is no next block (schematic finished)
+        if(!job.getBuildPlan().next(job.getSchematic(), BuildPlan.Stage.CLEAR))//method returns false if there is no next block (schematic finished)
         {
             job.getSchematic().reset();
             incrementBlock();
@@ -383,58 +394,41 @@ public class EntityAIStructureBuilder extends AbstractEntityAIStructure<JobBuild
         //We need to deal with materials
         if(!Configurations.builderInfiniteResources)
         {
-            //TODO thread this
-            while(job.getSchematic().findNextBlock())
+            if(requiredMaterials == null)
             {
-                if(job.getSchematic().doesSchematicBlockEqualWorldBlock())
-                {
-                    continue;
-                }
-
-                Block block = job.getSchematic().getBlock();
-                ItemStack itemstack = new ItemStack(block, 1);
+                requiredMaterials = BillOfMaterials.compute(world, job.getSchematic());
+            }
+            if(!requiredMaterials.isDone())
+            {
+                return this.getState();
+            }
 
-                Block worldBlock = BlockPosUtil.getBlock(world, job.getSchematic().getBlockPosition());
+            Map<Item, Integer> materials;
+            try
+            {
+                materials = requiredMaterials.get();
+            }
+            catch(InterruptedException | ExecutionException e)
+            {
+                Log.logger.error(String.format("Builder (%d:%d) ERROR - Could not compute the materials of %s",
+                        worker.getColony().getID(), worker.getCitizenData().getId(), job.getSchematic().getName()), e);
+                materials = Collections.emptyMap();
+            }
 
-                if(itemstack.getItem() != null
-                        && block != null
-                        && block != Blocks.air
-                        && worldBlock != Blocks.bedrock
-                        && !(worldBlock instanceof AbstractBlockHut)
-                        && !isBlockFree(block, 0))
+            for(Item item : materials.keySet())
+            {
+                if(checkOrRequestItems(new ItemStack(item)))
                 {
-                    if(checkOrRequestItems(new ItemStack(block)))
-                    {
-                        job.getSchematic().reset();
-                        return this.getState();
-                    }
+                    return this.getState();
                 }
             }
+            requiredMaterials = null;
             job.getSchematic().reset();
             incrementBlock();
         }
         return AIState.BUILDER_STRUCTURE_STEP;
     }
 
-    /**
-     * Defines blocks that can be built for free
-     *
-     * @param block    The block to check if it is free
-     * @param metadata The metadata of the block
-     * @return true or false
-     */
-    private boolean isBlockFree(Block block, int metadata)
-    {
-        return block == null
-                || BlockUtils.isWater(block.getDefaultState())
-                || block.equals(Blocks.leaves)
-                || block.equals(Blocks.leaves2)
-                || block.equals(Blocks.double_plant) && Utils.testFlag(metadata, 0x08)
-                || block instanceof BlockDoor && Utils.testFlag(metadata, 0x08)
-                || block.equals(Blocks.grass)
-                || block.equals(Blocks.dirt);
-    }
-
     private AIState structureStep()
     {
         if(!goToConstructionSite())
@@ -621,7 +615,7 @@ public class EntityAIStructureBuilder extends AbstractEntityAIStructure<JobBuild
     {
         if(block != Blocks.air)//Breaking blocks doesn't require taking materials from the citizens inventory
         {
-            if (isBlockFree(block, block.getMetaFromState(metadata)))
+            if (BillOfMaterials.isBlockFree(block, block.getMetaFromState(metadata)))
             {
                 return true;
             }
@@ -750,7 +744,7 @@ public class EntityAIStructureBuilder extends AbstractEntityAIStructure<JobBuild
 
     private AIState findNextBlockSolid()
     {
-        if(!job.getSchematic().findNextBlockSolid())//method returns false if there is no next block (schematic finished)
+        if(!job.getBuildPlan().next(job.getSchematic(), BuildPlan.Stage.STRUCTURE))//method returns false if there is no next block (schematic finished)
         {
             job.getSchematic().reset();
             incrementBlock();
@@ -761,7 +755,7 @@ public class EntityAIStructureBuilder extends AbstractEntityAIStructure<JobBuild
 
     private AIState findNextBlockNonSolid()
     {
-        if(!job.getSchematic().findNextBlockNonSolid())//method returns false if there is no next block (schematic finished)
+        if(!job.getBuildPlan().next(job.getSchematic(), BuildPlan.Stage.DECORATION))//method returns false if there is no next block (schematic finished)
         {
             job.getSchematic().reset();
             incrementBlock();
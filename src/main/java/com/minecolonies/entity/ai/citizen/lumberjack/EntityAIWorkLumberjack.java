@@ -1,5 +1,6 @@
 package com.minecolonies.entity.ai.citizen.lumberjack;
 
+import com.minecolonies.colony.TreeRegistry;
 import com.minecolonies.colony.jobs.JobLumberjack;
 import com.minecolonies.entity.ai.basic.AbstractEntityAIInteract;
 import com.minecolonies.entity.ai.citizen.lumberjack.Tree;
@@ -248,11 +249,18 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
 
     /**
      * Search for a tree
+     * Takes the closest unclaimed tree the colony knows of, and searches for trees outside of the colony if there
+     * is none or the colony is not done looking for trees.
      *
      * @return LUMBERJACK_GATHERING if job was canceled
      */
     private AIState findTree()
     {
+        if (pathResult == null && claimTreeFromColony())
+        {
+            return getState();
+        }
+
         if (pathResult == null || pathResult.treeLocation == null)
         {
             pathResult = worker.getNavigator().moveToTree(SEARCH_RANGE + searchIncrement, 1.0D);
@@ -270,11 +278,36 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
         return getState();
     }
 
+    /**
+     * Claim the closest unclaimed tree the colony knows of
+     *
+     * @return true if a tree was claimed
+     */
+    private boolean claimTreeFromColony()
+    {
+        TreeRegistry registry = worker.getColony().getTreeRegistry();
+        if (!registry.isScanComplete())
+        {
+            return false;
+        }
+
+        BlockPos location = registry.claimNearest(world, getOwnBuilding().getLocation(), SEARCH_RANGE + searchIncrement, worker.getCitizenData().getId());
+        if (location == null)
+        {
+            return false;
+        }
+
+        job.tree = new Tree(world, location);
+        job.tree.findLogs(world);
+        return true;
+    }
+
     private AIState setNewTree()
     {
-        if (pathResult.treeLocation != null)
+        Tree tree = pathResult.treeLocation != null ? new Tree(world, pathResult.treeLocation) : null;
+        if (tree != null && worker.getColony().getTreeRegistry().claim(tree.getLocation(), worker.getCitizenData().getId()))
         {
-            job.tree = new Tree(world, pathResult.treeLocation);
+            job.tree = tree;
             job.tree.findLogs(world);
         }
         else
@@ -356,6 +389,7 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
     {
         if(plantSapling(job.tree.getLocation()))
         {
+            worker.getColony().getTreeRegistry().release(job.tree.getLocation());
             job.tree = null;
         }
     }
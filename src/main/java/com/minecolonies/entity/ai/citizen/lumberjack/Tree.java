@@ -1,5 +1,6 @@
 package com.minecolonies.entity.ai.citizen.lumberjack;
 
+import com.minecolonies.configuration.Configurations;
 import com.minecolonies.util.BlockPosUtil;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockNewLog;
@@ -13,10 +14,7 @@ import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.World;
 import net.minecraftforge.common.util.Constants;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.*;
 
 /**
  * Custom class for Trees. Used by lumberjack
@@ -104,7 +102,7 @@ public class Tree
     public void findLogs(World world)
     {
         addAndSearch(world, location);
-        Collections.sort(woodBlocks, (c1, c2) -> (int) (c1.distanceSq(location) - c2.distanceSq(location)));
+        Collections.sort(woodBlocks, (c1, c2) -> Double.compare(c1.distanceSq(location), c2.distanceSq(location)));
         if(getStumpLocations().isEmpty())
         {
             fillTreeStumps(world,location.getY());
@@ -138,22 +136,47 @@ public class Tree
 
     /**
      * Adds a log and searches for further logs(Breadth first search)
+     * Stops after {@link Configurations#maxTreeLogs} logs, the closest logs to the stump are found first.
      * @param world The world the log is in
      * @param log the log to add
      */
     private void addAndSearch(World world, BlockPos log)
     {
-        woodBlocks.add(log);
-        for(int y = -1; y <= 1; y++)
+        Set<Long> visited = new HashSet<>();
+        for (BlockPos wood : woodBlocks)
         {
-            for(int x = -1; x <= 1; x++)
+            visited.add(wood.toLong());
+        }
+
+        Deque<BlockPos> queue = new ArrayDeque<>();
+        if (visited.add(log.toLong()))
+        {
+            woodBlocks.add(log);
+        }
+        queue.add(log);
+
+        BlockPos.MutableBlockPos temp = new BlockPos.MutableBlockPos();
+        while (!queue.isEmpty() && woodBlocks.size() < Configurations.maxTreeLogs)
+        {
+            BlockPos current = queue.poll();
+            for(int y = -1; y <= 1; y++)
             {
-                for(int z = -1; z <= 1; z++)
+                for(int x = -1; x <= 1; x++)
                 {
-                    BlockPos temp = log.add(x, y, z);
-                    if(BlockPosUtil.getBlock(world, temp).isWood(null,new BlockPos(0,0,0)) && !woodBlocks.contains(temp))
+                    for(int z = -1; z <= 1; z++)
                     {
-                        addAndSearch(world, temp);
+                        temp.set(current.getX() + x, current.getY() + y, current.getZ() + z);
+                        if(!visited.contains(temp.toLong()) && world.getBlockState(temp).getBlock().isWood(world, temp))
+                        {
+                            BlockPos wood = new BlockPos(temp);
+                            visited.add(wood.toLong());
+                            woodBlocks.add(wood);
+                            queue.add(wood);
+                            if (woodBlocks.size() >= Configurations.maxTreeLogs)
+                            {
+                                return;
+                            }
+                        }
                     }
                 }
             }
@@ -168,28 +191,13 @@ public class Tree
      */
     private void checkTree(World world, BlockPos topLog)
     {
-        if (!world.getBlockState(new BlockPos(location.getX(), location.getY() - 1, location.getZ())).getBlock().getMaterial().isSolid())
+        if (!world.getBlockState(location.down()).getBlock().getMaterial().isSolid())
         {
             return;
         }
-        int leafCount = 0;
-        for (int x = -1; x <= 1; x++)
+        if (hasEnoughLeaves(world, topLog))
         {
-            for (int z = -1; z <= 1; z++)
-            {
-                for (int y = -1; y <= 1; y++)
-                {
-                    if (world.getBlockState(new BlockPos(topLog.getX() + x, topLog.getY() + y, topLog.getZ() + z)).getBlock().getMaterial().equals(Material.leaves))
-                    {
-                        leafCount++;
-                        if (leafCount >= NUMBER_OF_LEAVES)
-                        {
-                            isTree = true;
-                            return;
-                        }
-                    }
-                }
-            }
+            isTree = true;
         }
     }
 
@@ -200,7 +208,7 @@ public class Tree
      * @param pos   The coordinates
      * @return the base log position
      */
-    private static BlockPos getBaseLog(IBlockAccess world, BlockPos pos)
+    public static BlockPos getBaseLog(IBlockAccess world, BlockPos pos)
     {
         BlockPos basePos = pos;
         while (world.getBlockState(basePos.down()).getBlock().isWood(world, basePos))
@@ -246,16 +254,22 @@ public class Tree
         BlockPos basePos = getBaseLog(world, pos);
 
         //Make sure tree is on solid ground and tree is not build above cobblestone
-        return world.getBlockState(basePos.down()).getBlock().getMaterial().isSolid()
-                && world.getBlockState(basePos.down()).getBlock() != Blocks.cobblestone
-                && hasEnoughLeaves(world, pos);
+        Block ground = world.getBlockState(basePos.down()).getBlock();
+        return ground.getMaterial().isSolid()
+                && ground != Blocks.cobblestone
+                && hasEnoughLeaves(world, getTopLog(world, pos));
     }
 
-    private static boolean hasEnoughLeaves(IBlockAccess world, BlockPos pos)
+    /**
+     * Checks if there are enough leaves around the top log of a tree
+     *
+     * @param world  the world
+     * @param topPos the top log
+     * @return true if there are at least NUMBER_OF_LEAVES leaves
+     */
+    private static boolean hasEnoughLeaves(IBlockAccess world, BlockPos topPos)
     {
-        //Get top log
-        BlockPos topPos = getTopLog(world, pos);
-
+        BlockPos.MutableBlockPos probe = new BlockPos.MutableBlockPos();
         int leafCount = 0;
         for (int dx = -1; dx <= 1; dx++)
         {
@@ -263,7 +277,8 @@ public class Tree
             {
                 for (int dy = -1; dy <= 1; dy++)
                 {
-                    if (world.getBlockState(topPos.add(dx, dy, dz)).getBlock().getMaterial().equals(Material.leaves))
+                    probe.set(topPos.getX() + dx, topPos.getY() + dy, topPos.getZ() + dz);
+                    if (world.getBlockState(probe).getBlock().getMaterial().equals(Material.leaves))
                     {
                         leafCount++;
                         if (leafCount >= NUMBER_OF_LEAVES)
@@ -1,5 +1,6 @@
 package com.minecolonies.entity.ai.util;
 
+import com.minecolonies.util.TickProfiler;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -22,6 +23,16 @@ public class AITarget
     private final BooleanSupplier   predicate;
     private final Supplier<AIState> action;
 
+    private TickProfiler.Section predicateSection = null;
+    private TickProfiler.Section actionSection    = null;
+
+    /**
+     * Ticks to wait before testing the predicate again once it failed, 0 to test every tick.
+     */
+    private int  recheckDelay  = 0;
+    private long deferredAt    = -1;
+    private long deferredUntil = 0;
+
     /**
      * Construct a target.
      *
@@ -108,7 +119,20 @@ public class AITarget
      */
     public boolean test()
     {
-        return predicate.getAsBoolean();
+        if (predicateSection == null)
+        {
+            return predicate.getAsBoolean();
+        }
+
+        long start = predicateSection.begin();
+        try
+        {
+            return predicate.getAsBoolean();
+        }
+        finally
+        {
+            predicateSection.end(start);
+        }
     }
 
     /**
@@ -119,6 +143,70 @@ public class AITarget
      */
     public AIState apply()
     {
-        return action.get();
+        if (actionSection == null)
+        {
+            return action.get();
+        }
+
+        long start = actionSection.begin();
+        try
+        {
+            return action.get();
+        }
+        finally
+        {
+            actionSection.end(start);
+        }
+    }
+
+    /**
+     * Test the predicate at most every few ticks once it failed.
+     * Use for expensive predicates which do not need an immediate reaction.
+     * The delay ends early when the state of the ai changes.
+     *
+     * @param ticks ticks to wait after the predicate failed.
+     * @return this target.
+     */
+    public AITarget withRecheckDelay(final int ticks)
+    {
+        this.recheckDelay = ticks;
+        return this;
+    }
+
+    /**
+     * Return whether the predicate failed too recently to be tested again.
+     *
+     * @param tick            the current tick of the ai.
+     * @param stateChangeTick the tick at which the state of the ai last changed.
+     * @return true if the target has to be skipped.
+     */
+    public boolean isDeferred(final long tick, final long stateChangeTick)
+    {
+        return recheckDelay > 0 && tick < deferredUntil && deferredAt > stateChangeTick;
+    }
+
+    /**
+     * Called when the predicate failed, skips the target for the recheck delay.
+     *
+     * @param tick the current tick of the ai.
+     */
+    public void defer(final long tick)
+    {
+        if (recheckDelay > 0)
+        {
+            deferredAt = tick;
+            deferredUntil = tick + recheckDelay;
+        }
+    }
+
+    /**
+     * Measure the predicate and the action of this target with the profiler.
+     *
+     * @param name name of the target in the profiler report.
+     */
+    public void setProfilerName(@NotNull final String name)
+    {
+        predicateSection = TickProfiler.getSection(TickProfiler.TARGET, name + " predicate");
+        actionSection = TickProfiler.getSection(TickProfiler.TARGET, name + " action");
     }
 }
@@ -38,8 +38,13 @@ public abstract class AbstractPathJob implements Callable<PathEntity>
     //  May be faster, but can produce strange results
     private boolean allowJumpPointSearchTypeWalk = false;
 
-    private final Queue<Node> nodesOpen = new PriorityQueue<>(500);
-    private final Map<Integer, Node> nodesVisited = new HashMap<>();
+    //  Open and visited sets of the running search, borrowed from the worker thread's PathSearchContext
+    private PathSearchContext context;
+    private NodeHeap nodesOpen;
+    private NodeTable nodesVisited;
+
+    //  Scratch position for walking to neighbours without allocating
+    private final BlockPos.MutableBlockPos walkPos = new BlockPos.MutableBlockPos();
 
     protected final PathResult result;
 
@@ -141,6 +146,25 @@ public abstract class AbstractPathJob implements Callable<PathEntity>
      * @return PathEntity of a path to the given location, a best-effort, or null
      */
     protected PathEntity search()
+    {
+        context = PathSearchContext.acquire(!debugDrawEnabled);
+        nodesOpen = context.open;
+        nodesVisited = context.visited;
+
+        try
+        {
+            return searchNodes();
+        }
+        finally
+        {
+            context.release();
+            context = null;
+            nodesOpen = null;
+            nodesVisited = null;
+        }
+    }
+
+    private PathEntity searchNodes()
     {
         Node bestNode = getAndSetupStartNode();
 
@@ -239,57 +263,61 @@ public abstract class AbstractPathJob implements Callable<PathEntity>
 
     private void walkCurrentNode(Node currentNode)
     {
-        BlockPos dPos = new BlockPos(0, 0, 0);
+        int dx = 0;
+        int dy = 0;
+        int dz = 0;
         if (currentNode.parent != null)
         {
-            dPos = currentNode.pos.subtract(currentNode.parent.pos);
+            dx = currentNode.pos.getX() - currentNode.parent.pos.getX();
+            dy = currentNode.pos.getY() - currentNode.parent.pos.getY();
+            dz = currentNode.pos.getZ() - currentNode.parent.pos.getZ();
         }
 
         //  On a ladder, we can go 1 straight-up
-        if (onLadderGoingUp(currentNode, dPos))
+        if (onLadderGoingUp(currentNode, dx, dy, dz))
         {
-            walk(currentNode, new BlockPos(0, 1, 0));
+            walk(currentNode, 0, 1, 0);
         }
 
         //  We can also go down 1, if the lower block is a ladder
-        if (onLadderGoingDown(currentNode, dPos))
+        if (onLadderGoingDown(currentNode, dx, dy, dz))
         {
-            walk(currentNode, new BlockPos(0, -1, 0));
+            walk(currentNode, 0, -1, 0);
         }
 
         // N
-        if (dPos.getZ() <= 0)
+        if (dz <= 0)
         {
-            walk(currentNode, new BlockPos(0, 0, -1));
+            walk(currentNode, 0, 0, -1);
         }
 
         // E
-        if (dPos.getX() >= 0)
+        if (dx >= 0)
         {
-            walk(currentNode, new BlockPos(1, 0, 0));
+            walk(currentNode, 1, 0, 0);
         }
 
         // S
-        if (dPos.getZ() >= 0)
+        if (dz >= 0)
         {
-            walk(currentNode, new BlockPos(0, 0, 1));
+            walk(currentNode, 0, 0, 1);
         }
 
         // W
-        if (dPos.getX() <= 0)
+        if (dx <= 0)
         {
-            walk(currentNode, new BlockPos(-1, 0, 0));
+            walk(currentNode, -1, 0, 0);
         }
     }
 
-    private boolean onLadderGoingDown(Node currentNode, BlockPos dPos)
+    private boolean onLadderGoingDown(Node currentNode, int dx, int dy, int dz)
     {
-        return (dPos.getY() <= 0 || dPos.getX() != 0 || dPos.getZ() != 0) && isLadder(currentNode.pos.down());
+        return (dy <= 0 || dx != 0 || dz != 0) && isLadder(currentNode.pos.down());
     }
 
-    private static boolean onLadderGoingUp(Node currentNode, BlockPos dPos)
+    private static boolean onLadderGoingUp(Node currentNode, int dx, int dy, int dz)
     {
-        return currentNode.isLadder && (dPos.getY() >= 0 || dPos.getX() != 0 || dPos.getZ() != 0);
+        return currentNode.isLadder && (dy >= 0 || dx != 0 || dz != 0);
     }
 
     private void handleDebugDraw()
@@ -308,8 +336,9 @@ public abstract class AbstractPathJob implements Callable<PathEntity>
     @NotNull
     private Node getAndSetupStartNode()
     {
-        Node startNode = new Node(start,
-                computeHeuristic(start));
+        double heuristic = computeHeuristic(start);
+        Node startNode = context.obtainNode();
+        startNode.reset(null, start.getX(), start.getY(), start.getZ(), 0, heuristic, heuristic);
 
         if (isLadder(start))
         {
@@ -320,8 +349,8 @@ public abstract class AbstractPathJob implements Callable<PathEntity>
             startNode.isSwimming = true;
         }
 
-        nodesOpen.offer(startNode);
-        nodesVisited.put(computeNodeKey(start), startNode);
+        nodesOpen.add(startNode);
+        nodesVisited.put(computeNodeKey(start.getX(), start.getY(), start.getZ()), startNode);
 
         ++totalNodesAdded;
 
@@ -502,28 +531,32 @@ public abstract class AbstractPathJob implements Callable<PathEntity>
      * This creates unique keys for all blocks within a 4096x256x4096 cube, which is FAR
      * bigger volume than one should attempt to pathfind within
      *
-     * @param pos BlockPos to generate key from
+     * @param x x coordinate to generate key from
+     * @param y y coordinate to generate key from
+     * @param z z coordinate to generate key from
      * @return key for node in map
      */
-    private static int computeNodeKey(BlockPos pos)
+    private static int computeNodeKey(int x, int y, int z)
     {
-        return ((pos.getX() & 0xFFF) << 20) |
-                ((pos.getY() & 0xFF) << 12) |
-                (pos.getZ() & 0xFFF);
+        return ((x & 0xFFF) << 20) |
+                ((y & 0xFF) << 12) |
+                (z & 0xFFF);
     }
 
     /**
      * Compute the cost (immediate 'g' value) of moving from the parent space to the new space
      *
      * @param parent The parent node being moved from
-     * @param dPos The delta from the parent to the new space; assumes dx,dy,dz in range of [-1..1]
+     * @param dx The x delta from the parent to the new space; assumes dx,dy,dz in range of [-1..1]
+     * @param dy The y delta from the parent to the new space
+     * @param dz The z delta from the parent to the new space
      * @return cost to move from the parent to the new position
      */
-    protected static double computeCost(Node parent, BlockPos dPos, boolean isSwimming)
+    protected static double computeCost(Node parent, int dx, int dy, int dz, boolean isSwimming)
     {
         double cost = 1D;
 
-        if (dPos.getY() != 0 && (dPos.getX() != 0 || dPos.getZ() != 0))
+        if (dy != 0 && (dx != 0 || dz != 0))
         {
             //  Tax the cost for jumping, dropping (warning: also taxes stairs)
             cost *= 1.1D;
@@ -561,6 +594,18 @@ public abstract class AbstractPathJob implements Callable<PathEntity>
      */
     protected abstract boolean isAtDestination(Node n);
 
+    /**
+     * Return false if the search may not expand into the given position, for example because it lies outside of a
+     * precomputed corridor
+     *
+     * @param pos position about to be added as a new node
+     * @return true if the position may be searched
+     */
+    protected boolean isInSearchArea(BlockPos pos)
+    {
+        return true;
+    }
+
     /**
      * Compute a 'result score' for the Node; if no destination is determined, the node that had the highest
      * 'result' score is used.
@@ -575,16 +620,19 @@ public abstract class AbstractPathJob implements Callable<PathEntity>
      * move and adding or updating a node, as appropriate
      *
      * @param parent Node being walked from
-     * @param dPos Delta from parent, expected in range of [-1..1]
+     * @param dx x delta from parent, expected in range of [-1..1]
+     * @param dy y delta from parent, expected in range of [-1..1]
+     * @param dz z delta from parent, expected in range of [-1..1]
      * @return true if a node was added or updated when attempting to move in the given direction
      */
-    protected final boolean walk(Node parent, BlockPos dPos)
+    protected final boolean walk(Node parent, int dx, int dy, int dz)
     {
-        BlockPos pos = parent.pos.add(dPos);
+        BlockPos.MutableBlockPos pos = walkPos;
+        pos.set(parent.pos.getX() + dx, parent.pos.getY() + dy, parent.pos.getZ() + dz);
 
         //  Cheap test to perform before doing a 'y' test
         //  Has this node been visited?
-        int nodeKey = computeNodeKey(pos);
+        int nodeKey = computeNodeKey(pos.getX(), pos.getY(), pos.getZ());
         Node node = nodesVisited.get(nodeKey);
 
         //  Can we traverse into this node?  Fix the y up
@@ -598,8 +646,8 @@ public abstract class AbstractPathJob implements Callable<PathEntity>
         if (pos.getY() != newY)
         {
             //  Has this node been visited?
-            pos = new BlockPos(pos.getX(), newY, pos.getZ());
-            nodeKey = computeNodeKey(pos);
+            pos.set(pos.getX(), newY, pos.getZ());
+            nodeKey = computeNodeKey(pos.getX(), pos.getY(), pos.getZ());
             node = nodesVisited.get(nodeKey);
             if (nodeClosed(node))
             {
@@ -609,10 +657,15 @@ public abstract class AbstractPathJob implements Callable<PathEntity>
         }
 
 
+        if (node == null && !isInSearchArea(pos))
+        {
+            return false;
+        }
+
         boolean isSwimming = calculateSwimming(world, pos, node);
 
         //  Cost may have changed due to a jump up or drop
-        double stepCost = computeCost(parent, dPos, isSwimming);
+        double stepCost = computeCost(parent, dx, dy, dz, isSwimming);
         double heuristic = computeHeuristic(pos);
         double cost = parent.cost + stepCost;
         double score = cost + heuristic;
@@ -624,27 +677,28 @@ public abstract class AbstractPathJob implements Callable<PathEntity>
                 return false;
             }
 
+            //  Decrease-key: the node is already open, move it up to its new place
+            nodesOpen.update(node);
         }
         else
         {
             node = createNode(parent, pos, nodeKey, isSwimming, heuristic, cost, score);
+            nodesOpen.add(node);
         }
 
-        nodesOpen.offer(node);
-
         //  Jump Point Search-ish optimization:
         // If this node was a (heuristic-based) improvement on our parent,
         // lets go another step in the same direction...
-        performJumpPointSearch(parent, dPos, node);
+        performJumpPointSearch(parent, dx, dy, dz, node);
 
         return true;
     }
 
-    private void performJumpPointSearch(Node parent, BlockPos dPos, Node node)
+    private void performJumpPointSearch(Node parent, int dx, int dy, int dz, Node node)
     {
         if (allowJumpPointSearchTypeWalk && node.heuristic <= parent.heuristic)
         {
-            walk(node, dPos);
+            walk(node, dx, dy, dz);
         }
     }
 
@@ -676,8 +730,8 @@ public abstract class AbstractPathJob implements Callable<PathEntity>
     @NotNull
     private Node createNode(Node parent, BlockPos pos, int nodeKey, boolean isSwimming, double heuristic, double cost, double score)
     {
-        Node node;
-        node = new Node(parent, pos, cost, heuristic, score);
+        Node node = context.obtainNode();
+        node.reset(parent, pos.getX(), pos.getY(), pos.getZ(), cost, heuristic, score);
         nodesVisited.put(nodeKey, node);
         if (debugDrawEnabled)
         {
@@ -706,7 +760,7 @@ public abstract class AbstractPathJob implements Callable<PathEntity>
             return true;
         }
 
-        if (!nodesOpen.remove(node))
+        if (!nodesOpen.contains(node))
         {
             return true;
         }
@@ -858,6 +912,17 @@ public abstract class AbstractPathJob implements Callable<PathEntity>
      * @return true if the block does not block movement
      */
     protected boolean isPassable(Block block, BlockPos pos)
+    {
+        return isPassableBlock(block);
+    }
+
+    /**
+     * Default movement rule of {@link #isPassable(Block, BlockPos)}, independent of the job
+     *
+     * @param block block to check
+     * @return true if the block does not block movement
+     */
+    static boolean isPassableBlock(Block block)
     {
         if (block.getMaterial() != Material.air)
         {
@@ -889,6 +954,17 @@ public abstract class AbstractPathJob implements Callable<PathEntity>
      * @return
      */
     protected boolean isWalkableSurface(Block block, BlockPos pos)
+    {
+        return isWalkableSurfaceBlock(block);
+    }
+
+    /**
+     * Default rule of {@link #isWalkableSurface(Block, BlockPos)}, independent of the job
+     *
+     * @param block block to check
+     * @return true if the block is solid and can be stood upon
+     */
+    static boolean isWalkableSurfaceBlock(Block block)
     {
         return block.getMaterial().isSolid() &&
                 !(block instanceof BlockFence) &&
@@ -7,7 +7,10 @@ public class Node implements Comparable<Node>
     public Node parent;
     public final BlockPos pos;
 
-    private final int hash;
+    //  Same object as pos, kept to move pooled nodes without allocating a new BlockPos
+    private final BlockPos.MutableBlockPos mutablePos;
+
+    private int hash;
 
     public int counterAdded;
     public int counterVisited;
@@ -26,6 +29,9 @@ public class Node implements Comparable<Node>
     public boolean isLadder = false;
     public boolean isSwimming = false;
 
+    //  Position in the open set heap, -1 if not in the open set
+    int heapIndex = -1;
+
     /**
      * Create a Node that inherits from a parent, and has a Cost and Heuristic estimate
      * @param parent parent node arrives from
@@ -36,13 +42,8 @@ public class Node implements Comparable<Node>
      */
     public Node(Node parent, BlockPos pos, double cost, double heuristic, double score)
     {
-        this.parent = parent;
-        this.pos = pos;
-        this.steps = parent != null ? (parent.steps + 1) : 0;
-        this.cost = cost;
-        this.heuristic = heuristic;
-        this.score = score;
-        this.hash = pos.getX() ^ ((pos.getZ() << 12) | (pos.getZ() >> 20)) ^ (pos.getY() << 24);
+        this();
+        reset(parent, pos.getX(), pos.getY(), pos.getZ(), cost, heuristic, score);
     }
 
     /**
@@ -55,6 +56,43 @@ public class Node implements Comparable<Node>
         this(null, pos, 0, heuristic, heuristic);
     }
 
+    /**
+     * Create an empty Node, to be filled with {@link #reset(Node, int, int, int, double, double, double)}
+     */
+    Node()
+    {
+        mutablePos = new BlockPos.MutableBlockPos();
+        pos = mutablePos;
+    }
+
+    /**
+     * Reinitialize the Node so it can be reused for another position or another search
+     * @param parent parent node arrives from
+     * @param x x coordinate of node
+     * @param y y coordinate of node
+     * @param z z coordinate of node
+     * @param cost node cost
+     * @param heuristic heuristic estimate
+     * @param score node total score
+     */
+    final void reset(Node parent, int x, int y, int z, double cost, double heuristic, double score)
+    {
+        this.parent = parent;
+        this.mutablePos.set(x, y, z);
+        this.steps = parent != null ? (parent.steps + 1) : 0;
+        this.cost = cost;
+        this.heuristic = heuristic;
+        this.score = score;
+        this.hash = x ^ ((z << 12) | (z >> 20)) ^ (y << 24);
+
+        this.counterAdded = 0;
+        this.counterVisited = 0;
+        this.closed = false;
+        this.isLadder = false;
+        this.isSwimming = false;
+        this.heapIndex = -1;
+    }
+
     @Override
     public int compareTo(Node o)
     {
@@ -0,0 +1,164 @@
+package com.minecolonies.entity.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of open Nodes, ordered by {@link Node#compareTo(Node)}.
+ * Every Node remembers its own index in the heap, so membership tests are O(1) and a Node whose score
+ * improved can be moved up in place (decrease-key) instead of being removed and offered again.
+ */
+final class NodeHeap
+{
+    private static final int INITIAL_CAPACITY = 512;
+
+    private Node[] heap = new Node[INITIAL_CAPACITY];
+    private int    size = 0;
+
+    /**
+     * @return true if no Node is left in the heap
+     */
+    boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * @return number of Nodes in the heap
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * @param node Node to test
+     * @return true if the Node is currently in the heap
+     */
+    boolean contains(Node node)
+    {
+        return node.heapIndex >= 0 && node.heapIndex < size && heap[node.heapIndex] == node;
+    }
+
+    /**
+     * Add a Node to the heap
+     *
+     * @param node Node to add, must not already be in the heap
+     */
+    void add(Node node)
+    {
+        if (size == heap.length)
+        {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+
+        node.heapIndex = size;
+        heap[size] = node;
+        ++size;
+        siftUp(node.heapIndex);
+    }
+
+    /**
+     * Remove and return the Node with the lowest score
+     *
+     * @return best Node, or null if empty
+     */
+    Node poll()
+    {
+        if (size == 0)
+        {
+            return null;
+        }
+
+        Node result = heap[0];
+        --size;
+
+        Node last = heap[size];
+        heap[size] = null;
+
+        if (size > 0)
+        {
+            heap[0] = last;
+            last.heapIndex = 0;
+            siftDown(0);
+        }
+
+        result.heapIndex = -1;
+        return result;
+    }
+
+    /**
+     * Restore the heap order after the score of a Node in the heap changed
+     *
+     * @param node Node whose score changed
+     */
+    void update(Node node)
+    {
+        siftUp(node.heapIndex);
+        siftDown(node.heapIndex);
+    }
+
+    /**
+     * Remove all Nodes, keeping the allocated storage
+     */
+    void clear()
+    {
+        for (int i = 0; i < size; ++i)
+        {
+            heap[i].heapIndex = -1;
+            heap[i] = null;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int index)
+    {
+        Node node = heap[index];
+        int i = index;
+
+        while (i > 0)
+        {
+            int parentIndex = (i - 1) >>> 1;
+            Node parent = heap[parentIndex];
+            if (node.compareTo(parent) >= 0)
+            {
+                break;
+            }
+
+            heap[i] = parent;
+            parent.heapIndex = i;
+            i = parentIndex;
+        }
+
+        heap[i] = node;
+        node.heapIndex = i;
+    }
+
+    private void siftDown(int index)
+    {
+        Node node = heap[index];
+        int i = index;
+        int half = size >>> 1;
+
+        while (i < half)
+        {
+            int child = (i << 1) + 1;
+            int right = child + 1;
+            if (right < size && heap[right].compareTo(heap[child]) < 0)
+            {
+                child = right;
+            }
+
+            if (node.compareTo(heap[child]) <= 0)
+            {
+                break;
+            }
+
+            heap[i] = heap[child];
+            heap[i].heapIndex = i;
+            i = child;
+        }
+
+        heap[i] = node;
+        node.heapIndex = i;
+    }
+}
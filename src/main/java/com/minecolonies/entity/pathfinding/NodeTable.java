@@ -0,0 +1,117 @@
+package com.minecolonies.entity.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table of visited Nodes, keyed by the primitive int node key.
+ * Replaces a HashMap&lt;Integer, Node&gt;, so lookups neither box the key nor allocate map entries.
+ */
+final class NodeTable
+{
+    private static final int INITIAL_CAPACITY = 1024;
+
+    //  Multiplicative hashing constant (golden ratio), spreads the packed coordinate keys over the table
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+    private int[]  keys   = new int[INITIAL_CAPACITY];
+    private Node[] values = new Node[INITIAL_CAPACITY];
+    private int    mask   = INITIAL_CAPACITY - 1;
+    private int    size   = 0;
+
+    /**
+     * @param key node key
+     * @return Node stored for the key, or null
+     */
+    Node get(int key)
+    {
+        int i = index(key);
+        while (values[i] != null)
+        {
+            if (keys[i] == key)
+            {
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Store a Node for a key, replacing any previous Node for the same key
+     *
+     * @param key node key
+     * @param node Node to store, not null
+     */
+    void put(int key, Node node)
+    {
+        if ((size + 1) * 2 > values.length)
+        {
+            resize(values.length * 2);
+        }
+
+        int i = index(key);
+        while (values[i] != null)
+        {
+            if (keys[i] == key)
+            {
+                values[i] = node;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+
+        keys[i] = key;
+        values[i] = node;
+        ++size;
+    }
+
+    /**
+     * @return number of Nodes stored
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * Remove all Nodes, keeping the allocated storage
+     */
+    void clear()
+    {
+        if (size > 0)
+        {
+            Arrays.fill(values, null);
+            size = 0;
+        }
+    }
+
+    private int index(int key)
+    {
+        int hash = key * HASH_MULTIPLIER;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private void resize(int capacity)
+    {
+        int[] oldKeys = keys;
+        Node[] oldValues = values;
+
+        keys = new int[capacity];
+        values = new Node[capacity];
+        mask = capacity - 1;
+
+        for (int j = 0; j < oldValues.length; ++j)
+        {
+            if (oldValues[j] != null)
+            {
+                int i = index(oldKeys[j]);
+                while (values[i] != null)
+                {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+}
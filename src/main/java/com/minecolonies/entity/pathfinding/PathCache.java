@@ -0,0 +1,261 @@
+package com.minecolonies.entity.pathfinding;
+
+import com.minecolonies.configuration.Configurations;
+import net.minecraft.pathfinding.PathEntity;
+import net.minecraft.pathfinding.PathPoint;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.World;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LRU cache of computed paths, so a citizen walking the same route again (for example a builder shuttling between
+ * hut and site) gets its path on the same tick without queueing a new path job.
+ * <p>
+ * Entries are keyed by job type, quantized start and exact end position. Every entry remembers the chunks its path
+ * passes through, and is dropped as soon as a block in one of those chunks changes.
+ */
+public final class PathCache
+{
+    //  Starts within the same 2x2 column share a path
+    private static final int START_QUANTUM_SHIFT = 1;
+
+    //  Entries also expire, changes that do not notify the world (entities, doors opening) are not tracked
+    private static final long MAX_AGE_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private static final Map<Key, Entry>     entries     = new LinkedHashMap<>(16, 0.75F, true);
+    private static final Map<Long, Set<Key>> keysByChunk = new HashMap<>();
+
+    private static long hits;
+    private static long misses;
+    private static long invalidations;
+
+    private PathCache()
+    {
+        //  Hides default constructor.
+    }
+
+    /**
+     * Look up a cached path.
+     *
+     * @param world   world of the path.
+     * @param jobType class of the job which would compute the path.
+     * @param start   start position.
+     * @param end     end position.
+     * @return a fresh PathEntity following the cached path, or null.
+     */
+    public static synchronized PathEntity get(World world, Class<? extends AbstractPathJob> jobType, BlockPos start, BlockPos end)
+    {
+        if (Configurations.pathfindingCacheSize <= 0)
+        {
+            return null;
+        }
+
+        Key key = new Key(world, jobType, start, end);
+        Entry entry = entries.get(key);
+        if (entry == null)
+        {
+            ++misses;
+            return null;
+        }
+
+        if (System.nanoTime() - entry.created > MAX_AGE_NANOS)
+        {
+            remove(key);
+            ++misses;
+            return null;
+        }
+
+        ++hits;
+        return new PathEntity(entry.points.clone());
+    }
+
+    /**
+     * Store a computed path which reaches its destination.
+     *
+     * @param world   world of the path.
+     * @param jobType class of the job which computed the path.
+     * @param start   start position the job was started from.
+     * @param end     end position.
+     * @param path    the computed path.
+     */
+    public static synchronized void put(World world, Class<? extends AbstractPathJob> jobType, BlockPos start, BlockPos end, PathEntity path)
+    {
+        int length = path.getCurrentPathLength();
+        if (Configurations.pathfindingCacheSize <= 0 || length == 0)
+        {
+            return;
+        }
+
+        Key key = new Key(world, jobType, start, end);
+        remove(key);
+
+        PathPoint[] points = new PathPoint[length];
+        Set<Long> chunks = new HashSet<>();
+        for (int i = 0; i < length; ++i)
+        {
+            PathPoint point = path.getPathPointFromIndex(i);
+            points[i] = point;
+            chunks.add(chunkKey(key.dimension, point.xCoord >> 4, point.zCoord >> 4));
+        }
+
+        entries.put(key, new Entry(points, chunks));
+        for (Long chunk : chunks)
+        {
+            Set<Key> keys = keysByChunk.get(chunk);
+            if (keys == null)
+            {
+                keys = new HashSet<>();
+                keysByChunk.put(chunk, keys);
+            }
+            keys.add(key);
+        }
+
+        while (entries.size() > Configurations.pathfindingCacheSize)
+        {
+            remove(entries.keySet().iterator().next());
+        }
+    }
+
+    /**
+     * Drop all paths passing through the chunk of a changed block.
+     *
+     * @param world world the block changed in.
+     * @param pos   position of the block.
+     */
+    public static synchronized void onBlockChanged(World world, BlockPos pos)
+    {
+        Set<Key> keys = keysByChunk.get(chunkKey(world.provider.getDimensionId(), pos.getX() >> 4, pos.getZ() >> 4));
+        if (keys == null)
+        {
+            return;
+        }
+
+        for (Key key : new ArrayList<>(keys))
+        {
+            remove(key);
+            ++invalidations;
+        }
+    }
+
+    /**
+     * Drop all cached paths, for example when a world unloads.
+     */
+    public static synchronized void clear()
+    {
+        entries.clear();
+        keysByChunk.clear();
+    }
+
+    /**
+     * @return human readable hit rate and size, one entry per line.
+     */
+    public static synchronized List<String> getReport()
+    {
+        long lookups = hits + misses;
+        double hitRate = lookups == 0 ? 0D : (100D * hits / lookups);
+        return Collections.singletonList(String.format("Path cache: %d/%d entries, %d hits, %d misses (%.1f%%), %d invalidated",
+                entries.size(), Configurations.pathfindingCacheSize, hits, misses, hitRate, invalidations));
+    }
+
+    private static void remove(Key key)
+    {
+        Entry entry = entries.remove(key);
+        if (entry == null)
+        {
+            return;
+        }
+
+        for (Long chunk : entry.chunks)
+        {
+            Set<Key> keys = keysByChunk.get(chunk);
+            if (keys != null)
+            {
+                keys.remove(key);
+                if (keys.isEmpty())
+                {
+                    keysByChunk.remove(chunk);
+                }
+            }
+        }
+    }
+
+    private static long chunkKey(int dimension, int chunkX, int chunkZ)
+    {
+        return ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ) ^ ((long) dimension << 32);
+    }
+
+    /**
+     * Identity of a path request.
+     */
+    private static final class Key
+    {
+        private final int      dimension;
+        private final Class<?> jobType;
+        private final int      startX;
+        private final int      startY;
+        private final int      startZ;
+        private final BlockPos end;
+
+        Key(World world, Class<?> jobType, BlockPos start, BlockPos end)
+        {
+            this.dimension = world.provider.getDimensionId();
+            this.jobType = jobType;
+            this.startX = start.getX() >> START_QUANTUM_SHIFT;
+            this.startY = start.getY();
+            this.startZ = start.getZ() >> START_QUANTUM_SHIFT;
+            this.end = end;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass())
+            {
+                return false;
+            }
+
+            Key other = (Key) o;
+            return dimension == other.dimension
+                    && startX == other.startX
+                    && startY == other.startY
+                    && startZ == other.startZ
+                    && jobType == other.jobType
+                    && end.equals(other.end);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            int result = dimension;
+            result = 31 * result + jobType.hashCode();
+            result = 31 * result + startX;
+            result = 31 * result + startY;
+            result = 31 * result + startZ;
+            result = 31 * result + end.hashCode();
+            return result;
+        }
+    }
+
+    /**
+     * Cached path points and the chunks they lie in.
+     */
+    private static final class Entry
+    {
+        private final PathPoint[] points;
+        private final Set<Long>   chunks;
+        private final long        created = System.nanoTime();
+
+        Entry(PathPoint[] points, Set<Long> chunks)
+        {
+            this.points = points;
+            this.chunks = chunks;
+        }
+    }
+}
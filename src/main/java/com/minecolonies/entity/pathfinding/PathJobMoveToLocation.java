@@ -13,6 +13,13 @@ public class PathJobMoveToLocation extends AbstractPathJob
 {
     private final BlockPos destination;
 
+    //  Coarse graph of the colony the path lies in, may be null
+    private final RegionGraph regionGraph;
+    private final int         range;
+
+    //  Sections the search is restricted to, null for an unrestricted search
+    private long[] corridor;
+
     private static final float DESTINATION_SLACK_NONE = 0.1F;
 
     // 1^2 + 1^2 + 1^2 + (epsilon of 0.1F)
@@ -33,10 +40,27 @@ public class PathJobMoveToLocation extends AbstractPathJob
      * @param range max search range.
      */
     public PathJobMoveToLocation(World world, BlockPos start, BlockPos end, int range)
+    {
+        this(world, start, end, range, null);
+    }
+
+    /**
+     * Prepares the PathJob for the path finding system, using the coarse graph of a colony to narrow down the
+     * search when both ends lie in the colony.
+     *
+     * @param world world the entity is in.
+     * @param start starting location.
+     * @param end target location.
+     * @param range max search range.
+     * @param regionGraph region graph of the colony, or null.
+     */
+    public PathJobMoveToLocation(World world, BlockPos start, BlockPos end, int range, RegionGraph regionGraph)
     {
         super(world, start, end, range);
 
         this.destination = new BlockPos(end);
+        this.regionGraph = regionGraph;
+        this.range = range;
     }
 
     /**
@@ -59,9 +83,34 @@ public class PathJobMoveToLocation extends AbstractPathJob
             destinationSlack = DESTINATION_SLACK_ADJACENT;
         }
 
+        if (regionGraph != null)
+        {
+            BlockPos areaMin = new BlockPos(Math.min(start.getX(), destination.getX()) - range, 0, Math.min(start.getZ(), destination.getZ()) - range);
+            BlockPos areaMax = new BlockPos(Math.max(start.getX(), destination.getX()) + range, 255, Math.max(start.getZ(), destination.getZ()) + range);
+            corridor = regionGraph.findCorridor(world, start, destination, areaMin, areaMax);
+
+            if (corridor != null)
+            {
+                PathEntity path = super.search();
+                if (result.getPathReachesDestination() || Thread.currentThread().isInterrupted())
+                {
+                    return path;
+                }
+
+                //  The coarse graph is only an approximation of the movement rules, retry without the corridor
+                corridor = null;
+            }
+        }
+
         return super.search();
     }
 
+    @Override
+    protected boolean isInSearchArea(BlockPos pos)
+    {
+        return corridor == null || RegionGraph.isInCorridor(corridor, pos);
+    }
+
     @Override
     protected double computeHeuristic(BlockPos pos)
     {
@@ -1,5 +1,6 @@
 package com.minecolonies.entity.pathfinding;
 
+import com.minecolonies.colony.Colony;
 import com.minecolonies.entity.EntityCitizen;
 import com.minecolonies.util.BlockPosUtil;
 import com.minecolonies.util.Log;
@@ -30,6 +31,9 @@ public class PathNavigate extends net.minecraft.pathfinding.PathNavigateGround
     private Future<PathEntity> future;
     private PathResult pathResult;
 
+    //  Start of the pending move-to job, to store its result in the PathCache
+    private BlockPos pendingCacheStart;
+
     private boolean shouldAvoidWater = false;
     private boolean canEnterDoors = false;
     private boolean canBreakDoors = false;
@@ -88,9 +92,17 @@ public class PathNavigate extends net.minecraft.pathfinding.PathNavigateGround
         BlockPos start = AbstractPathJob.prepareStart(entity);
         BlockPos dest = new BlockPos(newX, newY, newZ);
 
-        return setPathJob(
-                new PathJobMoveToLocation(entity.worldObj, start, dest, (int)getPathSearchRange()),
+        PathEntity cachedPath = PathCache.get(entity.worldObj, PathJobMoveToLocation.class, start, dest);
+        if (cachedPath != null)
+        {
+            return setCachedPath(cachedPath, dest, speed);
+        }
+
+        PathResult result = setPathJob(
+                new PathJobMoveToLocation(entity.worldObj, start, dest, (int)getPathSearchRange(), getRegionGraph()),
                 dest, speed);
+        pendingCacheStart = start;
+        return result;
     }
 
     public PathResult moveAwayFromXYZ(BlockPos avoid, double range, double speed)
@@ -144,7 +156,13 @@ public class PathNavigate extends net.minecraft.pathfinding.PathNavigateGround
 
             try
             {
-                setPath(future.get(), walkSpeed);
+                PathEntity path = future.get();
+                if (path != null && pendingCacheStart != null && pathResult.getPathReachesDestination())
+                {
+                    PathCache.put(entity.worldObj, PathJobMoveToLocation.class, pendingCacheStart, destination, path);
+                }
+
+                setPath(path, walkSpeed);
 
                 pathResult.setPathLength(getPath().getCurrentPathLength());
                 pathResult.setStatus(PathResult.Status.IN_PROGRESS_FOLLOWING);
@@ -164,6 +182,7 @@ public class PathNavigate extends net.minecraft.pathfinding.PathNavigateGround
             }
 
             future = null;
+            pendingCacheStart = null;
         }
 
         int oldIndex = this.noPath() ? 0 : this.getPath().getCurrentPathIndex();
@@ -262,6 +281,7 @@ public class PathNavigate extends net.minecraft.pathfinding.PathNavigateGround
             future.cancel(true);
             future = null;
         }
+        pendingCacheStart = null;
 
         if (pathResult != null)
         {
@@ -323,11 +343,66 @@ public class PathNavigate extends net.minecraft.pathfinding.PathNavigateGround
         this.destination = dest;
         this.walkSpeed = speed;
 
-        future = Pathfinding.enqueue(job);
+        future = Pathfinding.enqueue(job, getColonyId());
         pathResult = job.getResult();
         return pathResult;
     }
 
+    /**
+     * Follow a path taken from the PathCache, without queueing a path job
+     *
+     * @param path  the cached path
+     * @param dest  destination of the path
+     * @param speed walk speed
+     * @return a PathResult which already finished computing
+     */
+    private PathResult setCachedPath(PathEntity path, BlockPos dest, double speed)
+    {
+        clearPathEntity();
+
+        this.destination = dest;
+        this.walkSpeed = speed;
+
+        pathResult = new PathResult();
+        pathResult.setPathReachesDestination(true);
+        setPath(path, speed);
+        pathResult.setPathLength(path.getCurrentPathLength());
+        pathResult.setStatus(PathResult.Status.IN_PROGRESS_FOLLOWING);
+        return pathResult;
+    }
+
+    /**
+     * @return coarse navigation graph of the colony of the entity, or null
+     */
+    private RegionGraph getRegionGraph()
+    {
+        if (entity instanceof EntityCitizen)
+        {
+            Colony colony = ((EntityCitizen) entity).getColony();
+            if (colony != null)
+            {
+                return colony.getRegionGraph();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return id of the colony of the entity, used to schedule path jobs fairly between colonies
+     */
+    private int getColonyId()
+    {
+        if (entity instanceof EntityCitizen)
+        {
+            Colony colony = ((EntityCitizen) entity).getColony();
+            if (colony != null)
+            {
+                return colony.getID();
+            }
+        }
+        return PathfindingExecutor.NO_COLONY;
+    }
+
     public boolean isUnableToReachDestination()
     {
         return pathResult != null && pathResult.failedToReachDestination();
@@ -0,0 +1,91 @@
+package com.minecolonies.entity.pathfinding;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Search state of a pathfinding worker thread: open set, visited table and Node storage.
+ * One instance exists per thread and is reused by every job that thread runs, so after warming up a
+ * search does not allocate Nodes or grow its collections.
+ */
+final class PathSearchContext
+{
+    //  Upper bound of Nodes kept between jobs, so one huge search does not pin its memory forever
+    private static final int MAX_POOLED_NODES = 32768;
+
+    private static final ThreadLocal<PathSearchContext> CONTEXT = ThreadLocal.withInitial(PathSearchContext::new);
+
+    final NodeHeap  open    = new NodeHeap();
+    final NodeTable visited = new NodeTable();
+
+    private final List<Node> pool = new ArrayList<>();
+    private int              used = 0;
+    private boolean          recycle = true;
+    private boolean          inUse = false;
+
+    private PathSearchContext()
+    {
+        //  Obtained through acquire
+    }
+
+    /**
+     * Get the context of the current thread, ready for a new search
+     *
+     * @param recycleNodes false if Nodes escape the search (debug rendering) and must not be reused
+     * @return search context for the current thread
+     */
+    static PathSearchContext acquire(boolean recycleNodes)
+    {
+        PathSearchContext context = CONTEXT.get();
+        if (context.inUse)
+        {
+            //  Re-entrant search on the same thread, do not share state
+            context = new PathSearchContext();
+        }
+
+        context.inUse = true;
+        context.recycle = recycleNodes;
+        return context;
+    }
+
+    /**
+     * Get a Node to fill with {@link Node#reset(Node, int, int, int, double, double, double)}
+     *
+     * @return unused Node
+     */
+    Node obtainNode()
+    {
+        if (!recycle)
+        {
+            return new Node();
+        }
+
+        if (used == pool.size())
+        {
+            pool.add(new Node());
+        }
+        return pool.get(used++);
+    }
+
+    /**
+     * Clear the search state, making all Nodes available to the next search on this thread
+     */
+    void release()
+    {
+        open.clear();
+        visited.clear();
+
+        for (int i = 0; i < used; ++i)
+        {
+            pool.get(i).parent = null;
+        }
+        used = 0;
+
+        if (pool.size() > MAX_POOLED_NODES)
+        {
+            pool.subList(MAX_POOLED_NODES, pool.size()).clear();
+        }
+
+        inUse = false;
+    }
+}
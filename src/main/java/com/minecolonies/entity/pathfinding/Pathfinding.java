@@ -16,24 +16,20 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 import org.lwjgl.opengl.GL11;
 
 import java.util.ConcurrentModificationException;
+import java.util.List;
 import java.util.Set;
-import java.util.concurrent.*;
+import java.util.concurrent.Future;
 
 /**
  * Static class the handles all the Pathfinding.
  */
 public final class Pathfinding
 {
-    private static ThreadPoolExecutor executor;
-    private static final BlockingQueue<Runnable> jobQueue = new LinkedBlockingDeque<>();
+    private static final PathfindingExecutor executor =
+            new PathfindingExecutor(PathfindingExecutor.computeThreadCount(Configurations.pathfindingMaxThreadCount));
 
     private static final ResourceLocation TEXTURE = new ResourceLocation("textures/gui/widgets.png");
 
-    static
-    {
-        executor = new ThreadPoolExecutor(1, Configurations.pathfindingMaxThreadCount, 10, TimeUnit.SECONDS, jobQueue);
-    }
-
     private Pathfinding()
     {
         //Hides default constructor.
@@ -47,7 +43,30 @@ public final class Pathfinding
      */
     public static Future<PathEntity> enqueue(AbstractPathJob job)
     {
-        return executor.submit(job);
+        return enqueue(job, PathfindingExecutor.NO_COLONY);
+    }
+
+    /**
+     * Add a job of a colony to the queue for processing.
+     * Jobs of different colonies are processed in round-robin order.
+     *
+     * @param job      PathJob
+     * @param colonyId id of the colony requesting the path
+     * @return a Future containing the PathEntity
+     */
+    public static Future<PathEntity> enqueue(AbstractPathJob job, int colonyId)
+    {
+        return executor.submit(job, colonyId);
+    }
+
+    /**
+     * Returns the queue depth and latency counters of the pathfinding workers.
+     *
+     * @return list of report lines
+     */
+    public static List<String> getStatistics()
+    {
+        return executor.getReport();
     }
 
     @SideOnly(Side.CLIENT)
@@ -0,0 +1,310 @@
+package com.minecolonies.entity.pathfinding;
+
+import com.minecolonies.util.Log;
+import com.minecolonies.util.TickProfiler;
+import net.minecraft.pathfinding.PathEntity;
+
+import java.util.*;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded pool of pathfinding workers.
+ * Jobs are queued per colony, and idle workers take the next job from the colonies in round-robin order,
+ * so a single colony with many citizens can not starve the path requests of every other colony.
+ */
+final class PathfindingExecutor
+{
+    /**
+     * Queue key used for jobs which do not belong to a colony.
+     */
+    static final int NO_COLONY = 0;
+
+    private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final ReentrantLock lock     = new ReentrantLock();
+    private final Condition     notEmpty = lock.newCondition();
+
+    //  Guarded by lock
+    private final Map<Integer, Deque<PathJobTask>> queues     = new HashMap<>();
+    private final Deque<Integer>                   colonyRing = new ArrayDeque<>();
+    private       int                              queueDepth = 0;
+
+    private final List<Thread> workers = new ArrayList<>();
+
+    //  Statistics
+    private final AtomicLong submitted      = new AtomicLong();
+    private final AtomicLong completed      = new AtomicLong();
+    private final AtomicLong cancelled      = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong totalRunNanos  = new AtomicLong();
+    private final AtomicLong maxWaitNanos   = new AtomicLong();
+    private final AtomicLong maxRunNanos    = new AtomicLong();
+
+    /**
+     * Creates the executor and starts its worker threads.
+     *
+     * @param threadCount number of worker threads, at least one.
+     */
+    PathfindingExecutor(int threadCount)
+    {
+        int count = Math.max(1, threadCount);
+        for (int i = 0; i < count; ++i)
+        {
+            Thread worker = new Thread(this::workerLoop, "Minecolonies Pathfinding Worker #" + (i + 1));
+            worker.setDaemon(true);
+            worker.setPriority(Thread.NORM_PRIORITY - 1);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * Computes the number of worker threads to use.
+     * A positive configured value is capped to the number of cores, anything else means one thread less than the
+     * number of cores (so the server thread keeps a core to itself).
+     *
+     * @param configured the configured thread count.
+     * @return number of threads to start.
+     */
+    static int computeThreadCount(int configured)
+    {
+        int cores = Runtime.getRuntime().availableProcessors();
+        if (configured > 0)
+        {
+            return Math.min(configured, cores);
+        }
+        return Math.max(1, cores - 1);
+    }
+
+    /**
+     * Queue a job for the given colony.
+     *
+     * @param job      the job to run.
+     * @param colonyId id of the colony the job belongs to, or {@link #NO_COLONY}.
+     * @return a Future containing the PathEntity.
+     */
+    Future<PathEntity> submit(AbstractPathJob job, int colonyId)
+    {
+        PathJobTask task = new PathJobTask(job);
+        submitted.incrementAndGet();
+
+        lock.lock();
+        try
+        {
+            Deque<PathJobTask> queue = queues.get(colonyId);
+            if (queue == null)
+            {
+                queue = new ArrayDeque<>();
+                queues.put(colonyId, queue);
+            }
+
+            if (queue.isEmpty())
+            {
+                colonyRing.addLast(colonyId);
+            }
+
+            queue.addLast(task);
+            ++queueDepth;
+            notEmpty.signal();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+
+        return task;
+    }
+
+    /**
+     * Take the next job, visiting the colonies with pending work in round-robin order.
+     *
+     * @return next job to run.
+     * @throws InterruptedException when the worker is interrupted while idle.
+     */
+    private PathJobTask take() throws InterruptedException
+    {
+        lock.lock();
+        try
+        {
+            while (colonyRing.isEmpty())
+            {
+                notEmpty.await();
+            }
+
+            int colonyId = colonyRing.pollFirst();
+            Deque<PathJobTask> queue = queues.get(colonyId);
+            PathJobTask task = queue.pollFirst();
+            --queueDepth;
+
+            if (queue.isEmpty())
+            {
+                queues.remove(colonyId);
+            }
+            else
+            {
+                colonyRing.addLast(colonyId);
+            }
+
+            return task;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private void workerLoop()
+    {
+        while (true)
+        {
+            PathJobTask task;
+            try
+            {
+                task = take();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (task.isCancelled())
+            {
+                cancelled.incrementAndGet();
+                continue;
+            }
+
+            //  Clear any interrupt left over from a cancelled previous job
+            Thread.interrupted();
+
+            long start = System.nanoTime();
+            record(totalWaitNanos, maxWaitNanos, start - task.submitTime);
+
+            long profilerStart = task.profilerSection.begin();
+            try
+            {
+                task.run();
+            }
+            catch (RuntimeException e)
+            {
+                Log.logger.error("Pathfinding job failed", e);
+            }
+            finally
+            {
+                task.profilerSection.end(profilerStart);
+            }
+
+            record(totalRunNanos, maxRunNanos, System.nanoTime() - start);
+            completed.incrementAndGet();
+        }
+    }
+
+    private static void record(AtomicLong total, AtomicLong max, long nanos)
+    {
+        total.addAndGet(nanos);
+
+        long currentMax = max.get();
+        while (nanos > currentMax && !max.compareAndSet(currentMax, nanos))
+        {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * @return number of worker threads.
+     */
+    int getThreadCount()
+    {
+        return workers.size();
+    }
+
+    /**
+     * @return number of jobs waiting for a worker.
+     */
+    int getQueueDepth()
+    {
+        lock.lock();
+        try
+        {
+            return queueDepth;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return snapshot of the number of waiting jobs per colony.
+     */
+    Map<Integer, Integer> getQueueDepthPerColony()
+    {
+        Map<Integer, Integer> depths = new TreeMap<>();
+        lock.lock();
+        try
+        {
+            for (Map.Entry<Integer, Deque<PathJobTask>> entry : queues.entrySet())
+            {
+                depths.put(entry.getKey(), entry.getValue().size());
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+        return depths;
+    }
+
+    /**
+     * Returns a human readable summary of the executor counters, one entry per line.
+     *
+     * @return list of report lines.
+     */
+    List<String> getReport()
+    {
+        long done = completed.get();
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("Threads: %d, queued: %d", getThreadCount(), getQueueDepth()));
+        lines.add(String.format("Submitted: %d, completed: %d, cancelled: %d", submitted.get(), done, cancelled.get()));
+        lines.add(String.format("Queue wait avg/max: %.2f / %.2f ms", average(totalWaitNanos.get(), done), toMillis(maxWaitNanos.get())));
+        lines.add(String.format("Run time avg/max: %.2f / %.2f ms", average(totalRunNanos.get(), done), toMillis(maxRunNanos.get())));
+
+        for (Map.Entry<Integer, Integer> entry : getQueueDepthPerColony().entrySet())
+        {
+            String owner = entry.getKey() == NO_COLONY ? "No colony" : ("Colony " + entry.getKey());
+            lines.add(String.format("  %s: %d queued", owner, entry.getValue()));
+        }
+        return lines;
+    }
+
+    private static double average(long totalNanos, long count)
+    {
+        return count == 0 ? 0D : (toMillis(totalNanos) / count);
+    }
+
+    private static double toMillis(long nanos)
+    {
+        return (double) nanos / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Future wrapping a path job, remembering when it was queued and where the profiler records it.
+     */
+    private static final class PathJobTask extends FutureTask<PathEntity>
+    {
+        private final long                 submitTime;
+        private final TickProfiler.Section profilerSection;
+
+        PathJobTask(AbstractPathJob job)
+        {
+            super(job);
+            this.submitTime = System.nanoTime();
+            this.profilerSection = TickProfiler.getSection(TickProfiler.PATH, job.getClass().getSimpleName());
+        }
+    }
+}
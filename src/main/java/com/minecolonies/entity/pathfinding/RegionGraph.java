@@ -0,0 +1,687 @@
+package com.minecolonies.entity.pathfinding;
+
+import com.minecolonies.colony.Colony;
+import com.minecolonies.configuration.Configurations;
+import net.minecraft.block.Block;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.IBlockAccess;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Colony scoped, coarse navigation graph used to narrow down block level path searches.
+ * <p>
+ * The colony area is split into 16x16x16 sections. Every section is divided into regions: sets of standable cells
+ * that are connected inside the section. Regions of neighbouring sections are connected where a citizen can step
+ * from one into the other (the portals). A search on this graph gives the corridor of sections a path has to pass
+ * through, and the block level A* then only expands nodes inside that corridor.
+ * <p>
+ * Sections are built lazily by the pathfinding threads, and dropped again when a block inside them changes, so only
+ * the sections around a change are rebuilt on the next request.
+ */
+public final class RegionGraph
+{
+    private static final int SECTION_SHIFT  = 4;
+    private static final int SECTION_SIZE   = 1 << SECTION_SHIFT;
+    private static final int SECTION_MASK   = SECTION_SIZE - 1;
+    private static final int SECTION_VOLUME = SECTION_SIZE * SECTION_SIZE * SECTION_SIZE;
+    private static final int MAX_SECTION_Y  = 15;
+
+    //  Regions are packed into the low bits of a region key, next to the section key
+    private static final int REGION_BITS = 12;
+    private static final int REGION_MASK = (1 << REGION_BITS) - 1;
+
+    //  Cell flags
+    private static final byte STANDABLE = 1;
+    private static final byte HEADROOM  = 2;
+    private static final byte LADDER    = 4;
+
+    //  Upper bound of regions the coarse search may expand before giving up
+    private static final int MAX_EXPANDED_REGIONS = 4096;
+
+    private static final int[][] HORIZONTAL = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+
+    private final Colony colony;
+
+    private final Map<Long, Section> sections    = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> generations = new ConcurrentHashMap<>();
+
+    /**
+     * Create the region graph of a colony.
+     *
+     * @param colony colony whose area is covered.
+     */
+    public RegionGraph(Colony colony)
+    {
+        this.colony = colony;
+    }
+
+    /**
+     * Compute the key of the section containing a block.
+     *
+     * @param x block x.
+     * @param y block y.
+     * @param z block z.
+     * @return packed section key.
+     */
+    public static long sectionKey(int x, int y, int z)
+    {
+        return packSection(x >> SECTION_SHIFT, y >> SECTION_SHIFT, z >> SECTION_SHIFT);
+    }
+
+    private static long packSection(int sx, int sy, int sz)
+    {
+        return (((long) sx & 0x3FFFFF) << 26) | (((long) sz & 0x3FFFFF) << 4) | (sy & 0xF);
+    }
+
+    private static int sectionX(long key)
+    {
+        return (int) (key << 16 >> 42);
+    }
+
+    private static int sectionZ(long key)
+    {
+        return (int) (key << 38 >> 42);
+    }
+
+    private static int sectionY(long key)
+    {
+        return (int) (key & 0xF);
+    }
+
+    private static int cellIndex(int lx, int ly, int lz)
+    {
+        return (ly << 8) | (lz << 4) | lx;
+    }
+
+    /**
+     * @return number of sections currently cached.
+     */
+    public int getCachedSectionCount()
+    {
+        return sections.size();
+    }
+
+    /**
+     * Called on the server thread when a block changed.
+     * The standability of a cell depends on the blocks from one below to two above it, so the sections of all
+     * cells affected by the change are dropped.
+     *
+     * @param pos position of the changed block.
+     */
+    public void onBlockChanged(BlockPos pos)
+    {
+        long lastKey = Long.MIN_VALUE;
+        for (int y = pos.getY() - 2; y <= pos.getY() + 1; ++y)
+        {
+            if (y < 0 || y > 255)
+            {
+                continue;
+            }
+
+            long key = sectionKey(pos.getX(), y, pos.getZ());
+            if (key != lastKey)
+            {
+                invalidate(key);
+                lastKey = key;
+            }
+        }
+    }
+
+    private void invalidate(long key)
+    {
+        generations.merge(key, 1, Integer::sum);
+        sections.remove(key);
+    }
+
+    /**
+     * Search the coarse graph between two positions.
+     *
+     * @param world   block access of the path job.
+     * @param start   start of the path.
+     * @param end     end of the path.
+     * @param areaMin lowest corner of the area readable through the block access.
+     * @param areaMax highest corner of the area readable through the block access.
+     * @return sorted keys of the sections the path passes through, or null if the graph can not help.
+     */
+    public long[] findCorridor(IBlockAccess world, BlockPos start, BlockPos end, BlockPos areaMin, BlockPos areaMax)
+    {
+        SectionBounds bounds = new SectionBounds(areaMin, areaMax);
+
+        long startRegion = findRegion(world, bounds, start);
+        long endRegion = findRegion(world, bounds, end);
+        if (startRegion < 0 || endRegion < 0)
+        {
+            return null;
+        }
+
+        Map<Long, Long> cameFrom = searchRegions(world, bounds, startRegion, endRegion);
+        if (cameFrom == null)
+        {
+            return null;
+        }
+
+        Set<Long> corridor = new HashSet<>();
+        long region = endRegion;
+        corridor.add(region >>> REGION_BITS);
+        while (region != startRegion)
+        {
+            region = cameFrom.get(region);
+            corridor.add(region >>> REGION_BITS);
+        }
+
+        long[] keys = new long[corridor.size()];
+        int i = 0;
+        for (long key : corridor)
+        {
+            keys[i++] = key;
+        }
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    /**
+     * Test if a block lies in a corridor returned by {@link #findCorridor}.
+     *
+     * @param corridor sorted section keys.
+     * @param pos      position to test.
+     * @return true if inside.
+     */
+    public static boolean isInCorridor(long[] corridor, BlockPos pos)
+    {
+        return Arrays.binarySearch(corridor, sectionKey(pos.getX(), pos.getY(), pos.getZ())) >= 0;
+    }
+
+    /**
+     * A* over region keys, with one step per section crossed.
+     *
+     * @return map from region to the region it was reached from, or null if the end was not reached.
+     */
+    private Map<Long, Long> searchRegions(IBlockAccess world, SectionBounds bounds, long startRegion, long endRegion)
+    {
+        Map<Long, Long> cameFrom = new HashMap<>();
+        Map<Long, Integer> costs = new HashMap<>();
+        Set<Long> closed = new HashSet<>();
+        PriorityQueue<long[]> open = new PriorityQueue<>((a, b) -> Long.compare(a[1], b[1]));
+
+        costs.put(startRegion, 0);
+        open.add(new long[]{startRegion, estimate(startRegion, endRegion)});
+
+        int expanded = 0;
+        while (!open.isEmpty())
+        {
+            long region = open.poll()[0];
+            if (region == endRegion)
+            {
+                return cameFrom;
+            }
+
+            if (!closed.add(region))
+            {
+                //  Outdated queue entry of an already expanded region
+                continue;
+            }
+
+            if (++expanded > MAX_EXPANDED_REGIONS || Thread.currentThread().isInterrupted())
+            {
+                return null;
+            }
+
+            int cost = costs.get(region) + 1;
+            Section section = getSection(world, bounds, region >>> REGION_BITS);
+            if (section == null)
+            {
+                continue;
+            }
+
+            for (long next : getEdges(world, bounds, section, (int) (region & REGION_MASK)))
+            {
+                Integer known = costs.get(next);
+                if (known == null || cost < known)
+                {
+                    costs.put(next, cost);
+                    cameFrom.put(next, region);
+                    open.add(new long[]{next, cost + estimate(next, endRegion)});
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private static long estimate(long fromRegion, long toRegion)
+    {
+        long from = fromRegion >>> REGION_BITS;
+        long to = toRegion >>> REGION_BITS;
+        return (long) Math.abs(sectionX(from) - sectionX(to))
+                + Math.abs(sectionY(from) - sectionY(to))
+                + Math.abs(sectionZ(from) - sectionZ(to));
+    }
+
+    /**
+     * Find the region of a position, looking at the cell itself, then below and above it.
+     *
+     * @return region key or -1.
+     */
+    private long findRegion(IBlockAccess world, SectionBounds bounds, BlockPos pos)
+    {
+        for (int dy : new int[]{0, -1, 1})
+        {
+            int y = pos.getY() + dy;
+            if (y < 0 || y > 255)
+            {
+                continue;
+            }
+
+            long key = sectionKey(pos.getX(), y, pos.getZ());
+            Section section = getSection(world, bounds, key);
+            if (section == null)
+            {
+                return -1;
+            }
+
+            int region = section.regionOf[cellIndex(pos.getX() & SECTION_MASK, y & SECTION_MASK, pos.getZ() & SECTION_MASK)];
+            if (region > 0)
+            {
+                return (key << REGION_BITS) | region;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Get a section, building it if needed.
+     *
+     * @return the section, or null if it is outside of the colony or the readable area.
+     */
+    private Section getSection(IBlockAccess world, SectionBounds bounds, long key)
+    {
+        Section section = sections.get(key);
+        if (section != null)
+        {
+            return section;
+        }
+
+        if (!bounds.contains(key) || !isInColony(key))
+        {
+            return null;
+        }
+
+        Integer generation = generations.get(key);
+        section = buildSection(world, key);
+
+        //  Only keep the section cached if no block inside it changed while it was built. The generation is checked
+        //  after inserting, as invalidate bumps it before removing the section: a change between the check and the
+        //  insert would otherwise leave an outdated section behind
+        Section cached = sections.putIfAbsent(key, section);
+        if (cached != null)
+        {
+            return cached;
+        }
+        if (!Objects.equals(generation, generations.get(key)))
+        {
+            sections.remove(key, section);
+        }
+        return section;
+    }
+
+    private boolean isInColony(long key)
+    {
+        BlockPos center = colony.getCenter();
+        if (center == null)
+        {
+            return false;
+        }
+
+        double dx = (sectionX(key) << SECTION_SHIFT) + SECTION_SIZE / 2D - center.getX();
+        double dz = (sectionZ(key) << SECTION_SHIFT) + SECTION_SIZE / 2D - center.getZ();
+        double range = Configurations.workingRangeTownHall + (double) SECTION_SIZE;
+        return dx * dx + dz * dz <= range * range;
+    }
+
+    /**
+     * Compute cell flags of a section, then flood fill connected standable cells into regions.
+     */
+    private static Section buildSection(IBlockAccess world, long key)
+    {
+        int baseX = sectionX(key) << SECTION_SHIFT;
+        int baseY = sectionY(key) << SECTION_SHIFT;
+        int baseZ = sectionZ(key) << SECTION_SHIFT;
+
+        byte[] flags = new byte[SECTION_VOLUME];
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int lx = 0; lx < SECTION_SIZE; ++lx)
+        {
+            for (int lz = 0; lz < SECTION_SIZE; ++lz)
+            {
+                for (int ly = 0; ly < SECTION_SIZE; ++ly)
+                {
+                    flags[cellIndex(lx, ly, lz)] = computeFlags(world, pos, baseX + lx, baseY + ly, baseZ + lz);
+                }
+            }
+        }
+
+        short[] regionOf = new short[SECTION_VOLUME];
+        int[] stack = new int[SECTION_VOLUME];
+        int regionCount = 0;
+
+        for (int start = 0; start < SECTION_VOLUME; ++start)
+        {
+            if ((flags[start] & STANDABLE) == 0 || regionOf[start] != 0 || regionCount == REGION_MASK)
+            {
+                continue;
+            }
+
+            ++regionCount;
+            regionOf[start] = (short) regionCount;
+            int size = 0;
+            stack[size++] = start;
+
+            while (size > 0)
+            {
+                int cell = stack[--size];
+                int lx = cell & SECTION_MASK;
+                int lz = (cell >> 4) & SECTION_MASK;
+                int ly = cell >> 8;
+
+                for (int[] dir : HORIZONTAL)
+                {
+                    for (int dy = -1; dy <= 1; ++dy)
+                    {
+                        size = fill(flags, regionOf, stack, size, regionCount, cell, lx + dir[0], ly + dy, lz + dir[1], dy);
+                    }
+                }
+
+                if ((flags[cell] & LADDER) != 0)
+                {
+                    size = fill(flags, regionOf, stack, size, regionCount, cell, lx, ly + 1, lz, 1);
+                }
+                size = fill(flags, regionOf, stack, size, regionCount, cell, lx, ly - 1, lz, -1);
+            }
+        }
+
+        return new Section(key, flags, regionOf, regionCount);
+    }
+
+    private static int fill(byte[] flags, short[] regionOf, int[] stack, int size, int region, int from, int lx, int ly, int lz, int dy)
+    {
+        if (lx < 0 || ly < 0 || lz < 0 || lx > SECTION_MASK || ly > SECTION_MASK || lz > SECTION_MASK)
+        {
+            return size;
+        }
+
+        int to = cellIndex(lx, ly, lz);
+        if (regionOf[to] != 0 || !canMove(flags[from], flags[to], dy, (from & 0xFF) == (to & 0xFF)))
+        {
+            return size;
+        }
+
+        regionOf[to] = (short) region;
+        stack[size] = to;
+        return size + 1;
+    }
+
+    /**
+     * Movement rule between two cells, mirroring the default rules of {@link AbstractPathJob}:
+     * a step up needs headroom above the origin, a step down needs headroom above the target, and moving straight
+     * up or down needs a ladder.
+     */
+    private static boolean canMove(byte from, byte to, int dy, boolean vertical)
+    {
+        if ((from & STANDABLE) == 0 || (to & STANDABLE) == 0)
+        {
+            return false;
+        }
+
+        if (vertical)
+        {
+            return dy > 0 ? (from & LADDER) != 0 : (to & LADDER) != 0;
+        }
+
+        if (dy > 0)
+        {
+            return (from & HEADROOM) != 0;
+        }
+        if (dy < 0)
+        {
+            return (to & HEADROOM) != 0;
+        }
+        return true;
+    }
+
+    private static byte computeFlags(IBlockAccess world, BlockPos.MutableBlockPos pos, int x, int y, int z)
+    {
+        if (y <= 0 || y >= 254)
+        {
+            return 0;
+        }
+
+        Block block = world.getBlockState(pos.set(x, y, z)).getBlock();
+        boolean ladder = block.isLadder(world, pos, null);
+        if (!AbstractPathJob.isPassableBlock(block)
+                || !AbstractPathJob.isPassableBlock(world.getBlockState(pos.set(x, y + 1, z)).getBlock()))
+        {
+            return 0;
+        }
+
+        byte flags = 0;
+        Block below = world.getBlockState(pos.set(x, y - 1, z)).getBlock();
+        if (ladder || AbstractPathJob.isWalkableSurfaceBlock(below) || below.isLadder(world, pos, null))
+        {
+            flags |= STANDABLE;
+        }
+
+        if (ladder)
+        {
+            flags |= LADDER;
+        }
+
+        if (AbstractPathJob.isPassableBlock(world.getBlockState(pos.set(x, y + 2, z)).getBlock()))
+        {
+            flags |= HEADROOM;
+        }
+
+        return flags;
+    }
+
+    /**
+     * Get the regions connected to a region through the portals of its section.
+     * Edges are computed once per section and kept as long as all neighbouring sections are unchanged.
+     */
+    private long[] getEdges(IBlockAccess world, SectionBounds bounds, Section section, int region)
+    {
+        long[][] edges = section.getEdges(this);
+        if (edges == null)
+        {
+            edges = computeEdges(world, bounds, section);
+        }
+        return edges[region];
+    }
+
+    private long[][] computeEdges(IBlockAccess world, SectionBounds bounds, Section section)
+    {
+        int sx = sectionX(section.key);
+        int sy = sectionY(section.key);
+        int sz = sectionZ(section.key);
+
+        List<Set<Long>> portals = new ArrayList<>(section.regionCount + 1);
+        for (int i = 0; i <= section.regionCount; ++i)
+        {
+            portals.add(new HashSet<>());
+        }
+
+        Section[] neighbours = new Section[27];
+        boolean complete = true;
+
+        for (int cell = 0; cell < SECTION_VOLUME; ++cell)
+        {
+            int region = section.regionOf[cell];
+            if (region == 0)
+            {
+                continue;
+            }
+
+            int lx = cell & SECTION_MASK;
+            int lz = (cell >> 4) & SECTION_MASK;
+            int ly = cell >> 8;
+            if (lx != 0 && lz != 0 && ly != 0 && lx != SECTION_MASK && lz != SECTION_MASK && ly < SECTION_MASK)
+            {
+                //  Interior cells can not reach another section
+                continue;
+            }
+
+            for (int[] dir : HORIZONTAL)
+            {
+                for (int dy = -1; dy <= 1; ++dy)
+                {
+                    complete &= addPortal(world, bounds, section, neighbours, portals.get(region), cell, sx, sy, sz,
+                            lx + dir[0], ly + dy, lz + dir[1], dy);
+                }
+            }
+
+            complete &= addPortal(world, bounds, section, neighbours, portals.get(region), cell, sx, sy, sz, lx, ly + 1, lz, 1);
+            complete &= addPortal(world, bounds, section, neighbours, portals.get(region), cell, sx, sy, sz, lx, ly - 1, lz, -1);
+        }
+
+        long[][] edges = new long[section.regionCount + 1][];
+        for (int i = 0; i <= section.regionCount; ++i)
+        {
+            Set<Long> targets = portals.get(i);
+            edges[i] = new long[targets.size()];
+            int j = 0;
+            for (long target : targets)
+            {
+                edges[i][j++] = target;
+            }
+        }
+
+        if (complete)
+        {
+            section.setEdges(edges, neighbours);
+        }
+        return edges;
+    }
+
+    /**
+     * Add the region of the target cell as a portal target, if the target lies in another section and can be
+     * moved into.
+     *
+     * @return false if the target section could not be read from this job's block access, so the edges must not be
+     * cached: another job may be able to read it.
+     */
+    private boolean addPortal(IBlockAccess world, SectionBounds bounds, Section section, Section[] neighbours, Set<Long> targets,
+            int fromCell, int sx, int sy, int sz, int lx, int ly, int lz, int dy)
+    {
+        int ox = lx < 0 ? -1 : (lx > SECTION_MASK ? 1 : 0);
+        int oy = ly < 0 ? -1 : (ly > SECTION_MASK ? 1 : 0);
+        int oz = lz < 0 ? -1 : (lz > SECTION_MASK ? 1 : 0);
+        if (ox == 0 && oy == 0 && oz == 0)
+        {
+            return true;
+        }
+
+        if (sy + oy < 0 || sy + oy > MAX_SECTION_Y)
+        {
+            return true;
+        }
+
+        int slot = (ox + 1) * 9 + (oy + 1) * 3 + oz + 1;
+        long neighbourKey = packSection(sx + ox, sy + oy, sz + oz);
+        Section neighbour = neighbours[slot];
+        if (neighbour == null)
+        {
+            neighbour = getSection(world, bounds, neighbourKey);
+            if (neighbour == null)
+            {
+                //  Sections outside the colony are never built, those outside the bounds of this job may be
+                return !isInColony(neighbourKey);
+            }
+            neighbours[slot] = neighbour;
+        }
+
+        int toCell = cellIndex(lx & SECTION_MASK, ly & SECTION_MASK, lz & SECTION_MASK);
+        int targetRegion = neighbour.regionOf[toCell];
+        if (targetRegion != 0 && canMove(section.flags[fromCell], neighbour.flags[toCell], dy, ox == 0 && oz == 0))
+        {
+            targets.add((neighbourKey << REGION_BITS) | targetRegion);
+        }
+        return true;
+    }
+
+    /**
+     * Horizontal area, in sections, which may be built from the block access of a job.
+     */
+    private static final class SectionBounds
+    {
+        private final int minX;
+        private final int minZ;
+        private final int maxX;
+        private final int maxZ;
+
+        SectionBounds(BlockPos min, BlockPos max)
+        {
+            //  Only sections completely inside the area
+            minX = (min.getX() + SECTION_MASK) >> SECTION_SHIFT;
+            minZ = (min.getZ() + SECTION_MASK) >> SECTION_SHIFT;
+            maxX = ((max.getX() + 1) >> SECTION_SHIFT) - 1;
+            maxZ = ((max.getZ() + 1) >> SECTION_SHIFT) - 1;
+        }
+
+        boolean contains(long key)
+        {
+            int x = sectionX(key);
+            int z = sectionZ(key);
+            return x >= minX && x <= maxX && z >= minZ && z <= maxZ;
+        }
+    }
+
+    /**
+     * Immutable cell data of one section, plus its lazily computed portals.
+     */
+    private static final class Section
+    {
+        private final long    key;
+        private final byte[]  flags;
+        private final short[] regionOf;
+        private final int     regionCount;
+
+        //  Portals per region, valid while the neighbouring sections used to compute them are still cached
+        private long[][]  edges;
+        private Section[] edgeNeighbours;
+
+        Section(long key, byte[] flags, short[] regionOf, int regionCount)
+        {
+            this.key = key;
+            this.flags = flags;
+            this.regionOf = regionOf;
+            this.regionCount = regionCount;
+        }
+
+        synchronized long[][] getEdges(RegionGraph graph)
+        {
+            if (edges == null)
+            {
+                return null;
+            }
+
+            for (Section neighbour : edgeNeighbours)
+            {
+                if (neighbour != null && graph.sections.get(neighbour.key) != neighbour)
+                {
+                    edges = null;
+                    edgeNeighbours = null;
+                    return null;
+                }
+            }
+            return edges;
+        }
+
+        synchronized void setEdges(long[][] edges, Section[] neighbours)
+        {
+            this.edges = edges;
+            this.edgeNeighbours = neighbours;
+        }
+    }
+}
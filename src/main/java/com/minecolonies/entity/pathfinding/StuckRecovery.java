@@ -0,0 +1,117 @@
+package com.minecolonies.entity.pathfinding;
+
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * Gets an entity out of the blocks it got stuck in, without flooding the pathfinding thread.
+ * <p>
+ * While the entity is stuck, it first looks for a free spot right next to it and steps there. Only if there is none
+ * a path job moving it away is queued, and at most one of them is in progress at a time. Attempts which did not free
+ * the entity are retried after a delay, which doubles with every attempt, until the entity is free again.
+ */
+public class StuckRecovery
+{
+    //  Delay before the second attempt, and the longest delay between two attempts
+    private static final int MIN_DELAY = 10;
+    private static final int MAX_DELAY = 200;
+
+    //  Distance of the free spots the entity may step to directly
+    private static final int LOCAL_RANGE = 1;
+
+    private final EntityLiving entity;
+    private final PathNavigate navigator;
+
+    private PathResult pathResult  = null;
+    private int        delay       = 0;
+    private int        nextAttempt = 0;
+
+    /**
+     * @param entity    the entity to get out.
+     * @param navigator navigator of the entity.
+     */
+    public StuckRecovery(EntityLiving entity, PathNavigate navigator)
+    {
+        this.entity = entity;
+        this.navigator = navigator;
+    }
+
+    /**
+     * Called every tick on the server.
+     *
+     * @param stuck true if the entity is inside a block.
+     * @param range distance to move away if there is no free spot around.
+     * @param speed speed to move away with.
+     */
+    public void update(boolean stuck, int range, double speed)
+    {
+        if (!stuck)
+        {
+            pathResult = null;
+            delay = 0;
+            return;
+        }
+
+        if (entity.ticksExisted < nextAttempt || (pathResult != null && pathResult.isInProgress()))
+        {
+            return;
+        }
+
+        if (!stepToFreeSpot())
+        {
+            pathResult = navigator.moveAwayFromXYZ(entity.getPosition(), range, speed);
+        }
+
+        delay = delay == 0 ? MIN_DELAY : Math.min(delay * 2, MAX_DELAY);
+        nextAttempt = entity.ticksExisted + delay;
+    }
+
+    /**
+     * Move the entity to the closest spot around it where it fits, if there is one.
+     *
+     * @return true if the entity was moved.
+     */
+    private boolean stepToFreeSpot()
+    {
+        BlockPos position = entity.getPosition();
+        BlockPos closest = null;
+        int closestDistance = Integer.MAX_VALUE;
+
+        for (int y = 0; y <= LOCAL_RANGE; ++y)
+        {
+            for (int x = -LOCAL_RANGE; x <= LOCAL_RANGE; ++x)
+            {
+                for (int z = -LOCAL_RANGE; z <= LOCAL_RANGE; ++z)
+                {
+                    int distance = x * x + y * y + z * z;
+                    if (distance == 0 || distance >= closestDistance)
+                    {
+                        continue;
+                    }
+
+                    BlockPos candidate = position.add(x, y, z);
+                    if (isFree(entity.worldObj, candidate))
+                    {
+                        closest = candidate;
+                        closestDistance = distance;
+                    }
+                }
+            }
+        }
+
+        if (closest == null)
+        {
+            return false;
+        }
+
+        entity.setPositionAndUpdate(closest.getX() + 0.5D, closest.getY(), closest.getZ() + 0.5D);
+        return true;
+    }
+
+    private static boolean isFree(World world, BlockPos pos)
+    {
+        return !world.getBlockState(pos).getBlock().getMaterial().blocksMovement()
+                 && !world.getBlockState(pos.up()).getBlock().getMaterial().blocksMovement();
+    }
+}
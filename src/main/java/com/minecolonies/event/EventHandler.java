@@ -10,7 +10,9 @@ import com.minecolonies.entity.PlayerProperties;
 import com.minecolonies.util.LanguageHandler;
 import com.minecolonies.util.MathUtils;
 import net.minecraft.block.Block;
+import net.minecraft.entity.item.EntityItem;
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.util.BlockPos;
 import net.minecraft.world.World;
 import net.minecraftforge.event.entity.EntityEvent;
@@ -18,6 +20,7 @@ import net.minecraftforge.event.entity.EntityJoinWorldEvent;
 import net.minecraftforge.event.entity.living.LivingDeathEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
 import net.minecraftforge.event.world.BlockEvent;
+import net.minecraftforge.event.world.ChunkEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 
@@ -138,7 +141,22 @@ public class EventHandler
             return canOwnerPlaceTownHallHere(world, player, colony, pos);
         }
 
+        //  The colony of the player is queued to load by getIColonyByOwner, players are only allowed a single colony
+        if (ColonyManager.isDormantColonyOwner(world, player))
+        {
+            LanguageHandler.sendPlayerLocalizedMessage(player, "tile.blockHutTownHall.messagePlacedAlready");
+            return false;
+        }
+
         colony = ColonyManager.getClosestIColony(world, pos);
+
+        //  A close colony which is not loaded yet is queued to load by getClosestIColony, it is checked once it is
+        if (ColonyManager.isDormantColonyWithin(world, pos, ColonyManager.getMinimumDistanceBetweenTownHalls()))
+        {
+            LanguageHandler.sendPlayerLocalizedMessage(player, "tile.blockHutTownHall.messageTooClose");
+            return false;
+        }
+
         if(colony == null)
         {
             createColony(world, player, pos);
@@ -267,7 +285,7 @@ public class EventHandler
 
     /**
      * Called when an entity joins the world
-     * Loads player property data when player enters
+     * Loads player property data when player enters, and tracks items dropped in colonies
      *
      * @param event     {@link EntityJoinWorldEvent}
      */
@@ -278,6 +296,25 @@ public class EventHandler
         {
             PlayerProperties.loadProxyData((EntityPlayer) event.entity);
         }
+        else if(!event.entity.worldObj.isRemote && event.entity instanceof EntityItem)
+        {
+            ColonyManager.onItemJoinWorld((EntityItem) event.entity);
+        }
+    }
+
+    /**
+     * Called when an entity moves into another chunk, or is added to a world
+     * Updates the colonies a player is subscribed to
+     *
+     * @param event     {@link net.minecraftforge.event.entity.EntityEvent.EnteringChunk}
+     */
+    @SubscribeEvent
+    public void onEnteringChunk(EntityEvent.EnteringChunk event)
+    {
+        if(event.entity instanceof EntityPlayerMP)
+        {
+            ColonyManager.onPlayerMoved((EntityPlayerMP) event.entity);
+        }
     }
 
     /**
@@ -318,4 +355,17 @@ public class EventHandler
     {
         ColonyManager.onWorldSave(event.world);
     }
+
+    /**
+     * Gets called when a chunk loads.
+     * Calls {@link ColonyManager#onChunkLoad(World, int, int)}
+     *
+     * @param event     {@link net.minecraftforge.event.world.ChunkEvent.Load}
+     * @see             {@link ColonyManager#onChunkLoad(World, int, int)}
+     */
+    @SubscribeEvent
+    public void onChunkLoad(ChunkEvent.Load event)
+    {
+        ColonyManager.onChunkLoad(event.world, event.getChunk().xPosition, event.getChunk().zPosition);
+    }
 }
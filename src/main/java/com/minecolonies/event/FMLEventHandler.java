@@ -51,7 +51,7 @@ public class FMLEventHandler
 
     /**
      * Called when a player logs in
-     * If the joining player is a MP-Player, sends all possible styles in a message
+     * If the joining player is a MP-Player, sends all possible styles in a message and loads their colony
      *
      * @param event     {@link net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerLoggedInEvent}
      */
@@ -61,6 +61,52 @@ public class FMLEventHandler
         if(event.player instanceof EntityPlayerMP)
         {
             MineColonies.getNetwork().sendTo(new ColonyStylesMessage(), (EntityPlayerMP) event.player);
+            ColonyManager.onPlayerLogin(event.player);
+        }
+    }
+
+    /**
+     * Called when a player logs out
+     * Unsubscribes the player from the colonies
+     *
+     * @param event     {@link net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerLoggedOutEvent}
+     */
+    @SubscribeEvent
+    public void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event)
+    {
+        if(event.player instanceof EntityPlayerMP)
+        {
+            ColonyManager.onPlayerLogout((EntityPlayerMP) event.player);
+        }
+    }
+
+    /**
+     * Called when a player respawns, as a new player entity
+     * Moves the colony subscriptions to the new entity
+     *
+     * @param event     {@link net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerRespawnEvent}
+     */
+    @SubscribeEvent
+    public void onPlayerRespawn(PlayerEvent.PlayerRespawnEvent event)
+    {
+        if(event.player instanceof EntityPlayerMP)
+        {
+            ColonyManager.onPlayerRespawn((EntityPlayerMP) event.player);
+        }
+    }
+
+    /**
+     * Called when a player moves to another dimension
+     * Updates the colonies the player is subscribed to
+     *
+     * @param event     {@link net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerChangedDimensionEvent}
+     */
+    @SubscribeEvent
+    public void onPlayerChangedDimension(PlayerEvent.PlayerChangedDimensionEvent event)
+    {
+        if(event.player instanceof EntityPlayerMP)
+        {
+            ColonyManager.onPlayerMoved((EntityPlayerMP) event.player);
         }
     }
 }
@@ -0,0 +1,26 @@
+package com.minecolonies.event;
+
+import com.minecolonies.colony.ColonyManager;
+import net.minecraftforge.event.terraingen.SaplingGrowTreeEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+/**
+ * Handles the forge terrain generation events.
+ */
+public class TerrainEventHandler
+{
+    /**
+     * Called when a sapling is about to grow into a tree
+     * Calls {@link ColonyManager#onSaplingGrow(net.minecraft.world.World, net.minecraft.util.BlockPos)}
+     *
+     * @param event     {@link SaplingGrowTreeEvent}
+     */
+    @SubscribeEvent
+    public void onSaplingGrowTree(SaplingGrowTreeEvent event)
+    {
+        if (!event.world.isRemote)
+        {
+            ColonyManager.onSaplingGrow(event.world, event.pos);
+        }
+    }
+}
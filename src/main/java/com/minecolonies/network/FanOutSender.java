@@ -0,0 +1,59 @@
+package com.minecolonies.network;
+
+import com.minecolonies.MineColonies;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.network.Packet;
+import net.minecraftforge.fml.common.network.internal.FMLProxyPacket;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+
+import java.util.Collection;
+
+/**
+ * Sends one message to many players.
+ * <p>
+ * {@link net.minecraftforge.fml.common.network.simpleimpl.SimpleNetworkWrapper#sendTo(IMessage, EntityPlayerMP)}
+ * encodes the message again for every player. Here the message is encoded into a packet once, and the same packet
+ * is handed to the connection of every player.
+ */
+public final class FanOutSender
+{
+    private FanOutSender()
+    {
+    }
+
+    /**
+     * Send a message to every player in the collection.
+     * Releases the payload of {@link IPooledMessage}s once the message is encoded.
+     *
+     * @param message   the message to send
+     * @param players   players to send to
+     * @return          size of the encoded message in bytes, 0 if there was nobody to send to
+     */
+    public static int send(IMessage message, Collection<EntityPlayerMP> players)
+    {
+        try
+        {
+            if (players.isEmpty())
+            {
+                return 0;
+            }
+
+            Packet packet = MineColonies.getNetwork().getPacketFrom(message);
+            //  Measured before sending, the connections may write the packet on their own threads
+            int size = packet instanceof FMLProxyPacket ? ((FMLProxyPacket) packet).payload().readableBytes() : 0;
+            for (EntityPlayerMP player : players)
+            {
+                player.playerNetServerHandler.sendPacket(packet);
+            }
+
+            return size;
+        }
+        finally
+        {
+            if (message instanceof IPooledMessage)
+            {
+                ((IPooledMessage) message).release();
+            }
+        }
+    }
+}
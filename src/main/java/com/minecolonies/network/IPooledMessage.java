@@ -0,0 +1,15 @@
+package com.minecolonies.network;
+
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+
+/**
+ * A message whose payload is kept in a pooled buffer.
+ * The payload is encoded once when the message is created and has to be released once the message was sent.
+ */
+public interface IPooledMessage extends IMessage
+{
+    /**
+     * Return the payload buffer to its pool. Does nothing for messages received from the network.
+     */
+    void release();
+}
@@ -4,8 +4,8 @@ import com.minecolonies.colony.ColonyManager;
 import com.minecolonies.colony.buildings.AbstractBuilding;
 import com.minecolonies.util.BlockPosUtil;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
 import net.minecraft.util.BlockPos;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -15,6 +15,9 @@ import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
  */
 public class ColonyViewBuildingViewMessage implements IMessage, IMessageHandler<ColonyViewBuildingViewMessage, IMessage>
 {
+    //  Largest number of bytes of a var int
+    private static final int VAR_INT_SIZE = 5;
+
     private int              colonyId;
     private BlockPos         buildingId;
     private ByteBuf          buildingData;
@@ -22,29 +25,29 @@ public class ColonyViewBuildingViewMessage implements IMessage, IMessageHandler<
     public ColonyViewBuildingViewMessage(){}
 
     /**
-     * Creates a
+     * Creates a message with the last serialized view of a building, see {@link AbstractBuilding#updateViewVersion()}
+     *
      * @param building      AbstractBuilding to add or update a view for
      */
     public ColonyViewBuildingViewMessage(AbstractBuilding building)
     {
         this.colonyId = building.getColony().getID();
         this.buildingId = building.getID();
-        this.buildingData = Unpooled.buffer();
-        building.serializeToView(this.buildingData);
+        this.buildingData = building.getViewData();
     }
 
     @Override
     public void toBytes(ByteBuf buf)
     {
-        buf.writeInt(colonyId);
+        ByteBufUtils.writeVarInt(buf, colonyId, VAR_INT_SIZE);
         BlockPosUtil.writeToByteBuf(buf, buildingId);
-        buf.writeBytes(buildingData);
+        buf.writeBytes(buildingData, buildingData.readerIndex(), buildingData.readableBytes());
     }
 
     @Override
     public void fromBytes(ByteBuf buf)
     {
-        colonyId = buf.readInt();
+        colonyId = ByteBufUtils.readVarInt(buf, VAR_INT_SIZE);
         buildingId = BlockPosUtil.readFromByteBuf(buf);
         buildingData = buf;
     }
@@ -0,0 +1,229 @@
+package com.minecolonies.network.messages;
+
+import com.minecolonies.configuration.Configurations;
+import com.minecolonies.network.IPooledMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * All the ColonyView updates of one tick for one subscriber, in a single packet.
+ * <p>
+ * The payload is the list of view messages, each framed by its type and length, deflated when it is larger than
+ * {@link Configurations#viewBundleCompressionThreshold}. The client handles the messages in the order they were added.
+ */
+public class ColonyViewBundleMessage implements IPooledMessage, IMessageHandler<ColonyViewBundleMessage, IMessage>
+{
+    //  Largest number of bytes of a var int
+    private static final int VAR_INT_SIZE = 5;
+
+    //  Messages which can be bundled, the index is the type written in the frame
+    private static final List<Class<? extends IMessage>> PART_TYPES = Arrays.asList(
+            ColonyViewMessage.class,
+            PermissionsMessage.View.class,
+            ColonyViewCitizenViewMessage.class,
+            ColonyViewBuildingViewMessage.class,
+            ColonyViewRemoveCitizenMessage.class,
+            ColonyViewRemoveBuildingMessage.class);
+
+    private static final List<Supplier<IMessage>> PART_FACTORIES = Arrays.asList(
+            ColonyViewMessage::new,
+            PermissionsMessage.View::new,
+            ColonyViewCitizenViewMessage::new,
+            ColonyViewBuildingViewMessage::new,
+            ColonyViewRemoveCitizenMessage::new,
+            ColonyViewRemoveBuildingMessage::new);
+
+    private ByteBuf        payload;
+    private List<IMessage> parts;
+
+    //  Only set on the server, where the payload comes from the pool
+    private ByteBuf pooledBuffer = null;
+
+    public ColonyViewBundleMessage(){}
+
+    /**
+     * Bundles view messages, they are encoded right away and may be released afterwards
+     *
+     * @param messages   view messages, in the order the client has to handle them
+     */
+    public ColonyViewBundleMessage(List<IMessage> messages)
+    {
+        ByteBuf frame = PooledByteBufAllocator.DEFAULT.buffer();
+        ByteBuf part = PooledByteBufAllocator.DEFAULT.buffer();
+        try
+        {
+            ByteBufUtils.writeVarInt(frame, messages.size(), VAR_INT_SIZE);
+            for (IMessage message : messages)
+            {
+                part.clear();
+                message.toBytes(part);
+
+                frame.writeByte(getPartType(message));
+                ByteBufUtils.writeVarInt(frame, part.readableBytes(), VAR_INT_SIZE);
+                frame.writeBytes(part, part.readerIndex(), part.readableBytes());
+            }
+
+            pooledBuffer = PooledByteBufAllocator.DEFAULT.buffer();
+            writePayload(pooledBuffer, frame);
+            payload = Unpooled.unmodifiableBuffer(pooledBuffer);
+        }
+        finally
+        {
+            frame.release();
+            part.release();
+        }
+    }
+
+    private static int getPartType(IMessage message)
+    {
+        int type = PART_TYPES.indexOf(message.getClass());
+        if (type < 0)
+        {
+            throw new IllegalArgumentException("Can not bundle " + message.getClass().getName());
+        }
+        return type;
+    }
+
+    private static void writePayload(ByteBuf buf, ByteBuf frame)
+    {
+        int length = frame.readableBytes();
+        boolean compress = Configurations.viewBundleCompressionThreshold > 0
+                && length >= Configurations.viewBundleCompressionThreshold;
+
+        buf.writeBoolean(compress);
+        ByteBufUtils.writeVarInt(buf, length, VAR_INT_SIZE);
+        if (!compress)
+        {
+            buf.writeBytes(frame, frame.readerIndex(), length);
+            return;
+        }
+
+        byte[] input = new byte[length];
+        frame.getBytes(frame.readerIndex(), input);
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try
+        {
+            deflater.setInput(input);
+            deflater.finish();
+
+            byte[] output = new byte[Math.max(64, length / 2)];
+            while (!deflater.finished())
+            {
+                int count = deflater.deflate(output);
+                buf.writeBytes(output, 0, count);
+            }
+        }
+        finally
+        {
+            deflater.end();
+        }
+    }
+
+    private static ByteBuf readPayload(ByteBuf buf)
+    {
+        boolean compressed = buf.readBoolean();
+        int length = ByteBufUtils.readVarInt(buf, VAR_INT_SIZE);
+        if (!compressed)
+        {
+            return buf.readSlice(length);
+        }
+
+        byte[] input = new byte[buf.readableBytes()];
+        buf.readBytes(input);
+        byte[] output = new byte[length];
+
+        Inflater inflater = new Inflater();
+        try
+        {
+            inflater.setInput(input);
+            if (inflater.inflate(output) != length || !inflater.finished())
+            {
+                throw new IllegalArgumentException("Colony view bundle does not match its length");
+            }
+        }
+        catch (DataFormatException e)
+        {
+            throw new IllegalArgumentException("Corrupt colony view bundle", e);
+        }
+        finally
+        {
+            inflater.end();
+        }
+        return Unpooled.wrappedBuffer(output);
+    }
+
+    @Override
+    public void release()
+    {
+        if (pooledBuffer != null)
+        {
+            pooledBuffer.release();
+            pooledBuffer = null;
+        }
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf)
+    {
+        buf.writeBytes(payload, payload.readerIndex(), payload.readableBytes());
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf)
+    {
+        ByteBuf frame = readPayload(buf);
+        int count = ByteBufUtils.readVarInt(frame, VAR_INT_SIZE);
+
+        parts = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i)
+        {
+            int type = frame.readUnsignedByte();
+            int length = ByteBufUtils.readVarInt(frame, VAR_INT_SIZE);
+            if (type >= PART_FACTORIES.size())
+            {
+                throw new IllegalArgumentException("Unknown colony view message type " + type);
+            }
+
+            IMessage part = PART_FACTORIES.get(type).get();
+            part.fromBytes(frame.readSlice(length));
+            parts.add(part);
+        }
+    }
+
+    @Override
+    public IMessage onMessage(ColonyViewBundleMessage message, MessageContext ctx)
+    {
+        for (IMessage part : message.parts)
+        {
+            handle(part, ctx);
+        }
+        return null;
+    }
+
+    /**
+     * Handle a bundled message, every bundled message type is its own handler
+     *
+     * @param part   bundled message
+     * @param ctx    context of the bundle
+     * @param <T>    type of the message
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends IMessage> void handle(T part, MessageContext ctx)
+    {
+        ((IMessageHandler<T, IMessage>) part).onMessage(part, ctx);
+    }
+}
@@ -1,10 +1,14 @@
 package com.minecolonies.network.messages;
 
 import com.minecolonies.colony.CitizenData;
+import com.minecolonies.colony.CitizenDataView;
 import com.minecolonies.colony.Colony;
 import com.minecolonies.colony.ColonyManager;
+import com.minecolonies.network.IPooledMessage;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -12,41 +16,59 @@ import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 /**
  * Add or Update a ColonyView on the client
  */
-public class ColonyViewCitizenViewMessage implements IMessage, IMessageHandler<ColonyViewCitizenViewMessage, IMessage>
+public class ColonyViewCitizenViewMessage implements IPooledMessage, IMessageHandler<ColonyViewCitizenViewMessage, IMessage>
 {
+    //  Largest number of bytes of a var int
+    private static final int VAR_INT_SIZE = 5;
+
     private int     colonyId;
     private int     citizenId;
     private ByteBuf citizenBuffer;
 
+    //  Only set on the server, where the payload comes from the pool
+    private ByteBuf pooledBuffer = null;
+
     public ColonyViewCitizenViewMessage(){}
 
     /**
-     * Updates a {@link CitizenData.CitizenDataView} of the citizens
+     * Updates a {@link CitizenDataView} of the citizens
      *
      * @param colony     Colony of the citizen
      * @param citizen    Citizen data of the citizen to update view
+     * @param mask       Field groups of the view to send, see {@link CitizenData#getViewChangesSince(int)}
      */
-    public ColonyViewCitizenViewMessage(Colony colony, CitizenData citizen)
+    public ColonyViewCitizenViewMessage(Colony colony, CitizenData citizen, int mask)
     {
         this.colonyId = colony.getID();
         this.citizenId = citizen.getId();
-        this.citizenBuffer = Unpooled.buffer();
-        citizen.serializeViewNetworkData(citizenBuffer);
+        this.pooledBuffer = PooledByteBufAllocator.DEFAULT.buffer();
+        citizen.serializeViewNetworkData(pooledBuffer, mask);
+        this.citizenBuffer = Unpooled.unmodifiableBuffer(pooledBuffer);
+    }
+
+    @Override
+    public void release()
+    {
+        if (pooledBuffer != null)
+        {
+            pooledBuffer.release();
+            pooledBuffer = null;
+        }
     }
 
     @Override
     public void toBytes(ByteBuf buf)
     {
-        buf.writeInt(colonyId);
-        buf.writeInt(citizenId);
-        buf.writeBytes(citizenBuffer);
+        ByteBufUtils.writeVarInt(buf, colonyId, VAR_INT_SIZE);
+        ByteBufUtils.writeVarInt(buf, citizenId, VAR_INT_SIZE);
+        buf.writeBytes(citizenBuffer, citizenBuffer.readerIndex(), citizenBuffer.readableBytes());
     }
 
     @Override
     public void fromBytes(ByteBuf buf)
     {
-        colonyId = buf.readInt();
-        citizenId = buf.readInt();
+        colonyId = ByteBufUtils.readVarInt(buf, VAR_INT_SIZE);
+        citizenId = ByteBufUtils.readVarInt(buf, VAR_INT_SIZE);
         citizenBuffer = buf;
     }
 
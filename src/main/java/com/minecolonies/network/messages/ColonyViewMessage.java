@@ -3,7 +3,9 @@ package com.minecolonies.network.messages;
 import com.minecolonies.colony.Colony;
 import com.minecolonies.colony.ColonyManager;
 import com.minecolonies.colony.ColonyView;
+import com.minecolonies.network.IPooledMessage;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
@@ -12,12 +14,15 @@ import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 /**
  * Add or Update a ColonyView on the client
  */
-public class ColonyViewMessage implements IMessage, IMessageHandler<ColonyViewMessage, IMessage>
+public class ColonyViewMessage implements IPooledMessage, IMessageHandler<ColonyViewMessage, IMessage>
 {
     private int     colonyId;
     private boolean isNewSubscription;
     private ByteBuf colonyBuffer;
 
+    //  Only set on the server, where the payload comes from the pool
+    private ByteBuf pooledBuffer = null;
+
     public ColonyViewMessage(){}
 
     /**
@@ -30,8 +35,19 @@ public class ColonyViewMessage implements IMessage, IMessageHandler<ColonyViewMe
     {
         this.colonyId = colony.getID();
         this.isNewSubscription = isNewSubscription;
-        this.colonyBuffer = Unpooled.buffer();
-        ColonyView.serializeNetworkData(colony, colonyBuffer, isNewSubscription);
+        this.pooledBuffer = PooledByteBufAllocator.DEFAULT.buffer();
+        ColonyView.serializeNetworkData(colony, pooledBuffer, isNewSubscription);
+        this.colonyBuffer = Unpooled.unmodifiableBuffer(pooledBuffer);
+    }
+
+    @Override
+    public void release()
+    {
+        if (pooledBuffer != null)
+        {
+            pooledBuffer.release();
+            pooledBuffer = null;
+        }
     }
 
     @Override
@@ -39,7 +55,7 @@ public class ColonyViewMessage implements IMessage, IMessageHandler<ColonyViewMe
     {
         buf.writeInt(colonyId);
         buf.writeBoolean(isNewSubscription);
-        buf.writeBytes(colonyBuffer);
+        buf.writeBytes(colonyBuffer, colonyBuffer.readerIndex(), colonyBuffer.readableBytes());
     }
 
     @Override
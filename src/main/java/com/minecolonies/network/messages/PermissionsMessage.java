@@ -4,9 +4,11 @@ import com.minecolonies.colony.Colony;
 import com.minecolonies.colony.ColonyManager;
 import com.minecolonies.colony.ColonyView;
 import com.minecolonies.colony.permissions.Permissions;
+import com.minecolonies.network.IPooledMessage;
 import com.minecolonies.network.PacketUtils;
 import com.minecolonies.util.Log;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
@@ -19,11 +21,14 @@ public class PermissionsMessage
 {
     private static final String COLONY_DOES_NOT_EXIST = "Colony #%d does not exist.";
 
-    public static class View implements IMessage, IMessageHandler<View, IMessage>
+    public static class View implements IPooledMessage, IMessageHandler<View, IMessage>
     {
         private int     colonyID;
         private ByteBuf data;
 
+        //  Only set on the server, where the payload comes from the pool
+        private ByteBuf pooledBuffer = null;
+
         public View()
         {
             //Required
@@ -32,15 +37,26 @@ public class PermissionsMessage
         public View(Colony colony, Permissions.Rank viewerRank)
         {
             this.colonyID = colony.getID();
-            this.data = Unpooled.buffer();
-            colony.getPermissions().serializeViewNetworkData(this.data, viewerRank);
+            this.pooledBuffer = PooledByteBufAllocator.DEFAULT.buffer();
+            colony.getPermissions().serializeViewNetworkData(this.pooledBuffer, viewerRank);
+            this.data = Unpooled.unmodifiableBuffer(pooledBuffer);
+        }
+
+        @Override
+        public void release()
+        {
+            if (pooledBuffer != null)
+            {
+                pooledBuffer.release();
+                pooledBuffer = null;
+            }
         }
 
         @Override
         public void toBytes(ByteBuf buf)
         {
             buf.writeInt(colonyID);
-            buf.writeBytes(data);
+            buf.writeBytes(data, data.readerIndex(), data.readableBytes());
         }
 
         @Override
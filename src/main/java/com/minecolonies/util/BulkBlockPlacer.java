@@ -0,0 +1,218 @@
+package com.minecolonies.util;
+
+import com.minecolonies.colony.ColonyManager;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.init.Blocks;
+import net.minecraft.network.Packet;
+import net.minecraft.network.play.server.S21PacketChunkData;
+import net.minecraft.server.management.PlayerManager;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.BlockPos;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.EnumSkyBlock;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+import java.util.*;
+
+/**
+ * Places many blocks at once, like a whole schematic, without paying for the side effects of every single block.
+ * <p>
+ * Blocks are written straight into the sections of their chunk. Nothing else happens until {@link #flush()}, which
+ * does the rest once: the light of every changed chunk is recalculated, blocks around the placed ones are notified,
+ * every player watching a changed chunk gets one packet with its changed sections, and the colonies and path cache
+ * are told about the changed blocks.
+ */
+public final class BulkBlockPlacer
+{
+    private static final int SECTION_SHIFT = 4;
+    private static final int SECTION_MASK  = 15;
+    private static final int WORLD_HEIGHT  = 256;
+
+    private final World world;
+
+    private final Map<Long, ChangedChunk>    chunks       = new LinkedHashMap<>();
+    private final Map<BlockPos, IBlockState> placed       = new LinkedHashMap<>();
+    private final Map<BlockPos, TileEntity>  tileEntities = new LinkedHashMap<>();
+    private final List<BlockPos>             lightChanges = new ArrayList<>();
+
+    /**
+     * A chunk which had blocks placed in it, and which of its sections changed.
+     */
+    private static final class ChangedChunk
+    {
+        private final Chunk chunk;
+        private       int   sections;
+
+        private ChangedChunk(Chunk chunk)
+        {
+            this.chunk = chunk;
+        }
+    }
+
+    /**
+     * @param world the world to place blocks in.
+     */
+    public BulkBlockPlacer(World world)
+    {
+        this.world = world;
+    }
+
+    /**
+     * Place a block, blocks which are already in the world are skipped.
+     *
+     * @param pos   where to place it.
+     * @param state the block.
+     */
+    public void setBlockState(BlockPos pos, IBlockState state)
+    {
+        if (pos.getY() < 0 || pos.getY() >= WORLD_HEIGHT)
+        {
+            return;
+        }
+
+        Chunk chunk = world.getChunkFromBlockCoords(pos);
+        IBlockState oldState = chunk.getBlockState(pos);
+        if (oldState == state)
+        {
+            return;
+        }
+
+        ExtendedBlockStorage[] storage = chunk.getBlockStorageArray();
+        int section = pos.getY() >> SECTION_SHIFT;
+        if (storage[section] == null)
+        {
+            if (state.getBlock() == Blocks.air)
+            {
+                return;
+            }
+            storage[section] = new ExtendedBlockStorage(section << SECTION_SHIFT, !world.provider.getHasNoSky());
+        }
+
+        //  The old tile entity would stay behind, as the old block is not told it is replaced
+        if (oldState.getBlock().hasTileEntity(oldState))
+        {
+            world.removeTileEntity(pos);
+        }
+
+        storage[section].set(pos.getX() & SECTION_MASK, pos.getY() & SECTION_MASK, pos.getZ() & SECTION_MASK, state);
+
+        ChangedChunk changed = chunks.computeIfAbsent(ChunkCoordIntPair.chunkXZ2Int(chunk.xPosition, chunk.zPosition), key -> new ChangedChunk(chunk));
+        changed.sections |= 1 << section;
+
+        BlockPos immutablePos = new BlockPos(pos);
+        placed.put(immutablePos, state);
+        if (oldState.getBlock().getLightValue() != state.getBlock().getLightValue())
+        {
+            lightChanges.add(immutablePos);
+        }
+    }
+
+    /**
+     * Place a tile entity, after the blocks are placed.
+     *
+     * @param pos        where to place it.
+     * @param tileEntity the tile entity, it is not copied.
+     */
+    public void setTileEntity(BlockPos pos, TileEntity tileEntity)
+    {
+        tileEntities.put(new BlockPos(pos), tileEntity);
+    }
+
+    /**
+     * Finish placing the blocks: place the tile entities, update light, notify neighbors and send the changed chunks
+     * to the players.
+     */
+    public void flush()
+    {
+        for (Map.Entry<BlockPos, TileEntity> entry : tileEntities.entrySet())
+        {
+            world.setTileEntity(entry.getKey(), entry.getValue());
+        }
+
+        //  Sky light is recalculated right away, the rest of the light when the chunk ticks next
+        for (ChangedChunk changed : chunks.values())
+        {
+            changed.chunk.generateSkylightMap();
+            changed.chunk.setLightPopulated(false);
+            changed.chunk.setChunkModified();
+        }
+        for (BlockPos pos : lightChanges)
+        {
+            world.checkLightFor(EnumSkyBlock.BLOCK, pos);
+        }
+
+        if (!world.isRemote)
+        {
+            for (Map.Entry<BlockPos, IBlockState> entry : placed.entrySet())
+            {
+                entry.getValue().getBlock().onBlockAdded(world, entry.getKey(), entry.getValue());
+            }
+        }
+
+        //  Placed blocks next to each other are placed as they should be, only the blocks around them are notified
+        for (Map.Entry<BlockPos, IBlockState> entry : placed.entrySet())
+        {
+            for (EnumFacing facing : EnumFacing.values())
+            {
+                BlockPos neighbor = entry.getKey().offset(facing);
+                if (!placed.containsKey(neighbor))
+                {
+                    world.notifyBlockOfStateChange(neighbor, entry.getValue().getBlock());
+                }
+            }
+        }
+
+        if (world instanceof WorldServer)
+        {
+            sendChunks(((WorldServer) world).getPlayerManager());
+
+            //  The blocks did not go through markBlockForUpdate, so cached paths and colonies are told here
+            for (BlockPos pos : placed.keySet())
+            {
+                ColonyManager.onBlockChanged(world, pos);
+            }
+        }
+
+        chunks.clear();
+        placed.clear();
+        tileEntities.clear();
+        lightChanges.clear();
+    }
+
+    private void sendChunks(PlayerManager playerManager)
+    {
+        for (ChangedChunk changed : chunks.values())
+        {
+            Chunk chunk = changed.chunk;
+            List<Packet> packets = new ArrayList<>();
+            packets.add(new S21PacketChunkData(chunk, false, changed.sections));
+            for (Map.Entry<BlockPos, TileEntity> entry : tileEntities.entrySet())
+            {
+                BlockPos pos = entry.getKey();
+                Packet packet = entry.getValue().getDescriptionPacket();
+                if (packet != null && pos.getX() >> SECTION_SHIFT == chunk.xPosition && pos.getZ() >> SECTION_SHIFT == chunk.zPosition)
+                {
+                    packets.add(packet);
+                }
+            }
+
+            for (EntityPlayer player : world.playerEntities)
+            {
+                if (player instanceof EntityPlayerMP
+                      && playerManager.isPlayerWatchingChunk((EntityPlayerMP) player, chunk.xPosition, chunk.zPosition))
+                {
+                    for (Packet packet : packets)
+                    {
+                        ((EntityPlayerMP) player).playerNetServerHandler.sendPacket(packet);
+                    }
+                }
+            }
+        }
+    }
+}
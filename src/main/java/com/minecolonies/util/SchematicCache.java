@@ -0,0 +1,163 @@
+package com.minecolonies.util;
+
+import com.schematica.client.util.RotationHelper;
+import com.schematica.world.storage.Schematic;
+import net.minecraft.entity.Entity;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.BlockPos;
+import net.minecraft.util.EnumFacing;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Cache of parsed schematics, shared by every {@link SchematicWrapper} of the process, so builders working on the
+ * same hut type don't each read, unzip and rotate the schematic.
+ * <p>
+ * Entries are keyed by name and rotation, and only softly referenced, the garbage collector drops them when memory
+ * runs low. Cached schematics are shared and must not be modified: rotating one builds a new schematic, and tile
+ * entities are copied before they are placed in a world.
+ */
+public final class SchematicCache
+{
+    private static final int NUMBER_OF_ROTATIONS = 4;
+    private static final int REVERSE_ROTATION    = 3;
+
+    private static final Map<String, SoftReference<Schematic>> entries = new HashMap<>();
+
+    private SchematicCache()
+    {
+        //  Hides default constructor.
+    }
+
+    /**
+     * Get a schematic, rotated clockwise a number of times.
+     *
+     * @param name     name of the schematic.
+     * @param rotation number of rotations.
+     * @param loader   reads the schematic if it is not cached, may return null.
+     * @return the shared schematic, or null if it could not be read.
+     */
+    public static synchronized Schematic get(String name, int rotation, Supplier<Schematic> loader)
+    {
+        rotation = Math.floorMod(rotation, NUMBER_OF_ROTATIONS);
+
+        //  Client and server of a single player game share the cache, but may read different resources
+        String key = FMLCommonHandler.instance().getEffectiveSide() + ":" + rotation + ":" + name;
+        SoftReference<Schematic> reference = entries.get(key);
+        Schematic schematic = reference != null ? reference.get() : null;
+        if (schematic != null)
+        {
+            return schematic;
+        }
+
+        if (rotation == 0)
+        {
+            schematic = loader.get();
+        }
+        else
+        {
+            Schematic original = get(name, 0, loader);
+            schematic = original != null ? rotate(copy(original), rotation) : null;
+        }
+
+        if (schematic != null)
+        {
+            entries.values().removeIf(entry -> entry.get() == null);
+            entries.put(key, new SoftReference<>(schematic));
+        }
+        return schematic;
+    }
+
+    /**
+     * Copy a schematic, so it can be modified without changing the cached one.
+     *
+     * @param schematic the schematic, may be null.
+     * @return a copy with its own blocks and tile entities, or null.
+     */
+    public static Schematic copy(Schematic schematic)
+    {
+        if (schematic == null)
+        {
+            return null;
+        }
+
+        Schematic copy = new Schematic(schematic.getIcon(), schematic.getWidth(), schematic.getHeight(), schematic.getLength());
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int x = 0; x < schematic.getWidth(); ++x)
+        {
+            for (int y = 0; y < schematic.getHeight(); ++y)
+            {
+                for (int z = 0; z < schematic.getLength(); ++z)
+                {
+                    pos.set(x, y, z);
+                    copy.setBlockState(pos, schematic.getBlockState(pos));
+                }
+            }
+        }
+
+        for (TileEntity tileEntity : schematic.getTileEntities())
+        {
+            TileEntity tileEntityCopy = copyTileEntity(tileEntity);
+            if (tileEntityCopy != null)
+            {
+                copy.setTileEntity(tileEntityCopy.getPos(), tileEntityCopy);
+            }
+        }
+
+        for (Entity entity : schematic.getEntities())
+        {
+            copy.addEntity(entity);
+        }
+
+        copy.setOffset(schematic.getOffset());
+        return copy;
+    }
+
+    /**
+     * Copy a tile entity of a schematic, so it can be placed in a world.
+     *
+     * @param tileEntity the tile entity, may be null.
+     * @return a new tile entity with the same data, or null.
+     */
+    public static TileEntity copyTileEntity(TileEntity tileEntity)
+    {
+        if (tileEntity == null)
+        {
+            return null;
+        }
+
+        NBTTagCompound compound = new NBTTagCompound();
+        tileEntity.writeToNBT(compound);
+        return TileEntity.createAndLoadEntity(compound);
+    }
+
+    /**
+     * Rotate a schematic, the tile entities of the schematic are moved to the rotated one.
+     */
+    private static Schematic rotate(Schematic schematic, int rotation)
+    {
+        Schematic rotated = schematic;
+        try
+        {
+            if (rotation == REVERSE_ROTATION)
+            {
+                return RotationHelper.rotate(schematic, EnumFacing.DOWN, true);
+            }
+
+            for (int i = 0; i < rotation; i++)
+            {
+                rotated = RotationHelper.rotate(rotated, EnumFacing.UP, true);
+            }
+        }
+        catch (RotationHelper.RotationException e)
+        {
+            Log.logger.debug(e);
+        }
+        return rotated;
+    }
+}
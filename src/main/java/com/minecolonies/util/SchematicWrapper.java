@@ -3,7 +3,6 @@ package com.minecolonies.util;
 import com.minecolonies.blocks.AbstractBlockHut;
 import com.minecolonies.blocks.ModBlocks;
 import com.minecolonies.configuration.Configurations;
-import com.schematica.client.util.RotationHelper;
 import com.schematica.world.schematic.SchematicFormat;
 import com.schematica.world.storage.Schematic;
 import net.minecraft.block.Block;
@@ -22,8 +21,8 @@ import net.minecraft.server.MinecraftServer;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.AxisAlignedBB;
 import net.minecraft.util.BlockPos;
-import net.minecraft.util.EnumFacing;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.relauncher.Side;
@@ -50,9 +49,15 @@ public final class SchematicWrapper
 
     /**
      * The schematic world this schematic comes from.
+     * Shared with the other wrappers of the same schematic, see {@link SchematicCache}.
      */
     private Schematic schematicWorld;
 
+    /**
+     * Number of times the schematic is rotated.
+     */
+    private int rotation = 0;
+
     /**
      * The anchor position this schematic will be
      * placed on in the minecraft world.
@@ -76,8 +81,6 @@ public final class SchematicWrapper
 
     private static final int NUMBER_OF_ROTATIONS = 4;
 
-    private static final int REVERSE_ROTATION = 3;
-
     private static final int TWO_FOR_HALVING = 2;
 
     private static final ItemStack DEFUALT_ICON = new ItemStack(Blocks.red_mushroom);
@@ -90,19 +93,19 @@ public final class SchematicWrapper
      */
     public SchematicWrapper(World worldObj, String name)
     {
-        this(worldObj, getResourceLocation(name), name);
+        this(worldObj, loadSchematic(name, 0), name);
     }
 
     /**
-     * Load a schematic into this world.
+     * Get a schematic from the cache, reading it if it is not cached.
      *
-     * @param worldObj the world to load in
-     * @param res      the resource location of this schematic
      * @param name     the schematics name
+     * @param rotation number of times rotated
+     * @return the shared schematic
      */
-    private SchematicWrapper(World worldObj, ResourceLocation res, String name)
+    private static Schematic loadSchematic(String name, int rotation)
     {
-        this(worldObj, SchematicFormat.readFromStream(getStream(res)), name);
+        return SchematicCache.get(name, rotation, () -> SchematicFormat.readFromStream(getStream(getResourceLocation(name))));
     }
 
     /**
@@ -187,6 +190,7 @@ public final class SchematicWrapper
     {
         setLocalPosition(pos);
 
+        BulkBlockPlacer placer = new BulkBlockPlacer(world);
         List<BlockPos> delayedBlocks = new ArrayList<>();
 
         for(int j = 0; j < schematicWorld.getHeight(); j++)
@@ -200,85 +204,64 @@ public final class SchematicWrapper
                     Block localBlock = localState.getBlock();
 
                     BlockPos worldPos = pos.add(localPos);
-                    IBlockState worldState = world.getBlockState(worldPos);
 
                     if(localBlock == ModBlocks.blockSubstitution)
                     {
                         continue;
                     }
-                    else if(localBlock == Blocks.air && !worldState.getBlock().getMaterial().isSolid())
+                    else if(localBlock == Blocks.air)
                     {
-                        world.setBlockToAir(worldPos);
+                        //Only clear what isn't solid, the schematic must not cut into the terrain
+                        if(!world.getBlockState(worldPos).getBlock().getMaterial().isSolid())
+                        {
+                            placer.setBlockState(worldPos, localState);
+                        }
                     }
                     else if(localBlock.getMaterial().isSolid())
                     {
-                        placeBlock(localState, localBlock, worldPos);
+                        placer.setBlockState(worldPos, localState);
                     }
                     else
                     {
                         delayedBlocks.add(localPos);
                     }
 
-                    //setTileEntity checks for null and ignores it.
-                    world.setTileEntity(worldPos, schematicWorld.getTileEntity(localPos));
+                    TileEntity tileEntity = schematicWorld.getTileEntity(localPos);
+                    if(tileEntity != null)
+                    {
+                        placer.setTileEntity(worldPos, SchematicCache.copyTileEntity(tileEntity));
+                    }
                 }
             }
         }
 
+        //Non solid blocks are added after the blocks they stand on
         for(BlockPos coords : delayedBlocks)
         {
-            IBlockState localState = this.schematicWorld.getBlockState(coords);
-            Block localBlock = localState.getBlock();
-            BlockPos newWorldPos = pos.add(coords);
-
-            placeBlock(localState, localBlock, newWorldPos);
-        }
-    }
-
-    private void placeBlock(IBlockState localState, Block localBlock, BlockPos worldPos)
-    {
-        world.setBlockState(worldPos, localState, 0x03);
-        if(world.getBlockState(worldPos).getBlock() == localBlock)
-        {
-            if(world.getBlockState(worldPos) != localState)
-            {
-                world.setBlockState(worldPos, localState, 0x03);
-            }
-            localBlock.onBlockAdded(world, worldPos, localState);
+            placer.setBlockState(pos.add(coords), this.schematicWorld.getBlockState(coords));
         }
-    }
 
-    private void rotate(EnumFacing facing)
-    {
-        try
-        {
-            schematicWorld = RotationHelper.rotate(schematicWorld, facing, true);
-        }
-        catch (RotationHelper.RotationException e)
-        {
-            Log.logger.debug(e);
-        }
+        placer.flush();
     }
 
     /**
      * Rotate this schematic.
+     * The rotated schematic comes from the cache, rotating does not change the schematic of other wrappers.
      *
      * @param times how many times to rotate the schematic.
      */
     public void rotate(int times)
     {
-        if(times % NUMBER_OF_ROTATIONS == REVERSE_ROTATION)
+        if(times <= 0)
         {
-            //reverse rotate
-            rotate(EnumFacing.DOWN);
+            return;
         }
-        else
+
+        Schematic rotated = loadSchematic(name, rotation + times);
+        if(rotated != null)
         {
-            for (int i = 0; i < times; i++)
-            {
-                //normal rotate
-                rotate(EnumFacing.UP);
-            }
+            rotation = (rotation + times) % NUMBER_OF_ROTATIONS;
+            schematicWorld = rotated;
         }
     }
 
@@ -476,7 +459,19 @@ public final class SchematicWrapper
      */
     public boolean doesSchematicBlockEqualWorldBlock()
     {
-        IBlockState schematicBlockState = schematicWorld.getBlockState(this.getLocalPosition());
+        return isSchematicBlockEqual(world, this.getBlockPosition(), schematicWorld.getBlockState(this.getLocalPosition()));
+    }
+
+    /**
+     * Checks if a block of a schematic is built in the world.
+     *
+     * @param world               the world, or a snapshot of it.
+     * @param worldPos            world position of the block.
+     * @param schematicBlockState the block of the schematic.
+     * @return true if the world block is equal to the schematic block.
+     */
+    public static boolean isSchematicBlockEqual(IBlockAccess world, BlockPos worldPos, IBlockState schematicBlockState)
+    {
         Block schematicBlock = schematicBlockState.getBlock();
 
         //All worldBlocks are equal the substitution block
@@ -485,8 +480,6 @@ public final class SchematicWrapper
             return true;
         }
 
-        BlockPos worldPos = this.getBlockPosition();
-
         IBlockState worldBlockState = world.getBlockState(worldPos);
 
         //list of things to only check block for.
@@ -546,12 +539,42 @@ public final class SchematicWrapper
             }
 
         }
-        //Check for air blocks and if blocks below the hut are different from the schematicWorld
-        while((worldBlockAir() || (progressPos.getY() <= getOffset().getY() && doesSchematicBlockEqualWorldBlock())) && count < Configurations.maxBlocksCheckedByBuilder);
+        while(!needsClearing() && count < Configurations.maxBlocksCheckedByBuilder);
 
         return true;
     }
 
+    /**
+     * Checks if the world block at the current local block has to be cleared before building.
+     *
+     * @return true if the world block is not air, and above the hut or different from the schematic block.
+     */
+    public boolean needsClearing()
+    {
+        //Check for air blocks and if blocks below the hut are different from the schematicWorld
+        return !(worldBlockAir() || (progressPos.getY() <= getOffset().getY() && doesSchematicBlockEqualWorldBlock()));
+    }
+
+    /**
+     * Checks if the current local block is a structure block which still has to be placed.
+     *
+     * @return true if the schematic block is solid and different from the world block.
+     */
+    public boolean needsStructure()
+    {
+        return !(doesSchematicBlockEqualWorldBlock() || isBlockNonSolid());
+    }
+
+    /**
+     * Checks if the current local block is a decoration block which still has to be placed.
+     *
+     * @return true if the schematic block is not solid and different from the world block.
+     */
+    public boolean needsDecoration()
+    {
+        return !(doesSchematicBlockEqualWorldBlock() || isBlockSolid());
+    }
+
     private boolean isAirBlock()
     {
         return getBlock() == Blocks.air;
@@ -574,7 +597,7 @@ public final class SchematicWrapper
             }
 
         }
-        while ((doesSchematicBlockEqualWorldBlock() || isBlockNonSolid()) && count < Configurations.maxBlocksCheckedByBuilder);
+        while (!needsStructure() && count < Configurations.maxBlocksCheckedByBuilder);
 
         return true;
     }
@@ -601,7 +624,7 @@ public final class SchematicWrapper
             }
 
         }
-        while ((doesSchematicBlockEqualWorldBlock() || isBlockSolid()) && count < Configurations.maxBlocksCheckedByBuilder);
+        while (!needsDecoration() && count < Configurations.maxBlocksCheckedByBuilder);
 
         return true;
     }
@@ -664,7 +687,7 @@ public final class SchematicWrapper
     }
 
     /**
-     * @return The current local tile entity.
+     * @return A copy of the current local tile entity, to place in the world.
      */
     @Nullable
     public TileEntity getTileEntity()
@@ -673,7 +696,7 @@ public final class SchematicWrapper
         {
             return null;
         }
-        return this.schematicWorld.getTileEntity(this.progressPos);
+        return SchematicCache.copyTileEntity(this.schematicWorld.getTileEntity(this.progressPos));
     }
 
     /**
@@ -815,6 +838,7 @@ public final class SchematicWrapper
 
     /**
      * @return The Schematic that houses all the info about what is stored in a schematic.
+     *         It is shared with other wrappers and must not be modified, see {@link SchematicCache#copy(Schematic)}.
      */
     public Schematic getSchematic()
     {
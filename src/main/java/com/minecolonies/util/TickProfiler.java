@@ -0,0 +1,356 @@
+package com.minecolonies.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures where the server time of Minecolonies goes.
+ * <p>
+ * Code to be measured is wrapped in {@link Section#begin()} and {@link Section#end(long)}. Each section keeps the
+ * durations and allocated bytes of its last {@link #WINDOW_SIZE} calls, from which percentiles are computed when a
+ * report is requested. Profiling is off by default, a disabled section costs a single field read.
+ * <p>
+ * Allocation is measured with the per thread allocation counter of the JVM where it is available, it includes
+ * everything allocated by nested sections.
+ */
+public final class TickProfiler
+{
+    /**
+     * Section categories.
+     */
+    public static final String COLONY   = "colony";
+    public static final String BUILDING = "building";
+    public static final String CITIZENS = "citizens";
+    public static final String AI       = "ai";
+    public static final String TARGET   = "target";
+    public static final String PATH     = "path";
+
+    //  Number of calls kept per section
+    private static final int WINDOW_SIZE = 512;
+
+    private static final long NANOS_PER_MICRO = TimeUnit.MICROSECONDS.toNanos(1);
+
+    private static volatile boolean enabled = false;
+    private static          long    enabledSince = System.nanoTime();
+
+    private static final Map<String, Section> sections = new ConcurrentHashMap<>();
+
+    private static final com.sun.management.ThreadMXBean allocationCounter = getAllocationCounter();
+
+    //  Allocation counter values at the start of the open sections of each thread
+    private static final ThreadLocal<long[]> allocationStack = ThreadLocal.withInitial(() -> new long[16]);
+    private static final ThreadLocal<int[]>  allocationDepth = ThreadLocal.withInitial(() -> new int[1]);
+
+    private TickProfiler()
+    {
+    }
+
+    private static com.sun.management.ThreadMXBean getAllocationCounter()
+    {
+        try
+        {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean)
+            {
+                com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) bean;
+                if (counter.isThreadAllocatedMemorySupported())
+                {
+                    counter.setThreadAllocatedMemoryEnabled(true);
+                    return counter;
+                }
+            }
+        }
+        catch (LinkageError | RuntimeException e)
+        {
+            Log.logger.info("Allocation counters are not available, the profiler only measures time");
+        }
+        return null;
+    }
+
+    /**
+     * Returns the section with the given category and name, creating it if needed.
+     * Sections are meant to be looked up once and kept by the code they measure.
+     *
+     * @param category one of the category constants.
+     * @param name     name of the section within the category.
+     * @return the section.
+     */
+    public static Section getSection(String category, String name)
+    {
+        return sections.computeIfAbsent(category + '/' + name, key -> new Section(category, name));
+    }
+
+    /**
+     * @return true if the sections are recording.
+     */
+    public static boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * Start or stop recording. Starting clears the previous measurements.
+     *
+     * @param enable true to start recording.
+     */
+    public static void setEnabled(boolean enable)
+    {
+        if (enable && !enabled)
+        {
+            reset();
+        }
+        enabled = enable;
+    }
+
+    /**
+     * Clear the measurements of all sections.
+     */
+    public static void reset()
+    {
+        sections.values().forEach(Section::clear);
+        enabledSince = System.nanoTime();
+    }
+
+    /**
+     * Returns the sections with the most time spent in the window, one line per section.
+     *
+     * @param category category to list, or null for all.
+     * @param limit    maximum number of sections to list.
+     * @return list of report lines.
+     */
+    public static List<String> getReport(String category, int limit)
+    {
+        List<Summary> summaries = summarize(category);
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("Profiler %s, %d s since reset, top %d of %d sections by time:",
+                enabled ? "running" : "stopped",
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - enabledSince),
+                Math.min(limit, summaries.size()),
+                summaries.size()));
+
+        for (Summary summary : summaries.subList(0, Math.min(limit, summaries.size())))
+        {
+            lines.add(String.format("  %s %s: %d calls, p50 %.1f us, p99 %.1f us, %.2f ms in window, %d B/call",
+                    summary.category,
+                    summary.name,
+                    summary.calls,
+                    toMicros(summary.p50),
+                    toMicros(summary.p99),
+                    summary.windowNanos / (double) TimeUnit.MILLISECONDS.toNanos(1),
+                    summary.bytesPerCall));
+        }
+        return lines;
+    }
+
+    /**
+     * Write the measurements of all sections as CSV.
+     *
+     * @param file destination file.
+     * @throws IOException when the file can not be written.
+     */
+    public static void dumpCsv(File file) throws IOException
+    {
+        file.getParentFile().mkdirs();
+        try (PrintWriter writer = new PrintWriter(file, "UTF-8"))
+        {
+            writer.println("category,name,calls,window_calls,p50_ns,p99_ns,max_ns,window_ns,bytes_per_call");
+            for (Summary summary : summarize(null))
+            {
+                writer.printf("%s,\"%s\",%d,%d,%d,%d,%d,%d,%d%n",
+                        summary.category,
+                        summary.name.replace("\"", "\"\""),
+                        summary.calls,
+                        summary.windowCalls,
+                        summary.p50,
+                        summary.p99,
+                        summary.max,
+                        summary.windowNanos,
+                        summary.bytesPerCall);
+            }
+        }
+    }
+
+    private static List<Summary> summarize(String category)
+    {
+        List<Summary> summaries = new ArrayList<>();
+        for (Section section : sections.values())
+        {
+            if (category == null || category.equals(section.category))
+            {
+                Summary summary = section.summarize();
+                if (summary != null)
+                {
+                    summaries.add(summary);
+                }
+            }
+        }
+        summaries.sort((a, b) -> Long.compare(b.windowNanos, a.windowNanos));
+        return summaries;
+    }
+
+    private static double toMicros(long nanos)
+    {
+        return (double) nanos / NANOS_PER_MICRO;
+    }
+
+    private static long getAllocatedBytes()
+    {
+        return allocationCounter == null ? 0 : allocationCounter.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static void pushAllocation()
+    {
+        int[] depth = allocationDepth.get();
+        long[] stack = allocationStack.get();
+        if (depth[0] == stack.length)
+        {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+            allocationStack.set(stack);
+        }
+        stack[depth[0]++] = getAllocatedBytes();
+    }
+
+    private static long popAllocation()
+    {
+        int[] depth = allocationDepth.get();
+        return getAllocatedBytes() - allocationStack.get()[--depth[0]];
+    }
+
+    /**
+     * A measured piece of code.
+     */
+    public static final class Section
+    {
+        private final String category;
+        private final String name;
+
+        //  Guarded by this, allocated on the first recorded call
+        private long[] nanos      = null;
+        private long[] bytes      = null;
+        private int    next       = 0;
+        private long   calls      = 0;
+
+        private Section(String category, String name)
+        {
+            this.category = category;
+            this.name = name;
+        }
+
+        /**
+         * Start measuring a call. Must be followed by {@link #end(long)}, use a finally block.
+         *
+         * @return start time, or 0 if the profiler is disabled.
+         */
+        public long begin()
+        {
+            if (!enabled)
+            {
+                return 0;
+            }
+
+            pushAllocation();
+            return System.nanoTime();
+        }
+
+        /**
+         * Finish measuring a call.
+         *
+         * @param start value returned by {@link #begin()}.
+         */
+        public void end(long start)
+        {
+            if (start == 0)
+            {
+                return;
+            }
+
+            long duration = System.nanoTime() - start;
+            record(duration, popAllocation());
+        }
+
+        private synchronized void record(long duration, long allocated)
+        {
+            if (nanos == null)
+            {
+                nanos = new long[WINDOW_SIZE];
+                bytes = new long[WINDOW_SIZE];
+            }
+
+            nanos[next] = duration;
+            bytes[next] = allocated;
+            next = (next + 1) % WINDOW_SIZE;
+            ++calls;
+        }
+
+        private synchronized void clear()
+        {
+            nanos = null;
+            bytes = null;
+            next = 0;
+            calls = 0;
+        }
+
+        private synchronized Summary summarize()
+        {
+            if (calls == 0)
+            {
+                return null;
+            }
+
+            int count = (int) Math.min(calls, WINDOW_SIZE);
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+
+            long total = 0;
+            for (long duration : sorted)
+            {
+                total += duration;
+            }
+
+            long totalBytes = 0;
+            for (int i = 0; i < count; ++i)
+            {
+                totalBytes += bytes[i];
+            }
+
+            return new Summary(category, name, calls, count,
+                    sorted[count / 2], sorted[Math.min(count - 1, count * 99 / 100)], sorted[count - 1],
+                    total, totalBytes / count);
+        }
+    }
+
+    /**
+     * Measurements of a section at the time of the report.
+     */
+    private static final class Summary
+    {
+        private final String category;
+        private final String name;
+        private final long   calls;
+        private final int    windowCalls;
+        private final long   p50;
+        private final long   p99;
+        private final long   max;
+        private final long   windowNanos;
+        private final long   bytesPerCall;
+
+        Summary(String category, String name, long calls, int windowCalls, long p50, long p99, long max, long windowNanos, long bytesPerCall)
+        {
+            this.category = category;
+            this.name = name;
+            this.calls = calls;
+            this.windowCalls = windowCalls;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.max = max;
+            this.windowNanos = windowNanos;
+            this.bytesPerCall = bytesPerCall;
+        }
+    }
+}
@@ -13,19 +13,24 @@ import net.minecraft.util.BlockPos;
 import net.minecraftforge.fml.common.registry.FMLControlledNamespacedRegistry;
 import net.minecraftforge.fml.common.registry.GameData;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.util.*;
 
 public class Schematic implements ISchematic
 {
     private static final ItemStack DEFAULT_ICON = new ItemStack(Blocks.grass);
     private static final FMLControlledNamespacedRegistry<Block> BLOCK_REGISTRY = GameData.getBlockRegistry();
 
+    //  Bits of a palette index, the storage is repacked with more bits when the palette outgrows them
+    private static final int MIN_BITS_PER_BLOCK = 4;
+    private static final int BITS_PER_LONG = 64;
+
     private ItemStack icon;
-    private final short[][][] blocks;
-    private final byte[][][] metadata;
-    private final List<TileEntity> tileEntities = new ArrayList<>();
+    //  Blocks are indices into the palette, packed into longs in the order the builder walks them: x, then z, then y
+    private final List<IBlockState> palette = new ArrayList<>();
+    private final Map<IBlockState, Integer> paletteIndices = new HashMap<>();
+    private long[] blocks;
+    private int bitsPerBlock;
+    private final Map<Long, TileEntity> tileEntities = new LinkedHashMap<>();
     private final List<Entity> entities = new ArrayList<>();
     private final int width;
     private final int height;
@@ -37,13 +42,16 @@ public class Schematic implements ISchematic
     public Schematic(final ItemStack icon, final int width, final int height, final int length)
     {
         this.icon = icon;
-        this.blocks = new short[width][height][length];
-        this.metadata = new byte[width][height][length];
 
         this.width = width;
         this.height = height;
         this.length = length;
 
+        //  Index 0 is air, so the fresh storage is all air
+        addToPalette(Blocks.air.getDefaultState());
+        this.bitsPerBlock = MIN_BITS_PER_BLOCK;
+        this.blocks = new long[getLongCount(width * height * length, bitsPerBlock)];
+
         offset = new BlockPos(0, 0, 0);
     }
 
@@ -83,12 +91,7 @@ public class Schematic implements ISchematic
             return Blocks.air.getDefaultState();
         }
 
-        final int x = pos.getX();
-        final int y = pos.getY();
-        final int z = pos.getZ();
-        final Block block = BLOCK_REGISTRY.getObjectById(this.blocks[x][y][z]);
-
-        return block.getStateFromMeta(this.metadata[x][y][z]);
+        return this.palette.get(getIndex(getBlockIndex(pos)));
     }
 
     @Override
@@ -106,34 +109,86 @@ public class Schematic implements ISchematic
             return false;
         }
 
-        final int meta = block.getMetaFromState(blockState);
-        final int x = pos.getX();
-        final int y = pos.getY();
-        final int z = pos.getZ();
+        //  Only what the metadata holds is kept, as when blocks were stored by id and metadata
+        final IBlockState storedState = block.getStateFromMeta(block.getMetaFromState(blockState));
+        Integer index = this.paletteIndices.get(storedState);
+        if (index == null)
+        {
+            index = addToPalette(storedState);
+        }
 
-        this.blocks[x][y][z] = (short) id;
-        this.metadata[x][y][z] = (byte) meta;
+        setIndex(getBlockIndex(pos), index);
         return true;
     }
 
-    @Override
-    public TileEntity getTileEntity(final BlockPos pos)
+    private int addToPalette(final IBlockState blockState)
     {
-        for (final TileEntity tileEntity : this.tileEntities)
+        final int index = this.palette.size();
+        this.palette.add(blockState);
+        this.paletteIndices.put(blockState, index);
+
+        if (this.blocks != null && index >= 1 << this.bitsPerBlock)
         {
-            if (tileEntity.getPos().equals(pos))
-            {
-                return tileEntity;
-            }
+            repack(this.bitsPerBlock + 1);
+        }
+        return index;
+    }
+
+    private void repack(final int bits)
+    {
+        final int count = this.width * this.height * this.length;
+        final long[] oldBlocks = this.blocks;
+        final int oldBits = this.bitsPerBlock;
+
+        this.blocks = new long[getLongCount(count, bits)];
+        this.bitsPerBlock = bits;
+        for (int i = 0; i < count; i++)
+        {
+            setIndex(i, getIndex(oldBlocks, oldBits, i));
         }
+    }
+
+    private int getBlockIndex(final BlockPos pos)
+    {
+        return (pos.getY() * this.length + pos.getZ()) * this.width + pos.getX();
+    }
+
+    private int getIndex(final int block)
+    {
+        return getIndex(this.blocks, this.bitsPerBlock, block);
+    }
+
+    private static int getIndex(final long[] storage, final int bits, final int block)
+    {
+        final int perLong = BITS_PER_LONG / bits;
+        final int shift = (block % perLong) * bits;
+        return (int) ((storage[block / perLong] >>> shift) & ((1L << bits) - 1));
+    }
+
+    private void setIndex(final int block, final int index)
+    {
+        final int perLong = BITS_PER_LONG / this.bitsPerBlock;
+        final int shift = (block % perLong) * this.bitsPerBlock;
+        final long mask = ((1L << this.bitsPerBlock) - 1) << shift;
+        this.blocks[block / perLong] = (this.blocks[block / perLong] & ~mask) | ((long) index << shift);
+    }
+
+    private static int getLongCount(final int count, final int bits)
+    {
+        final int perLong = BITS_PER_LONG / bits;
+        return (count + perLong - 1) / perLong;
+    }
 
-        return null;
+    @Override
+    public TileEntity getTileEntity(final BlockPos pos)
+    {
+        return this.tileEntities.get(pos.toLong());
     }
 
     @Override
     public List<TileEntity> getTileEntities()
     {
-        return this.tileEntities;
+        return new ArrayList<>(this.tileEntities.values());
     }
 
     @Override
@@ -148,23 +203,14 @@ public class Schematic implements ISchematic
 
         if (tileEntity != null)
         {
-            this.tileEntities.add(tileEntity);
+            this.tileEntities.put(pos.toLong(), tileEntity);
         }
     }
 
     @Override
     public void removeTileEntity(final BlockPos pos)
     {
-        final Iterator<TileEntity> iterator = this.tileEntities.iterator();
-
-        while (iterator.hasNext())
-        {
-            final TileEntity tileEntity = iterator.next();
-            if (tileEntity.getPos().equals(pos))
-            {
-                iterator.remove();
-            }
-        }
+        this.tileEntities.remove(pos.toLong());
     }
 
     @Override
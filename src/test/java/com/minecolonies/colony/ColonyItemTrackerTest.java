@@ -0,0 +1,93 @@
+package com.minecolonies.colony;
+
+import net.minecraft.entity.item.EntityItem;
+import net.minecraft.util.AxisAlignedBB;
+import net.minecraft.world.World;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ColonyItemTrackerTest
+{
+    private static final double PICKUP_RANGE = 2.0D;
+
+    private World             world;
+    private ColonyItemTracker tracker;
+
+    @Before
+    public void setUp()
+    {
+        world = mock(World.class);
+        when(world.isBlockLoaded(any())).thenReturn(true);
+        tracker = new ColonyItemTracker();
+    }
+
+    private EntityItem item(double x, double y, double z)
+    {
+        EntityItem item = mock(EntityItem.class);
+        item.posX = x;
+        item.posY = y;
+        item.posZ = z;
+        item.addedToChunk = true;
+        item.worldObj = world;
+        when(item.getEntityBoundingBox()).thenReturn(new AxisAlignedBB(x - 0.125D, y, z - 0.125D, x + 0.125D, y + 0.25D, z + 0.125D));
+        tracker.add(item);
+        return item;
+    }
+
+    private static AxisAlignedBB range(double x, double y, double z)
+    {
+        return new AxisAlignedBB(x - 0.3D, y, z - 0.3D, x + 0.3D, y + 1.8D, z + 0.3D).expand(PICKUP_RANGE, 0.0D, PICKUP_RANGE);
+    }
+
+    @Test
+    public void testNoItems()
+    {
+        assertEquals(ColonyItemTracker.NO_ITEMS, tracker.getStamp(range(0, 64, 0)));
+        assertTrue(tracker.getItems(range(0, 64, 0)).isEmpty());
+    }
+
+    @Test
+    public void testItemsInRange()
+    {
+        EntityItem near = item(1, 64, 1);
+        item(40, 64, 40);
+
+        List<EntityItem> items = tracker.getItems(range(0, 64, 0));
+        assertEquals(1, items.size());
+        assertSame(near, items.get(0));
+    }
+
+    @Test
+    public void testStampChangesWhenItemAdded()
+    {
+        item(1, 64, 1);
+        long stamp = tracker.getStamp(range(0, 64, 0));
+        assertNotEquals(ColonyItemTracker.NO_ITEMS, stamp);
+        assertEquals(stamp, tracker.getStamp(range(0, 64, 0)));
+
+        item(2, 64, 2);
+        assertNotEquals(stamp, tracker.getStamp(range(0, 64, 0)));
+
+        //  Items far away don't change the stamp
+        long newStamp = tracker.getStamp(range(0, 64, 0));
+        item(100, 64, 100);
+        assertEquals(newStamp, tracker.getStamp(range(0, 64, 0)));
+    }
+
+    @Test
+    public void testDeadItemsAreDropped()
+    {
+        EntityItem item = item(1, 64, 1);
+        item.isDead = true;
+        tracker.update(world);
+
+        assertEquals(ColonyItemTracker.NO_ITEMS, tracker.getStamp(range(0, 64, 0)));
+    }
+}
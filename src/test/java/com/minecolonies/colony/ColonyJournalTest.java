@@ -0,0 +1,153 @@
+package com.minecolonies.colony;
+
+import net.minecraft.nbt.NBTTagCompound;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ColonyJournalTest
+{
+    private static final int    COLONY_ID = 1;
+    private static final String KEY       = "n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File directory;
+
+    @Before
+    public void setUp()
+    {
+        directory = folder.getRoot();
+    }
+
+    private static NBTTagCompound record(int n)
+    {
+        NBTTagCompound record = new NBTTagCompound();
+        record.setInteger(KEY, n);
+        return record;
+    }
+
+    private static void assertRecords(List<NBTTagCompound> records, int... expected)
+    {
+        assertEquals(expected.length, records.size());
+        for (int i = 0; i < expected.length; i++)
+        {
+            assertEquals(expected[i], records.get(i).getInteger(KEY));
+        }
+    }
+
+    private File getFile(int generation)
+    {
+        return new File(directory, String.format("colony%d.%d.journal", COLONY_ID, generation));
+    }
+
+    @Test
+    public void testReplayOrder()
+    {
+        ColonyJournal journal = new ColonyJournal(directory, COLONY_ID, 0);
+        journal.append(record(1));
+        journal.append(record(2));
+        journal.flush();
+        journal.append(record(3));
+        assertEquals(1, journal.roll());
+        journal.append(record(4));
+        journal.flush();
+        journal.close();
+
+        assertRecords(ColonyJournal.read(directory, COLONY_ID, 0), 1, 2, 3, 4);
+        assertRecords(ColonyJournal.read(directory, COLONY_ID, 1), 4);
+        assertEquals(1, ColonyJournal.getLastGeneration(directory, COLONY_ID));
+        assertTrue(ColonyJournal.read(directory, COLONY_ID + 1, 0).isEmpty());
+    }
+
+    @Test
+    public void testGenerationsReplayInNumericOrder()
+    {
+        ColonyJournal journal = new ColonyJournal(directory, COLONY_ID, 9);
+        journal.append(record(9));
+        journal.roll();
+        journal.append(record(10));
+        journal.flush();
+        journal.close();
+
+        //  Generation 10 sorts before generation 9 by name
+        assertRecords(ColonyJournal.read(directory, COLONY_ID, 0), 9, 10);
+    }
+
+    @Test
+    public void testSyncWritesBufferedRecords()
+    {
+        ColonyJournal journal = new ColonyJournal(directory, COLONY_ID, 0);
+        journal.append(record(1));
+        journal.sync();
+
+        assertEquals(getFile(0).length(), journal.getSize());
+        assertRecords(ColonyJournal.read(directory, COLONY_ID, 0), 1);
+        journal.close();
+    }
+
+    @Test
+    public void testTruncatedRecordIsDropped() throws IOException
+    {
+        ColonyJournal journal = new ColonyJournal(directory, COLONY_ID, 0);
+        journal.append(record(1));
+        journal.append(record(2));
+        journal.flush();
+        journal.close();
+
+        try (RandomAccessFile file = new RandomAccessFile(getFile(0), "rw"))
+        {
+            file.setLength(file.length() - 1);
+        }
+
+        assertRecords(ColonyJournal.read(directory, COLONY_ID, 0), 1);
+    }
+
+    @Test
+    public void testCorruptRecordFailsCrc() throws IOException
+    {
+        ColonyJournal journal = new ColonyJournal(directory, COLONY_ID, 0);
+        journal.append(record(1));
+        journal.append(record(2));
+        journal.append(record(3));
+        journal.flush();
+        journal.close();
+
+        //  Change the last byte of the second record, the length of each record is the same
+        long recordSize = getFile(0).length() / 3;
+        try (RandomAccessFile file = new RandomAccessFile(getFile(0), "rw"))
+        {
+            file.seek(2 * recordSize - 1);
+            int value = file.read();
+            file.seek(2 * recordSize - 1);
+            file.write(value ^ 0xFF);
+        }
+
+        assertRecords(ColonyJournal.read(directory, COLONY_ID, 0), 1);
+    }
+
+    @Test
+    public void testDeleteBefore()
+    {
+        ColonyJournal journal = new ColonyJournal(directory, COLONY_ID, 0);
+        journal.append(record(1));
+        journal.roll();
+        journal.append(record(2));
+        journal.flush();
+        journal.close();
+
+        ColonyJournal.deleteBefore(directory, COLONY_ID, 1);
+
+        assertFalse(getFile(0).exists());
+        assertRecords(ColonyJournal.read(directory, COLONY_ID, 0), 2);
+    }
+}
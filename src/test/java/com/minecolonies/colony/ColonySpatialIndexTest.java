@@ -0,0 +1,102 @@
+package com.minecolonies.colony;
+
+import com.minecolonies.configuration.Configurations;
+import net.minecraft.util.BlockPos;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ColonySpatialIndexTest
+{
+    private static final int RANGE = 100;
+
+    private ColonySpatialIndex<Integer> index;
+    private int                         workingRangeTownHall;
+
+    @Before
+    public void setUp()
+    {
+        workingRangeTownHall = Configurations.workingRangeTownHall;
+        Configurations.workingRangeTownHall = RANGE;
+        index = new ColonySpatialIndex<>();
+    }
+
+    @After
+    public void tearDown()
+    {
+        Configurations.workingRangeTownHall = workingRangeTownHall;
+    }
+
+    @Test
+    public void testGetAt()
+    {
+        index.add(1, 0, new BlockPos(0, 64, 0), 1);
+        index.add(2, 0, new BlockPos(1000, 64, 0), 2);
+
+        assertEquals(Integer.valueOf(1), index.getAt(0, new BlockPos(RANGE, 10, 0)));
+        assertNull(index.getAt(0, new BlockPos(RANGE, 10, 1)));
+        assertEquals(Integer.valueOf(2), index.getAt(0, new BlockPos(1000 - 70, 10, -70)));
+        assertNull(index.getAt(1, new BlockPos(0, 64, 0)));
+
+        index.remove(1);
+        assertNull(index.getAt(0, new BlockPos(0, 64, 0)));
+    }
+
+    @Test
+    public void testGetClosestMatchesScan()
+    {
+        final Random random = new Random(42);
+        final List<BlockPos> centers = new ArrayList<>();
+        for (int i = 0; i < 200; i++)
+        {
+            final BlockPos center = new BlockPos(random.nextInt(100000) - 50000, 64, random.nextInt(100000) - 50000);
+            centers.add(center);
+            index.add(i, 0, center, i);
+        }
+
+        for (int q = 0; q < 1000; q++)
+        {
+            final BlockPos pos = new BlockPos(random.nextInt(200000) - 100000, 64, random.nextInt(200000) - 100000);
+
+            long bestDist = Long.MAX_VALUE;
+            int best = -1;
+            for (int i = 0; i < centers.size(); i++)
+            {
+                final long dx = pos.getX() - centers.get(i).getX();
+                final long dz = pos.getZ() - centers.get(i).getZ();
+                if (dx * dx + dz * dz < bestDist)
+                {
+                    bestDist = dx * dx + dz * dz;
+                    best = i;
+                }
+            }
+
+            assertEquals(Integer.valueOf(best), index.getClosest(0, pos));
+            assertEquals(bestDist, index.getClosestDistanceSquared(0, pos));
+        }
+        assertNull(index.getClosest(1, new BlockPos(0, 64, 0)));
+    }
+
+    @Test
+    public void testGetWithin()
+    {
+        index.add(1, 0, new BlockPos(0, 64, 0), 1);
+        index.add(2, 0, new BlockPos(300, 64, 0), 2);
+        index.add(3, 0, new BlockPos(-250, 64, -250), 3);
+        index.add(4, 1, new BlockPos(0, 64, 0), 4);
+
+        final List<Integer> found = index.getWithin(0, new BlockPos(100, 64, 0), 2 * RANGE);
+        assertEquals(2, found.size());
+        assertTrue(found.contains(1));
+        assertTrue(found.contains(2));
+
+        assertEquals(1, index.getWithin(0, new BlockPos(-250, 64, -50), 2 * RANGE).size());
+        assertTrue(index.getWithin(0, new BlockPos(5000, 64, 0), 2 * RANGE).isEmpty());
+    }
+}
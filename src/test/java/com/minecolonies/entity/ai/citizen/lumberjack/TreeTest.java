@@ -0,0 +1,164 @@
+package com.minecolonies.entity.ai.citizen.lumberjack;
+
+import com.minecolonies.configuration.Configurations;
+import com.minecolonies.util.BlockPosUtil;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.World;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class TreeTest
+{
+    private static final int GROUND       = 64;
+    private static final int TRUNK_HEIGHT = 12;
+
+    //  Long enough to overflow the stack of a recursive search
+    private static final int LINE_LENGTH = 20000;
+
+    private int maxTreeLogs;
+
+    private IBlockState log;
+    private IBlockState air;
+
+    @Before
+    public void setUp()
+    {
+        maxTreeLogs = Configurations.maxTreeLogs;
+
+        log = mockState(true);
+        air = mockState(false);
+    }
+
+    @After
+    public void tearDown()
+    {
+        Configurations.maxTreeLogs = maxTreeLogs;
+    }
+
+    private static IBlockState mockState(boolean wood)
+    {
+        Block block = mock(Block.class, withSettings().stubOnly());
+        when(block.isWood(any(IBlockAccess.class), any(BlockPos.class))).thenReturn(wood);
+        IBlockState state = mock(IBlockState.class, withSettings().stubOnly());
+        when(state.getBlock()).thenReturn(block);
+        return state;
+    }
+
+    /**
+     * A world which has logs where the predicate matches, and air everywhere else.
+     * The mock does not record its calls, the searches look at a lot of blocks.
+     */
+    private World mockWorld(Predicate<BlockPos> logs)
+    {
+        return mock(World.class, withSettings().stubOnly().defaultAnswer(invocation ->
+        {
+            if ("getBlockState".equals(invocation.getMethod().getName()))
+            {
+                return logs.test((BlockPos) invocation.getArguments()[0]) ? log : air;
+            }
+            return null;
+        }));
+    }
+
+    private static Tree createTree(BlockPos location)
+    {
+        NBTTagCompound compound = new NBTTagCompound();
+        BlockPosUtil.writeToNBT(compound, "Location", location);
+        return Tree.readFromNBT(compound);
+    }
+
+    /**
+     * Take all logs of a tree, checking that none is found twice and that the closest logs to the stump come first.
+     */
+    private static Set<BlockPos> pollLogs(Tree tree)
+    {
+        Set<BlockPos> logs = new HashSet<>();
+        double lastDistance = 0;
+        while (tree.hasLogs())
+        {
+            BlockPos next = tree.pollNextLog();
+            assertTrue("found twice: " + next, logs.add(next));
+
+            double distance = next.distanceSq(tree.getLocation());
+            assertTrue(distance >= lastDistance);
+            lastDistance = distance;
+        }
+        return logs;
+    }
+
+    @Test
+    public void testJungleTrunk()
+    {
+        Configurations.maxTreeLogs = 512;
+
+        //  2x2 trunk, with a branch at the top
+        World world = mockWorld(pos ->
+                (pos.getX() == 0 || pos.getX() == 1)
+                  && (pos.getZ() == 0 || pos.getZ() == 1)
+                  && pos.getY() >= GROUND && pos.getY() < GROUND + TRUNK_HEIGHT
+                  || pos.getY() == GROUND + TRUNK_HEIGHT && pos.getZ() == 0 && pos.getX() >= 2 && pos.getX() < 5);
+
+        Tree tree = createTree(new BlockPos(0, GROUND, 0));
+        tree.findLogs(world);
+
+        assertEquals(4, tree.getStumpLocations().size());
+        for (BlockPos stump : tree.getStumpLocations())
+        {
+            assertEquals(GROUND, stump.getY());
+        }
+
+        Set<BlockPos> logs = pollLogs(tree);
+        assertEquals(4 * TRUNK_HEIGHT + 3, logs.size());
+        assertTrue(logs.contains(new BlockPos(1, GROUND + TRUNK_HEIGHT - 1, 1)));
+        assertTrue(logs.contains(new BlockPos(4, GROUND + TRUNK_HEIGHT, 0)));
+    }
+
+    @Test
+    public void testLogCap()
+    {
+        Configurations.maxTreeLogs = 100;
+
+        //  Logs everywhere above the ground, a tree without an end
+        World world = mockWorld(pos -> pos.getY() >= GROUND);
+
+        Tree tree = createTree(new BlockPos(0, GROUND, 0));
+        tree.findLogs(world);
+
+        Set<BlockPos> logs = pollLogs(tree);
+        assertEquals(Configurations.maxTreeLogs, logs.size());
+
+        //  The search goes outwards from the stump, so the logs around it are found
+        for (BlockPos pos : BlockPos.getAllInBox(new BlockPos(-1, GROUND, -1), new BlockPos(1, GROUND + 1, 1)))
+        {
+            assertTrue(logs.contains(pos));
+        }
+    }
+
+    @Test
+    public void testLongTreeDoesNotRecurse()
+    {
+        Configurations.maxTreeLogs = LINE_LENGTH + 1;
+
+        World world = mockWorld(pos -> pos.getY() == GROUND && pos.getZ() == 0 && pos.getX() >= 0 && pos.getX() < LINE_LENGTH);
+
+        Tree tree = createTree(new BlockPos(0, GROUND, 0));
+        tree.findLogs(world);
+
+        assertEquals(LINE_LENGTH, pollLogs(tree).size());
+    }
+}
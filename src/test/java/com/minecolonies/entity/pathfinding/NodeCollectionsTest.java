@@ -0,0 +1,89 @@
+package com.minecolonies.entity.pathfinding;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class NodeCollectionsTest
+{
+    private static Node createNode(int x, double score)
+    {
+        final Node node = new Node();
+        node.reset(null, x, 64, 0, score, 0, score);
+        node.counterAdded = x;
+        return node;
+    }
+
+    @Test
+    public void testPollOrder()
+    {
+        final NodeHeap heap = new NodeHeap();
+        final double[] scores = {5, 3, 9, 1, 7, 2, 8};
+        for (int i = 0; i < scores.length; i++)
+        {
+            heap.add(createNode(i, scores[i]));
+        }
+
+        double last = Double.NEGATIVE_INFINITY;
+        while (!heap.isEmpty())
+        {
+            final Node node = heap.poll();
+            assertTrue(node.score >= last);
+            assertEquals(-1, node.heapIndex);
+            last = node.score;
+        }
+    }
+
+    @Test
+    public void testDecreaseKey()
+    {
+        final NodeHeap heap = new NodeHeap();
+        final Node first = createNode(1, 2);
+        final Node improved = createNode(2, 10);
+        heap.add(first);
+        heap.add(improved);
+        heap.add(createNode(3, 5));
+
+        improved.score = 1;
+        heap.update(improved);
+
+        assertSame(improved, heap.poll());
+        assertSame(first, heap.poll());
+        assertEquals(1, heap.size());
+    }
+
+    @Test
+    public void testContains()
+    {
+        final NodeHeap heap = new NodeHeap();
+        final Node node = createNode(1, 1);
+        assertFalse(heap.contains(node));
+
+        heap.add(node);
+        assertTrue(heap.contains(node));
+
+        heap.clear();
+        assertFalse(heap.contains(node));
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testTableGrowsAndFinds()
+    {
+        final NodeTable table = new NodeTable();
+        for (int key = 0; key < 5000; key++)
+        {
+            table.put(key * 31, createNode(key, key));
+        }
+
+        assertEquals(5000, table.size());
+        for (int key = 0; key < 5000; key++)
+        {
+            assertEquals(key, table.get(key * 31).pos.getX());
+        }
+        assertNull(table.get(-1));
+
+        table.clear();
+        assertNull(table.get(0));
+    }
+}
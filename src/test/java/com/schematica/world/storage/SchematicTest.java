@@ -0,0 +1,165 @@
+package com.schematica.world.storage;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.BlockPos;
+import net.minecraftforge.fml.common.registry.FMLControlledNamespacedRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.core.classloader.annotations.SuppressStaticInitializationFor;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The blocks of a schematic are packed palette indices, the storage is repacked with more bits per block whenever the
+ * palette outgrows them. Every cell has to keep its block through those repacks.
+ */
+@PrepareForTest({Schematic.class, Blocks.class})
+@SuppressStaticInitializationFor({"com.schematica.world.storage.Schematic", "net.minecraft.init.Blocks"})
+@RunWith(PowerMockRunner.class)
+public class SchematicTest
+{
+    //  128 cells, so 7 bits per block do not divide a long evenly
+    private static final int WIDTH  = 8;
+    private static final int HEIGHT = 4;
+    private static final int LENGTH = 4;
+
+    //  Air plus 99 blocks, the palette outgrows 16, 32 and 64 entries
+    private static final int STATES = 100;
+
+    private IBlockState       air;
+    private List<IBlockState> states;
+
+    @Before
+    public void setUp()
+    {
+        air = mockState();
+        Block airBlock = air.getBlock();
+        when(airBlock.getDefaultState()).thenReturn(air);
+        Whitebox.setInternalState(Blocks.class, "air", airBlock);
+
+        FMLControlledNamespacedRegistry<Block> registry = mock(FMLControlledNamespacedRegistry.class);
+        when(registry.getId(any(Block.class))).thenReturn(1);
+        Whitebox.setInternalState(Schematic.class, "BLOCK_REGISTRY", registry);
+
+        states = new ArrayList<>();
+        for (int i = 1; i < STATES; ++i)
+        {
+            states.add(mockState());
+        }
+    }
+
+    /**
+     * A block state of its own block, which the schematic stores as metadata 0.
+     */
+    private static IBlockState mockState()
+    {
+        IBlockState state = mock(IBlockState.class);
+        Block block = mock(Block.class);
+        when(state.getBlock()).thenReturn(block);
+        when(block.getMetaFromState(any(IBlockState.class))).thenReturn(0);
+        when(block.getStateFromMeta(anyInt())).thenReturn(state);
+        return state;
+    }
+
+    private static BlockPos getPosition(int index)
+    {
+        return new BlockPos(index % WIDTH, index / WIDTH / LENGTH, index / WIDTH % LENGTH);
+    }
+
+    private static void assertCells(Schematic schematic, IBlockState[] expected)
+    {
+        for (int i = 0; i < expected.length; ++i)
+        {
+            assertSame("cell " + i, expected[i], schematic.getBlockState(getPosition(i)));
+        }
+    }
+
+    @Test
+    public void testEmptySchematicIsAir()
+    {
+        Schematic schematic = new Schematic(null, WIDTH, HEIGHT, LENGTH);
+        IBlockState[] expected = new IBlockState[WIDTH * HEIGHT * LENGTH];
+        Arrays.fill(expected, air);
+
+        assertCells(schematic, expected);
+        assertSame(air, schematic.getBlockState(new BlockPos(-1, 0, 0)));
+        assertSame(air, schematic.getBlockState(new BlockPos(WIDTH, 0, 0)));
+    }
+
+    @Test
+    public void testPaletteGrowthKeepsEveryCell()
+    {
+        Schematic schematic = new Schematic(null, WIDTH, HEIGHT, LENGTH);
+        IBlockState[] expected = new IBlockState[WIDTH * HEIGHT * LENGTH];
+        Arrays.fill(expected, air);
+
+        for (int i = 0; i < states.size(); ++i)
+        {
+            //  Spread new blocks over the schematic, overwriting older ones now and then
+            int cell = (i * 37) % expected.length;
+            assertTrue(schematic.setBlockState(getPosition(cell), states.get(i)));
+            expected[cell] = states.get(i);
+
+            //  Also put an earlier block somewhere else, so cells keep sharing palette entries
+            int other = (i * 53 + 11) % expected.length;
+            IBlockState earlier = states.get(i / 2);
+            assertTrue(schematic.setBlockState(getPosition(other), earlier));
+            expected[other] = earlier;
+
+            assertCells(schematic, expected);
+            int bitsPerBlock = Whitebox.getInternalState(schematic, "bitsPerBlock");
+            assertEquals(getBitsPerBlock(i + 2), bitsPerBlock);
+        }
+    }
+
+    @Test
+    public void testOverwritingDoesNotTouchNeighbours()
+    {
+        Schematic schematic = new Schematic(null, WIDTH, HEIGHT, LENGTH);
+        IBlockState[] expected = new IBlockState[WIDTH * HEIGHT * LENGTH];
+
+        //  Fill every cell first, so the palette is past 64 entries
+        for (int i = 0; i < expected.length; ++i)
+        {
+            expected[i] = states.get(i % states.size());
+            schematic.setBlockState(getPosition(i), expected[i]);
+        }
+        assertCells(schematic, expected);
+
+        for (int i = 0; i < expected.length; ++i)
+        {
+            expected[i] = air;
+            schematic.setBlockState(getPosition(i), air);
+            assertCells(schematic, expected);
+        }
+    }
+
+    /**
+     * Bits needed for a palette of a size, at least 4.
+     */
+    private static int getBitsPerBlock(int paletteSize)
+    {
+        int bits = 4;
+        while (paletteSize > 1 << bits)
+        {
+            ++bits;
+        }
+        return bits;
+    }
+}